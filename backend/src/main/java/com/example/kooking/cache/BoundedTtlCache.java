@@ -0,0 +1,98 @@
+package com.example.kooking.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based map of loaded values keyed by string, shared by the small lookup caches.
+ * <p>
+ * Entries are evicted least-recently-used beyond {@code maxSize} and expire after {@code ttl}. Lookups are
+ * counted as hits and misses on the {@code metric} counter. A value loaded while an invalidation ran is
+ * returned but not cached, since it may already be stale.
+ */
+class BoundedTtlCache<V> {
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by this
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+
+    BoundedTtlCache(MeterRegistry meterRegistry, String metric, String description, int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.hits = Counter.builder(metric)
+                .description(description)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(metric)
+                .description(description)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it with {@code loader} on a miss.
+     * Loader failures are propagated and never cached.
+     */
+    V get(String key, Function<String, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt().isAfter(clock.instant())) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    synchronized void invalidate(String key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        var iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.dto.ResourceVersion;
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.model.CatalogVersion;
+import com.example.kooking.repository.CatalogVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the version of the ingredient catalog that ingredient reads and recipe details are validated against.
+ * <p>
+ * The version is bumped before the ingredient write commits, in the same transaction, so it can never
+ * lag behind the data it describes, and it lives in the database so every instance agrees on it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionTracker {
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        if (catalogVersionRepository.increment(CatalogVersion.INGREDIENTS) == 0) {
+            // First write against a schema created without the seed row (ddl-auto)
+            catalogVersionRepository.save(new CatalogVersion(CatalogVersion.INGREDIENTS, 1, LocalDateTime.now()));
+        }
+    }
+
+    public CatalogVersion ingredients() {
+        return catalogVersionRepository.findById(CatalogVersion.INGREDIENTS)
+                .orElseGet(() -> new CatalogVersion(CatalogVersion.INGREDIENTS, 0, null));
+    }
+
+    public ResourceVersion ingredientsVersion() {
+        CatalogVersion catalog = ingredients();
+        return ResourceVersion.of("ingredients-" + catalog.getVersion(), catalog.getUpdatedAt());
+    }
+}
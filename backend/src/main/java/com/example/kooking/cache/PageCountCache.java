@@ -0,0 +1,69 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-based cache of listing totals keyed by normalized filters, so that paging through the
+ * same search does not repeat its COUNT query on every page.
+ * <p>
+ * Entries expire after {@code recipes.count-cache.ttl} and are evicted least-recently-used beyond
+ * {@code recipes.count-cache.max-size}. Any recipe change clears the cache after commit, so a cached
+ * total is at most one TTL behind concurrent writers in other instances.
+ */
+@Component
+public class PageCountCache {
+    private final BoundedTtlCache<Long> totals;
+
+    /**
+     * A total and whether it was counted for this request rather than served from the cache.
+     */
+    public record Count(long total, boolean exact) {
+    }
+
+    @Autowired
+    public PageCountCache(MeterRegistry meterRegistry,
+                          @Value("${recipes.count-cache.max-size:5000}") int maxSize,
+                          @Value("${recipes.count-cache.ttl:PT30S}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    PageCountCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.totals = new BoundedTtlCache<>(meterRegistry, "recipes.count.cache",
+                "Listing totals served by the count cache", maxSize, ttl, clock);
+    }
+
+    /**
+     * Returns the cached total for {@code key}, counting it with {@code counter} on a miss.
+     */
+    public Count get(String key, LongSupplier counter) {
+        AtomicBoolean counted = new AtomicBoolean();
+        long total = totals.get(key, ignored -> {
+            counted.set(true);
+            return counter.getAsLong();
+        });
+        return new Count(total, counted.get());
+    }
+
+    public void invalidateAll() {
+        totals.invalidateAll();
+    }
+
+    public int size() {
+        return totals.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        invalidateAll();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.event.UserChangedEvent;
+import com.example.kooking.utils.PreferenceProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of users' recommendation preferences keyed by email, so a logged-in homepage
+ * load resolves the user's preference fingerprint without touching the database.
+ * <p>
+ * Entries are evicted least-recently-used once {@code recipes.recommendations.profile-cache.max-size} is
+ * reached and expire after {@code recipes.recommendations.profile-cache.ttl}. Preference updates evict
+ * the user's entry after commit.
+ */
+@Component
+public class PreferenceProfileCache {
+    private final BoundedTtlCache<PreferenceProfile> profiles;
+
+    @Autowired
+    public PreferenceProfileCache(MeterRegistry meterRegistry,
+                                  @Value("${recipes.recommendations.profile-cache.max-size:10000}") int maxSize,
+                                  @Value("${recipes.recommendations.profile-cache.ttl:PT10M}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    PreferenceProfileCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.profiles = new BoundedTtlCache<>(meterRegistry, "recipes.preference-profile.cache",
+                "Preference lookups served by the preference profile cache", maxSize, ttl, clock);
+    }
+
+    /**
+     * Returns the cached profile for {@code email}, loading it with {@code loader} on a miss.
+     * Loader failures are propagated and never cached.
+     */
+    public PreferenceProfile get(String email, Function<String, PreferenceProfile> loader) {
+        return profiles.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        profiles.invalidate(email);
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.email());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by token subject, so that the JWT filter
+ * does not load the user (and its roles) on every request.
+ * <p>
+ * Entries are evicted least-recently-used once {@code security.principal-cache.max-size} is reached and
+ * expire after {@code security.principal-cache.ttl}. User changes evict the user's entry after commit.
+ */
+@Component
+public class PrincipalCache {
+    private final BoundedTtlCache<UserDetails> principals;
+
+    @Autowired
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    PrincipalCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.principals = new BoundedTtlCache<>(meterRegistry, "security.principal.cache",
+                "Principal lookups served by the principal cache", maxSize, ttl, clock);
+    }
+
+    /**
+     * Returns the cached principal for {@code username}, loading it with {@code loader} on a miss.
+     * Loader failures are propagated and never cached.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        principals.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+
+    public int size() {
+        return principals.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.email());
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.RecipeFeed;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Keeps precomputed homepage feeds (trending, seasonal, recommended) in memory.
+ * <p>
+ * Each feed variant (e.g. the recommended feed for the current meal type) is stored together with
+ * the loader that produced it, so it can be recomputed in the background. Engagement and recipe
+ * events only mark the cache dirty; a short scheduled tick recomputes dirty feeds so a burst of
+ * favorites costs one refresh. Deleted recipes evict every feed immediately.
+ * <p>
+ * The first computation of a variant runs once: concurrent misses for it wait for that load
+ * instead of each querying the database.
+ * <p>
+ * Personalized variants (one per preference fingerprint) are kept apart from the shared pools. The dirty tick
+ * does not recompute them. The periodic refresh drops them, and they are reloaded on the next request.
+ * Beyond {@code recipes.feed-cache.max-personalized-variants} new ones are computed per request and not
+ * cached, so the number of preference combinations cannot grow the refresh work.
+ */
+@Component
+public class RecipeFeedCache {
+    private static final Logger log = LoggerFactory.getLogger(RecipeFeedCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> personalized = new ConcurrentHashMap<>();
+    private final Map<RecipeFeed, Counter> hits = new EnumMap<>(RecipeFeed.class);
+    private final Map<RecipeFeed, Counter> misses = new EnumMap<>(RecipeFeed.class);
+    private volatile boolean dirty;
+
+    @Value("${recipes.feed-cache.max-personalized-variants:1000}")
+    private int maxPersonalizedVariants = 1000;
+
+    public RecipeFeedCache(MeterRegistry meterRegistry) {
+        for (RecipeFeed feed : RecipeFeed.values()) {
+            hits.put(feed, Counter.builder("recipes.feed.cache")
+                    .description("Homepage feed lookups served by the feed cache")
+                    .tag("feed", feed.name().toLowerCase())
+                    .tag("result", "hit")
+                    .register(meterRegistry));
+            misses.put(feed, Counter.builder("recipes.feed.cache")
+                    .description("Homepage feed lookups served by the feed cache")
+                    .tag("feed", feed.name().toLowerCase())
+                    .tag("result", "miss")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * A computed feed together with its entity tag.
+     */
+    public record Snapshot(List<RecipeCardDto> recipes, String etag, Instant computedAt) {
+    }
+
+    private static final class Entry {
+        private final RecipeFeed feed;
+        private final Supplier<List<RecipeCardDto>> loader;
+        private final FutureTask<Snapshot> initialLoad;
+        private volatile Snapshot snapshot;
+        private volatile boolean accessed = true;
+
+        private Entry(RecipeFeed feed, Supplier<List<RecipeCardDto>> loader) {
+            this.feed = feed;
+            this.loader = loader;
+            this.initialLoad = new FutureTask<>(() -> load(loader));
+        }
+    }
+
+    public Snapshot get(RecipeFeed feed, String variant, Supplier<List<RecipeCardDto>> loader) {
+        return get(entries, feed, variant, loader);
+    }
+
+    /**
+     * Like {@link #get}, for a variant computed for one group of users rather than for everyone.
+     */
+    public Snapshot getPersonalized(RecipeFeed feed, String variant, Supplier<List<RecipeCardDto>> loader) {
+        String key = feed.name() + ":" + variant;
+        if (personalized.size() >= maxPersonalizedVariants && !personalized.containsKey(key)) {
+            misses.get(feed).increment();
+            return load(loader);
+        }
+        return get(personalized, feed, variant, loader);
+    }
+
+    private Snapshot get(Map<String, Entry> variants, RecipeFeed feed, String variant, Supplier<List<RecipeCardDto>> loader) {
+        String key = feed.name() + ":" + variant;
+        Entry entry = variants.get(key);
+        if (entry != null && entry.snapshot != null) {
+            entry.accessed = true;
+            hits.get(feed).increment();
+            return entry.snapshot;
+        }
+
+        misses.get(feed).increment();
+        Entry current = variants.computeIfAbsent(key, k -> new Entry(feed, loader));
+        // Only the first caller runs the task; the others block in get() until it completes
+        current.initialLoad.run();
+        try {
+            Snapshot loaded = current.initialLoad.get();
+            if (current.snapshot == null) {
+                current.snapshot = loaded;
+            }
+            return current.snapshot;
+        } catch (ExecutionException e) {
+            // Forget the failed entry so the next request retries the load
+            variants.remove(key, current);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to load the " + feed + " feed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the " + feed + " feed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            // Never serve a card for a recipe that no longer exists
+            entries.clear();
+            personalized.clear();
+        } else {
+            dirty = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(RecipeEngagementEvent event) {
+        dirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.feed-cache.dirty-check-interval:PT15S}")
+    public void refreshIfDirty() {
+        if (dirty) {
+            dirty = false;
+            refreshAll();
+        }
+    }
+
+    /**
+     * Periodic refresh. Variants nobody asked for since the previous run (e.g. last hour's
+     * meal type) are dropped instead of recomputed, and so are all personalized variants.
+     */
+    @Scheduled(fixedDelayString = "${recipes.feed-cache.refresh-interval:PT5M}")
+    public void refresh() {
+        personalized.clear();
+        entries.values().removeIf(entry -> !entry.accessed);
+        entries.values().forEach(entry -> entry.accessed = false);
+        refreshAll();
+    }
+
+    private void refreshAll() {
+        entries.values().forEach(entry -> {
+            if (entry.snapshot == null) {
+                // Still being loaded for the first time
+                return;
+            }
+            try {
+                entry.snapshot = load(entry.loader);
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot rather than failing the homepage
+                log.warn("Failed to refresh {} feed", entry.feed, e);
+            }
+        });
+    }
+
+    private static Snapshot load(Supplier<List<RecipeCardDto>> loader) {
+        List<RecipeCardDto> recipes = List.copyOf(loader.get());
+        return new Snapshot(recipes, etagOf(recipes), Instant.now());
+    }
+
+    private static String etagOf(List<RecipeCardDto> recipes) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (RecipeCardDto recipe : recipes) {
+            fingerprint.append(recipe).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
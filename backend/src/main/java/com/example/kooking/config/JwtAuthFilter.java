@@ -1,5 +1,7 @@
 package com.example.kooking.config;
 
+import com.example.kooking.cache.PrincipalCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,17 +18,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
 
     @Autowired
-    public JwtAuthFilter(JwtService jwtService,@Lazy UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, @Lazy UserDetailsService userDetailsService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -44,9 +49,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String token = getJwtFromRequest(request);
-        if (token != null && jwtService.validateToken(token)) {
-            String username = jwtService.extractSubject(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Optional<Claims> claims = token != null ? jwtService.verify(token) : Optional.empty();
+        if (claims.isPresent()) {
+            String username = claims.get().getSubject();
+            UserDetails userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
             setAuthentication(userDetails, request);
         }
         filterChain.doFilter(request, response);
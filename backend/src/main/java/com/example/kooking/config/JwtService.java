@@ -2,6 +2,7 @@ package com.example.kooking.config;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,20 +12,48 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
-    @Value("${jwt.secret}")
-    private String secret;
 
-    private SecretKey getSignKey() {
+    // The signing key and the parser are immutable and thread-safe, so they are built once
+    private final SecretKey signKey;
+    private final JwtParser parser;
+
+    // Optional cache of already verified tokens, keyed by the SHA-256 of the token
+    private final boolean verifiedCacheEnabled;
+    private final long verifiedCacheTtlMillis;
+    private final int verifiedCacheMaxSize;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.verified-cache.enabled:false}") boolean verifiedCacheEnabled,
+                      @Value("${jwt.verified-cache.ttl:PT30S}") Duration verifiedCacheTtl,
+                      @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize) {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         if (keyBytes.length < 32) {
             throw new IllegalStateException("JWT secret must be at least 256 bits (32 bytes)");
         }
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+        this.verifiedCacheEnabled = verifiedCacheEnabled;
+        this.verifiedCacheTtlMillis = verifiedCacheTtl.toMillis();
+        this.verifiedCacheMaxSize = verifiedCacheMaxSize;
     }
 
     public String generateToken(String userEmail) {
@@ -34,39 +63,67 @@ public class JwtService {
                 .subject(userEmail)
                 .issuedAt(issuedAt)
                 .expiration(expirationDate)
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry with a single parse.
+     *
+     * @return the verified claims, or empty if the token is invalid, expired or has no subject
+     */
+    public Optional<Claims> verify(String token) {
+        if (!verifiedCacheEnabled) {
+            return parse(token);
+        }
 
-    private Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.remove(key, cached);
+        }
 
+        Optional<Claims> claims = parse(token);
+        claims.ifPresent(verified -> {
+            if (verifiedTokens.size() >= verifiedCacheMaxSize) {
+                verifiedTokens.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (verifiedTokens.size() >= verifiedCacheMaxSize) {
+                    verifiedTokens.clear();
+                }
+            }
+            // Never serve a token from the cache past its own expiry
+            long expiresAt = Math.min(now + verifiedCacheTtlMillis, verified.getExpiration().getTime());
+            verifiedTokens.put(key, new VerifiedToken(verified, expiresAt));
+        });
+        return claims;
+    }
 
-    public boolean validateToken(String token) {
+    private Optional<Claims> parse(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return claims.getExpiration().after(new Date()) && claims.getSubject() != null;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
         } catch (ExpiredJwtException e) {
-            log.warn("Token expired: {}", e.getMessage()); // Fix log error
-            return false;
+            log.warn("Token expired: {}", e.getMessage());
+            return Optional.empty();
         } catch (Exception e) {
-            log.warn("Invalid token: {}", e.getMessage()); // Fix log error
-            return false;
+            log.warn("Invalid token: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
-    public String extractSubject(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-
 }
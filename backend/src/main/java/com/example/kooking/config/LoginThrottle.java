@@ -0,0 +1,101 @@
+package com.example.kooking.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets that throttle login attempts per client IP and per account.
+ * An attempt needs a token from both buckets. Idle buckets refill completely and are then dropped.
+ */
+@Component
+public class LoginThrottle {
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final int ipCapacity;
+    private final double ipRefillPerNano;
+    private final int accountCapacity;
+    private final double accountRefillPerNano;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public LoginThrottle(@Value("${security.login.ip.capacity:20}") int ipCapacity,
+                         @Value("${security.login.ip.refill-per-minute:30}") int ipRefillPerMinute,
+                         @Value("${security.login.account.capacity:5}") int accountCapacity,
+                         @Value("${security.login.account.refill-per-minute:5}") int accountRefillPerMinute) {
+        this(ipCapacity, ipRefillPerMinute, accountCapacity, accountRefillPerMinute, System::nanoTime);
+    }
+
+    LoginThrottle(int ipCapacity, int ipRefillPerMinute, int accountCapacity, int accountRefillPerMinute, LongSupplier nanoTime) {
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerNano = (double) ipRefillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.accountCapacity = accountCapacity;
+        this.accountRefillPerNano = (double) accountRefillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes one token for the client IP and one for the account.
+     *
+     * @return false if either bucket is empty
+     */
+    public boolean tryAcquire(String clientIp, String email) {
+        long now = nanoTime.getAsLong();
+        TokenBucket ip = ipBuckets.computeIfAbsent(clientIp, key -> new TokenBucket(ipCapacity, ipRefillPerNano, now));
+        if (!ip.tryConsume(now)) {
+            return false;
+        }
+        String account = email == null ? "" : email.toLowerCase(Locale.ROOT);
+        TokenBucket bucket = accountBuckets.computeIfAbsent(account, key -> new TokenBucket(accountCapacity, accountRefillPerNano, now));
+        return bucket.tryConsume(now);
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.bucket-cleanup-interval:PT10M}")
+    public void evictIdleBuckets() {
+        long now = nanoTime.getAsLong();
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        accountBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, double refillPerNano, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerNano;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized boolean tryConsume(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -57,13 +57,14 @@ public class SecurityConfig {
                         // Public recipe endpoints
                         .requestMatchers(HttpMethod.GET, "/api/recipes", "/api/recipes/trending",
                                 "/api/recipes/recommended", "/api/recipes/seasonal",
-                                "/api/recipes/advanced-search", "/api/recipes/*/brief",
+                                "/api/recipes/advanced-search", "/api/recipes/advanced-search/cursor",
+                                "/api/recipes/pantry-search", "/api/recipes/*/brief", "/api/recipes/*/also-liked",
                                 "/api/recipes/*").permitAll()
                         // Public ingredient endpoints
-                        .requestMatchers(HttpMethod.GET, "/api/ingredients", "/api/ingredients/categories",
+                        .requestMatchers(HttpMethod.GET, "/api/ingredients", "/api/ingredients/categories", "/api/ingredients/suggest",
                                 "/api/ingredients/*", "/api/ingredients/*/substitutes").permitAll()
                         // Public review endpoints
-                        .requestMatchers(HttpMethod.GET, "/api/reviews/recipe/*").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/reviews/recipe/*", "/api/reviews/recipe/*/cursor").permitAll()
                         // H2 console and other public resources
                         .requestMatchers("/h2-console/**", "/api/public/**", "/api/home/**", "/").permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**",
@@ -71,7 +72,7 @@ public class SecurityConfig {
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         // Protected recipe endpoints
-                        .requestMatchers(HttpMethod.POST, "/api/recipes").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/recipes", "/api/recipes/import").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/recipes/*").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/recipes/*").authenticated()
                         .requestMatchers("/api/recipes/*/favorite").authenticated()
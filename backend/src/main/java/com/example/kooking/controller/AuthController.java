@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -37,14 +38,15 @@ public class AuthController {
      * Endpoint to log in a user and return a JWT token.
      *
      * @param loginDto The login credentials provided by the client.
-     * @return ResponseEntity containing the JWT token.
+     * @param request  The current request, used for per-IP throttling.
+     * @return ResponseEntity containing the JWT token, completed asynchronously.
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginDto loginDto) {
-        String token = authService.loginUser(loginDto);
-
-        // Return JWT token in response body
-        return ResponseEntity.ok(Map.of("message", "Login successful", "token", token));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> login(@Valid @RequestBody LoginDto loginDto,
+                                                                        HttpServletRequest request) {
+        // Completes on the password hashing pool; the servlet thread is released meanwhile
+        return authService.loginUser(loginDto, request.getRemoteAddr())
+                .thenApply(token -> ResponseEntity.ok(Map.of("message", "Login successful", "token", token)));
     }
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest req, HttpServletResponse res) {
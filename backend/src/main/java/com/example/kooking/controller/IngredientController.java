@@ -3,13 +3,19 @@ package com.example.kooking.controller;
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.IngredientCategory;
 import com.example.kooking.service.impl.IngredientServiceImpl;
+import com.example.kooking.utils.ConditionalGet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,31 +24,59 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class IngredientController {
 
+    // Categories are an enum, so they can only change with a new build
+    private static final ResourceVersion CATEGORIES_VERSION = ResourceVersion.of(
+            "categories-" + Integer.toHexString(Arrays.toString(IngredientCategory.values()).hashCode()));
+
     private final IngredientServiceImpl ingredientServiceImpl;
 
+    @Value("${http.cache.ingredients.max-age:PT10M}")
+    private Duration ingredientMaxAge = Duration.ofMinutes(10);
+
+    @Value("${http.cache.categories.max-age:P1D}")
+    private Duration categoryMaxAge = Duration.ofDays(1);
+
     @GetMapping
     public ResponseEntity<Page<IngredientDto>> getAllIngredients(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) IngredientCategory category) {
+            @RequestParam(required = false) IngredientCategory category,
+            @RequestHeader HttpHeaders headers) {
+
+        return ConditionalGet.respond(headers, ingredientServiceImpl.getCatalogVersion(), ingredientCacheControl(),
+                () -> ingredientServiceImpl.getAllIngredients(page, size, search, category));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<IngredientBriefDto>> suggestIngredients(
+            @RequestParam("q") String prefix,
+            @RequestParam(required = false) IngredientCategory category,
+            @RequestParam(defaultValue = "10") int limit) {
 
-        return ResponseEntity.ok(ingredientServiceImpl.getAllIngredients(page, size, search, category));
+        return ResponseEntity.ok(ingredientServiceImpl.suggestIngredients(prefix, category, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<IngredientDto> getIngredientById(@PathVariable UUID id) {
-        return ResponseEntity.ok(ingredientServiceImpl.getIngredientById(id));
+    public ResponseEntity<IngredientDto> getIngredientById(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, ingredientServiceImpl.getCatalogVersion(), ingredientCacheControl(),
+                () -> ingredientServiceImpl.getIngredientById(id));
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<IngredientCategory>> getAllCategories() {
-        return ResponseEntity.ok(ingredientServiceImpl.getAllCategories());
+    public ResponseEntity<List<IngredientCategory>> getAllCategories(@RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, CATEGORIES_VERSION, CacheControl.maxAge(categoryMaxAge).cachePublic(),
+                ingredientServiceImpl::getAllCategories);
     }
 
     @GetMapping("/{id}/substitutes")
-    public ResponseEntity<List<IngredientDto>> getIngredientSubstitutes(@PathVariable UUID id) {
-        return ResponseEntity.ok(ingredientServiceImpl.getIngredientSubstitutes(id));
+    public ResponseEntity<List<IngredientDto>> getIngredientSubstitutes(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, ingredientServiceImpl.getCatalogVersion(), ingredientCacheControl(),
+                () -> ingredientServiceImpl.getIngredientSubstitutes(id));
+    }
+
+    private CacheControl ingredientCacheControl() {
+        return CacheControl.maxAge(ingredientMaxAge).cachePublic();
     }
 
     @PostMapping
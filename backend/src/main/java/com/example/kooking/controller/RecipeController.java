@@ -1,20 +1,30 @@
 package com.example.kooking.controller;
 
+import com.example.kooking.cache.RecipeFeedCache;
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.*;
+import com.example.kooking.service.RecipeImportService;
 import com.example.kooking.service.RecipeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import com.example.kooking.utils.ConditionalGet;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -22,6 +32,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RecipeController {
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+
+    @Value("${http.cache.recipes.max-age:PT1M}")
+    private Duration recipeMaxAge = Duration.ofMinutes(1);
 
     @GetMapping
     public ResponseEntity<PageResponse<RecipeCardDto>> getAllRecipes(
@@ -29,7 +43,8 @@ public class RecipeController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDirection) {
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) RecipeSearchMode searchMode) {
 
         if (!Arrays.asList("name", "difficulty", "cookingTime", "rating").contains(sortBy)) {
             sortBy = "name";
@@ -37,10 +52,25 @@ public class RecipeController {
         Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ?
                 Sort.Direction.DESC : Sort.Direction.ASC;
 
-        Page<RecipeCardDto> recipes = recipeService.getRecipes(page, size, search, sortBy, direction);
+        Page<RecipeCardDto> recipes = recipeService.getRecipes(page, size, search, sortBy, direction, searchMode);
         return ResponseEntity.ok(PageResponse.from(recipes));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<RecipeCardDto>> getAllRecipesAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false, defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ?
+                Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(recipeService.getRecipesAfter(cursor, size, search, sortBy, direction, withTotal));
+    }
+
     @GetMapping("/advanced-search")
     public ResponseEntity<PageResponse<RecipeCardDto>> advancedSearch(
             @RequestParam(defaultValue = "0") int page,
@@ -55,7 +85,9 @@ public class RecipeController {
             @RequestParam(required = false) List<CookingMethod> cookingMethods,
             @RequestParam(required = false) List<DifficultyLevel> difficulties,
             @RequestParam(required = false, defaultValue = "rating") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) AdvancedSearchPlan plan,
+            @RequestParam(required = false) RecipeSearchMode searchMode) {
 
         List<String> allowedSortFields = List.of("name", "difficulty", "cuisine", "mealType",
                 "dietType", "cookingMethod", "rating", "popularity", "cookingTime");
@@ -74,36 +106,121 @@ public class RecipeController {
                 .dietTypes(dietTypes)
                 .cookingMethods(cookingMethods)
                 .difficulties(difficulties)
+                .searchMode(searchMode)
                 .build();
 
-        Page<RecipeCardDto> recipePage = recipeService.advancedSearch(page, size, criteria, sortBy, sortDirection);
+        Page<RecipeCardDto> recipePage = recipeService.advancedSearch(page, size, criteria, sortBy, sortDirection, plan);
 
         return ResponseEntity.ok(PageResponse.from(recipePage));
     }
 
+    @GetMapping("/advanced-search/cursor")
+    public ResponseEntity<CursorPageResponse<RecipeCardDto>> advancedSearchAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<UUID> includeIngredients,
+            @RequestParam(required = false) List<UUID> excludeIngredients,
+            @RequestParam(required = false) Integer maxCookingTime,
+            @RequestParam(required = false) List<CuisineType> cuisines,
+            @RequestParam(required = false) List<MealType> mealTypes,
+            @RequestParam(required = false) List<DietType> dietTypes,
+            @RequestParam(required = false) List<CookingMethod> cookingMethods,
+            @RequestParam(required = false) List<DifficultyLevel> difficulties,
+            @RequestParam(required = false, defaultValue = "rating") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) AdvancedSearchPlan plan,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+
+        AdvancedRecipeFilterCriteria criteria = AdvancedRecipeFilterCriteria.builder()
+                .search(search)
+                .includeIngredients(includeIngredients)
+                .excludeIngredients(excludeIngredients)
+                .maxCookingTime(maxCookingTime)
+                .cuisines(cuisines)
+                .mealTypes(mealTypes)
+                .dietTypes(dietTypes)
+                .cookingMethods(cookingMethods)
+                .difficulties(difficulties)
+                .build();
+
+        return ResponseEntity.ok(recipeService.advancedSearchAfter(cursor, size, criteria, sortBy, sortDirection, plan, withTotal));
+    }
+
+    @GetMapping("/pantry-search")
+    public ResponseEntity<PageResponse<PantryMatchDto>> searchByPantry(
+            @RequestParam Set<UUID> ingredients,
+            @RequestParam(defaultValue = "false") boolean includeSubstitutes,
+            @RequestParam(defaultValue = "0") double minCoverage,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        if (minCoverage < 0 || minCoverage > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minCoverage must be between 0 and 1");
+        }
+
+        Page<PantryMatchDto> matches = recipeService.searchByPantry(ingredients, includeSubstitutes, minCoverage, page, size);
+        return ResponseEntity.ok(PageResponse.from(matches));
+    }
+
+    @GetMapping("/{id}/also-liked")
+    public ResponseEntity<List<RecipeCardDto>> getAlsoLikedRecipes(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > 20) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 20");
+        }
+        return ResponseEntity.ok(recipeService.getAlsoLikedRecipes(id, limit));
+    }
+
     @GetMapping("/trending")
-    public ResponseEntity<List<RecipeCardDto>> getTrendingRecipes() {
-        return ResponseEntity.ok(recipeService.getTrendingRecipes());
+    public ResponseEntity<List<RecipeCardDto>> getTrendingRecipes(@RequestHeader HttpHeaders headers) {
+        return feedResponse(headers, recipeService.getFeed(RecipeFeed.TRENDING), recipeCacheControl());
     }
 
+    /**
+     * Personalized for signed-in callers, so the response is private and varies by Authorization.
+     */
     @GetMapping("/recommended")
-    public ResponseEntity<List<RecipeCardDto>> getRecommendedRecipes() {
-        return ResponseEntity.ok(recipeService.getRecommendedRecipes());
+    public ResponseEntity<List<RecipeCardDto>> getRecommendedRecipes(@RequestHeader HttpHeaders headers,
+                                                                     Authentication authentication) {
+        String userEmail = authentication != null ? authentication.getName() : null;
+        ResponseEntity<List<RecipeCardDto>> response = feedResponse(headers, recipeService.getRecommendedFeed(userEmail),
+                CacheControl.maxAge(recipeMaxAge).cachePrivate());
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(response.getBody());
     }
 
     @GetMapping("/seasonal")
-    public ResponseEntity<List<RecipeCardDto>> getSeasonalRecipes() {
-        return ResponseEntity.ok(recipeService.getSeasonalRecipes());
+    public ResponseEntity<List<RecipeCardDto>> getSeasonalRecipes(@RequestHeader HttpHeaders headers) {
+        return feedResponse(headers, recipeService.getFeed(RecipeFeed.SEASONAL), recipeCacheControl());
+    }
+
+    /**
+     * Feeds are validated by their content tag only; a refresh that changes nothing keeps the tag.
+     */
+    private ResponseEntity<List<RecipeCardDto>> feedResponse(HttpHeaders headers, RecipeFeedCache.Snapshot feed,
+                                                             CacheControl cacheControl) {
+        return ConditionalGet.respond(headers, new ResourceVersion(feed.etag(), null), cacheControl, feed::recipes);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RecipeDetailDto> getRecipeById(@PathVariable UUID id) {
-        return ResponseEntity.ok(recipeService.getRecipeById(id));
+    public ResponseEntity<RecipeDetailDto> getRecipeById(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, recipeService.getRecipeVersion(id), recipeCacheControl(),
+                () -> recipeService.getRecipeById(id));
     }
 
     @GetMapping("/{id}/brief")
-    public ResponseEntity<RecipeBriefDto> getRecipeBrief(@PathVariable UUID id) {
-        return ResponseEntity.ok(recipeService.getRecipeBrief(id));
+    public ResponseEntity<RecipeBriefDto> getRecipeBrief(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, recipeService.getRecipeVersion(id), recipeCacheControl(),
+                () -> recipeService.getRecipeBrief(id));
+    }
+
+    private CacheControl recipeCacheControl() {
+        return CacheControl.maxAge(recipeMaxAge).cachePublic();
     }
 
     @GetMapping("/user")
@@ -120,6 +237,20 @@ public class RecipeController {
         return ResponseEntity.ok(PageResponse.from(recipePage));
     }
 
+    @GetMapping("/user/cursor")
+    public ResponseEntity<CursorPageResponse<RecipeCardDto>> getUserRecipesAfter(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String mealType,
+            @RequestParam(required = false, defaultValue = "newest") String sort,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(recipeService.getUserRecipesAfter(cursor, size, search, cuisine, mealType, sort, withTotal, userEmail));
+    }
+
     @PostMapping
     public ResponseEntity<RecipeDetailDto> createRecipe(
             @Valid @RequestBody CreateRecipeDto createRecipeDto,
@@ -129,6 +260,12 @@ public class RecipeController {
                 .body(recipeService.createRecipe(createRecipeDto, userEmail));
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<RecipeImportResultDto> importRecipes(InputStream body, Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(recipeImportService.importRecipes(body, userEmail));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<RecipeDetailDto> updateRecipe(
             @PathVariable UUID id,
@@ -1,17 +1,23 @@
 package com.example.kooking.controller;
 
 import com.example.kooking.dto.CreateReviewDto;
+import com.example.kooking.dto.CursorPageResponse;
 import com.example.kooking.dto.ReviewDto;
 import com.example.kooking.dto.UpdateReviewDto;
 import com.example.kooking.service.impl.ReviewServiceImpl;
+import com.example.kooking.utils.ConditionalGet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
@@ -21,12 +27,27 @@ public class ReviewController {
 
     private final ReviewServiceImpl reviewServiceImpl;
 
+    @Value("${http.cache.reviews.max-age:PT30S}")
+    private Duration reviewMaxAge = Duration.ofSeconds(30);
+
     @GetMapping("/recipe/{recipeId}")
     public ResponseEntity<Page<ReviewDto>> getRecipeReviews(
             @PathVariable UUID recipeId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(reviewServiceImpl.getRecipeReviews(recipeId, page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader HttpHeaders headers) {
+        return ConditionalGet.respond(headers, reviewServiceImpl.getRecipeReviewsVersion(recipeId),
+                CacheControl.maxAge(reviewMaxAge).cachePublic(),
+                () -> reviewServiceImpl.getRecipeReviews(recipeId, page, size));
+    }
+
+    @GetMapping("/recipe/{recipeId}/cursor")
+    public ResponseEntity<CursorPageResponse<ReviewDto>> getRecipeReviewsAfter(
+            @PathVariable UUID recipeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        return ResponseEntity.ok(reviewServiceImpl.getRecipeReviewsAfter(recipeId, cursor, size, withTotal));
     }
 
     @PostMapping("/recipe/{recipeId}")
@@ -65,4 +86,14 @@ public class ReviewController {
         String userEmail = authentication.getName();
         return ResponseEntity.ok(reviewServiceImpl.getUserReviews(userEmail, page, size));
     }
+
+    @GetMapping("/user/cursor")
+    public ResponseEntity<CursorPageResponse<ReviewDto>> getUserReviewsAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(reviewServiceImpl.getUserReviewsAfter(userEmail, cursor, size, withTotal));
+    }
 }
@@ -25,6 +25,15 @@ public class ShoppingListController {
         return ResponseEntity.ok(shoppingListServiceImpl.getUserShoppingLists(userEmail));
     }
 
+    @GetMapping("/user/summary")
+    public ResponseEntity<PageResponse<ShoppingListSummaryDto>> getUserShoppingListSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(PageResponse.from(shoppingListServiceImpl.getUserShoppingListSummaries(userEmail, page, size)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ShoppingListDto> getShoppingListById(@PathVariable UUID id, Authentication authentication) {
         String userEmail = authentication.getName();
@@ -40,6 +49,15 @@ public class ShoppingListController {
                 .body(shoppingListServiceImpl.createShoppingList(createShoppingListDto, userEmail));
     }
 
+    @PostMapping("/from-recipes")
+    public ResponseEntity<ShoppingListDto> buildShoppingListFromRecipes(
+            @Valid @RequestBody BuildShoppingListDto buildShoppingListDto,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(shoppingListServiceImpl.buildShoppingListFromRecipes(buildShoppingListDto, userEmail));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ShoppingListDto> updateShoppingList(
             @PathVariable UUID id,
@@ -74,6 +92,24 @@ public class ShoppingListController {
         return ResponseEntity.ok(shoppingListServiceImpl.addIngredientsToShoppingList(id, addIngredientsDto.getIngredientIds(), userEmail));
     }
 
+    @PostMapping("/{id}/sync")
+    public ResponseEntity<ShoppingListDeltaDto> syncShoppingList(
+            @PathVariable UUID id,
+            @Valid @RequestBody ShoppingListSyncDto syncDto,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(shoppingListServiceImpl.syncShoppingList(id, syncDto, userEmail));
+    }
+
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<ShoppingListDeltaDto> getShoppingListChanges(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "0") long since,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(shoppingListServiceImpl.getShoppingListChanges(id, since, userEmail));
+    }
+
     @DeleteMapping("/{id}/ingredients/{ingredientId}")
     public ResponseEntity<ShoppingListDto> removeIngredientFromShoppingList(
             @PathVariable UUID id,
@@ -53,6 +53,16 @@ public class UserController {
         return ResponseEntity.ok(userServiceImpl.getUserFavoriteRecipes(userEmail, page, size));
     }
 
+    @GetMapping("/me/favorite-recipes/cursor")
+    public ResponseEntity<CursorPageResponse<RecipeCardDto>> getUserFavoriteRecipesAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(userServiceImpl.getUserFavoriteRecipesAfter(userEmail, cursor, size, withTotal));
+    }
+
     @GetMapping("/me/recipes")
     public ResponseEntity<Page<RecipeCardDto>> getUserRecipes(
             @RequestParam(defaultValue = "0") int page,
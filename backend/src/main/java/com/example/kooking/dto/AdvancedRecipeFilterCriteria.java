@@ -23,4 +23,5 @@ public class AdvancedRecipeFilterCriteria {
     private List<DietType> dietTypes;
     private List<CookingMethod> cookingMethods;
     private List<DifficultyLevel> difficulties;
+    private RecipeSearchMode searchMode;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.kooking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildShoppingListDto {
+    @NotEmpty(message = "At least one recipe is required")
+    private List<@Valid RecipeServingsDto> recipes;
+}
@@ -0,0 +1,22 @@
+package com.example.kooking.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page whose total may come from a cached or estimated count rather than a fresh COUNT query.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
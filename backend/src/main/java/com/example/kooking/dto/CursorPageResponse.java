@@ -0,0 +1,44 @@
+package com.example.kooking.dto;
+
+import com.example.kooking.utils.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset-paginated listing. {@code nextCursor} is null on the last page, and
+ * {@code totalElements} is only filled when the caller asked for the total.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+
+    /**
+     * Builds the page from rows fetched with {@link KeysetCursor#fetchSize(int)}; the extra row only signals that another page exists.
+     */
+    public static <T> CursorPageResponse<T> from(List<T> rows, int size, Function<T, KeysetCursor> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.getLast()).encode() : null;
+        return new CursorPageResponse<>(content, size, hasNext, nextCursor, totalElements);
+    }
+
+    public static <T> CursorPageResponse<T> empty(int size, boolean withTotal) {
+        return new CursorPageResponse<>(List.of(), size, false, null, withTotal ? 0L : null);
+    }
+
+    public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPageResponse<>(mapped, size, hasNext, nextCursor, totalElements);
+    }
+}
@@ -18,6 +18,8 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    // False when totalElements comes from a cached or estimated count
+    private boolean totalExact;
 
     public static <T> PageResponse<T> from(Page<T> page) {
         return new PageResponse<>(
@@ -27,7 +29,8 @@ public class PageResponse<T> {
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isFirst(),
-                page.isLast()
+                page.isLast(),
+                !(page instanceof CountedPage<T> counted) || counted.isTotalExact()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.kooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PantryMatchDto {
+    private RecipeCardDto recipe;
+    private int matchedIngredients;
+    private int totalIngredients;
+    private double coverage;
+}
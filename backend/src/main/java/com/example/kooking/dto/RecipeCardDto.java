@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -26,5 +27,6 @@ public class RecipeCardDto {
     private String imageUrl;
     private BigDecimal rating;
     private int popularity;
+    private LocalDateTime createdAt;
 }
 
@@ -0,0 +1,24 @@
+package com.example.kooking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeServingsDto {
+    @NotNull(message = "Recipe id is required")
+    private UUID recipeId;
+
+    // Scales every ingredient line of the recipe; 2.0 buys for a double batch
+    @Builder.Default
+    @Positive(message = "Servings multiplier must be positive")
+    private double multiplier = 1.0;
+}
@@ -0,0 +1,22 @@
+package com.example.kooking.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a cacheable representation: a weak entity tag and, when known, the last modification time.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    public static ResourceVersion of(String tag, LocalDateTime... modifiedAt) {
+        LocalDateTime latest = null;
+        for (LocalDateTime candidate : modifiedAt) {
+            if (candidate != null && (latest == null || candidate.isAfter(latest))) {
+                latest = candidate;
+            }
+        }
+        Instant lastModified = latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant() : null;
+        return new ResourceVersion("W/\"" + tag + "\"", lastModified);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.kooking.dto;
+
+import com.example.kooking.enums.ShoppingListOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListChangeDto {
+    private long version;
+    private ShoppingListOperation type;
+    private UUID ingredientId;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.kooking.dto;
+
+import com.example.kooking.enums.ShoppingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListDeltaDto {
+    private UUID id;
+    private long version;
+    private ShoppingStatus status;
+    private List<ShoppingListChangeDto> changes;
+}
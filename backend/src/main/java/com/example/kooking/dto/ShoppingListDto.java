@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -18,7 +19,10 @@ public class ShoppingListDto {
     private UUID id;
     private UserProfileDto user;
     private Set<IngredientBriefDto> ingredients;
+    private List<ShoppingListItemDto> items;
+    private Set<UUID> checkedIngredientIds;
     private ShoppingStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.kooking.dto;
+
+import com.example.kooking.enums.ShoppingListOperation;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListOperationDto {
+    @NotNull(message = "Operation type is required")
+    private ShoppingListOperation type;
+
+    @NotNull(message = "Ingredient id is required")
+    private UUID ingredientId;
+}
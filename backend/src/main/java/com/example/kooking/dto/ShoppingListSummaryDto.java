@@ -0,0 +1,22 @@
+package com.example.kooking.dto;
+
+import com.example.kooking.enums.ShoppingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListSummaryDto {
+    private UUID id;
+    private ShoppingStatus status;
+    private long itemCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
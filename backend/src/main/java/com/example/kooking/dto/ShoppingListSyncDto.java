@@ -0,0 +1,22 @@
+package com.example.kooking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListSyncDto {
+    // The list version the client's copy is at; operations are rejected unless it is still current
+    @PositiveOrZero(message = "Base version must not be negative")
+    private long baseVersion;
+
+    private List<@Valid ShoppingListOperationDto> operations;
+}
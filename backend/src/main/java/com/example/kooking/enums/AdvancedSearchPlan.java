@@ -0,0 +1,13 @@
+package com.example.kooking.enums;
+
+/**
+ * Execution strategies for the include/exclude ingredient filters of the advanced search.
+ */
+public enum AdvancedSearchPlan {
+    /** One correlated EXISTS subquery per ingredient. */
+    EXISTS_SUBQUERIES,
+    /** A single recipe_ingredients scan grouped by recipe plus one anti-join for the excludes. */
+    GROUP_BY,
+    /** Bitmap intersection in the in-memory ingredient index followed by an id IN (...) fetch. */
+    INGREDIENT_INDEX
+}
@@ -0,0 +1,13 @@
+package com.example.kooking.enums;
+
+/**
+ * How the {@code totalElements} of a paged recipe listing is obtained when the page alone cannot tell it.
+ */
+public enum CountStrategy {
+    /** A COUNT query with the page's filters on every request. */
+    EXACT,
+    /** The exact count, reused for the same normalized filters until it expires or a recipe changes. */
+    CACHED,
+    /** An in-memory estimate such as the ingredient index cardinality; falls back to CACHED when there is none. */
+    ESTIMATED
+}
@@ -0,0 +1,7 @@
+package com.example.kooking.enums;
+
+public enum RecipeFeed {
+    TRENDING,
+    SEASONAL,
+    RECOMMENDED
+}
@@ -0,0 +1,11 @@
+package com.example.kooking.enums;
+
+/**
+ * How the free-text {@code search} parameter of the recipe listings is matched.
+ */
+public enum RecipeSearchMode {
+    /** Case-insensitive substring match on the recipe name, in the database. */
+    LIKE,
+    /** Ranked, typo-tolerant match on name, description and ingredient names in the in-memory text index. */
+    TEXT
+}
@@ -0,0 +1,8 @@
+package com.example.kooking.enums;
+
+public enum ShoppingListOperation {
+    ADD,
+    REMOVE,
+    CHECK,
+    UNCHECK
+}
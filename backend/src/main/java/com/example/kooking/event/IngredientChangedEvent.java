@@ -0,0 +1,39 @@
+package com.example.kooking.event;
+
+import java.util.UUID;
+
+/**
+ * Published by the ingredient service whenever a catalog ingredient is created, updated or deleted.
+ * Listeners are expected to react after the surrounding transaction commits.
+ */
+public record IngredientChangedEvent(UUID ingredientId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        // Attributes other than the name changed
+        UPDATED,
+        RENAMED,
+        SUBSTITUTES_CHANGED,
+        DELETED
+    }
+
+    public static IngredientChangedEvent created(UUID ingredientId) {
+        return new IngredientChangedEvent(ingredientId, ChangeType.CREATED);
+    }
+
+    public static IngredientChangedEvent updated(UUID ingredientId) {
+        return new IngredientChangedEvent(ingredientId, ChangeType.UPDATED);
+    }
+
+    public static IngredientChangedEvent renamed(UUID ingredientId) {
+        return new IngredientChangedEvent(ingredientId, ChangeType.RENAMED);
+    }
+
+    public static IngredientChangedEvent substitutesChanged(UUID ingredientId) {
+        return new IngredientChangedEvent(ingredientId, ChangeType.SUBSTITUTES_CHANGED);
+    }
+
+    public static IngredientChangedEvent deleted(UUID ingredientId) {
+        return new IngredientChangedEvent(ingredientId, ChangeType.DELETED);
+    }
+}
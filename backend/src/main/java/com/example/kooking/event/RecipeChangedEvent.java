@@ -0,0 +1,29 @@
+package com.example.kooking.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published by the recipe service whenever a recipe is created, updated or deleted.
+ * Listeners are expected to react after the surrounding transaction commits.
+ */
+public record RecipeChangedEvent(UUID recipeId, ChangeType type, Set<UUID> ingredientIds) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static RecipeChangedEvent created(UUID recipeId, Set<UUID> ingredientIds) {
+        return new RecipeChangedEvent(recipeId, ChangeType.CREATED, ingredientIds);
+    }
+
+    public static RecipeChangedEvent updated(UUID recipeId, Set<UUID> ingredientIds) {
+        return new RecipeChangedEvent(recipeId, ChangeType.UPDATED, ingredientIds);
+    }
+
+    public static RecipeChangedEvent deleted(UUID recipeId) {
+        return new RecipeChangedEvent(recipeId, ChangeType.DELETED, Set.of());
+    }
+}
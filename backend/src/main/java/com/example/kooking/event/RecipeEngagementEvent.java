@@ -0,0 +1,28 @@
+package com.example.kooking.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user interaction changes a recipe's popularity or rating.
+ * Listeners are expected to react after the surrounding transaction commits.
+ */
+public record RecipeEngagementEvent(UUID recipeId, UUID userId, EngagementType type) {
+
+    public enum EngagementType {
+        FAVORITED,
+        UNFAVORITED,
+        REVIEWED
+    }
+
+    public static RecipeEngagementEvent favorited(UUID recipeId, UUID userId) {
+        return new RecipeEngagementEvent(recipeId, userId, EngagementType.FAVORITED);
+    }
+
+    public static RecipeEngagementEvent unfavorited(UUID recipeId, UUID userId) {
+        return new RecipeEngagementEvent(recipeId, userId, EngagementType.UNFAVORITED);
+    }
+
+    public static RecipeEngagementEvent reviewed(UUID recipeId, UUID userId) {
+        return new RecipeEngagementEvent(recipeId, userId, EngagementType.REVIEWED);
+    }
+}
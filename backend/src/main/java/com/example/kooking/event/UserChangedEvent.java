@@ -0,0 +1,8 @@
+package com.example.kooking.event;
+
+/**
+ * Published by the user service whenever a user's profile or preferences change.
+ * Listeners are expected to react after the surrounding transaction commits.
+ */
+public record UserChangedEvent(String email) {
+}
@@ -0,0 +1,434 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import com.example.kooking.repository.FavoriteRecipeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory item-to-item similarity over favorites: two recipes are similar when the same users favorited
+ * both. Similarity is the cosine of their favorite vectors, {@code co(a, b) / sqrt(favorites(a) * favorites(b))}.
+ * <p>
+ * The table is scanned once at startup (and nightly, to pick up favorites removed by cascading deletes).
+ * After that every favorite or unfavorite only touches the co-favorite counts of that user's other favorites.
+ * Counts are kept in sparse rows of primitive arrays. The top neighbors of a recipe are recomputed lazily
+ * on the first read after one of its counts changed.
+ * <p>
+ * A rebuild fills a fresh graph outside the lock and swaps it in, so reads and events are never held up by
+ * the scan. Events that arrive while it reads the table are applied to the current graph and replayed onto
+ * the new one.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoFavoriteIndex {
+    private static final Logger log = LoggerFactory.getLogger(CoFavoriteIndex.class);
+    private static final int[] NONE = new int[0];
+
+    private final FavoriteRecipeRepository favoriteRecipeRepository;
+
+    @Value("${recipes.also-liked.neighbors:20}")
+    private int maxNeighbors = 20;
+
+    @Value("${recipes.also-liked.min-co-favorites:1}")
+    private int minCoFavorites = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced as a whole by rebuild(); guarded by lock
+    private Graph graph = new Graph();
+    // Engagement and recipe events received while rebuild() reads its snapshot; null when not rebuilding
+    private List<Object> pendingEvents;
+    private volatile boolean ready;
+
+    /**
+     * Co-favorite counts of one recipe: {@code counts[i]} users favorited both it and {@code columns[i]}.
+     * Columns are kept sorted; entries whose count drops to zero are removed.
+     */
+    private static final class SparseRow {
+        private int[] columns = NONE;
+        private int[] counts = NONE;
+        private int size;
+
+        void add(int column, int delta) {
+            int pos = Arrays.binarySearch(columns, 0, size, column);
+            if (pos >= 0) {
+                counts[pos] += delta;
+                if (counts[pos] <= 0) {
+                    removeAt(pos);
+                }
+                return;
+            }
+            if (delta <= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == columns.length) {
+                int capacity = Math.max(4, size * 2);
+                columns = Arrays.copyOf(columns, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            System.arraycopy(columns, insertAt, columns, insertAt + 1, size - insertAt);
+            System.arraycopy(counts, insertAt, counts, insertAt + 1, size - insertAt);
+            columns[insertAt] = column;
+            counts[insertAt] = delta;
+            size++;
+        }
+
+        void remove(int column) {
+            int pos = Arrays.binarySearch(columns, 0, size, column);
+            if (pos >= 0) {
+                removeAt(pos);
+            }
+        }
+
+        private void removeAt(int pos) {
+            System.arraycopy(columns, pos + 1, columns, pos, size - pos - 1);
+            System.arraycopy(counts, pos + 1, counts, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recipes.also-liked.rebuild-cron:0 45 3 * * *}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<FavoriteRecipeRepository.FavoriteLink> links;
+        Graph built;
+        try {
+            links = favoriteRecipeRepository.findAllFavoriteLinks();
+            built = build(links);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int recipeCount;
+        int userCount;
+        lock.writeLock().lock();
+        try {
+            graph = built;
+            // Events committed while the snapshot was read may be missing from it; replaying an included one is a no-op
+            List<Object> missed = pendingEvents;
+            pendingEvents = null;
+            missed.forEach(this::apply);
+            recipeCount = built.recipeIds.size();
+            userCount = built.userOrdinals.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Co-favorite index built: {} favorites, {} recipes, {} users", links.size(), recipeCount, userCount);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(RecipeEngagementEvent event) {
+        if (event.userId() == null
+                || event.type() != RecipeEngagementEvent.EngagementType.FAVORITED
+                && event.type() != RecipeEngagementEvent.EngagementType.UNFAVORITED) {
+            return;
+        }
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            record(event);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code limit} recipes most often favorited together with {@code recipeId}, most similar first.
+     */
+    public List<UUID> findAlsoLiked(UUID recipeId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = graph.recipeOrdinals.get(recipeId);
+            if (ordinal == null || graph.deleted.get(ordinal)) {
+                return List.of();
+            }
+            if (!graph.stale.get(ordinal)) {
+                return graph.toRecipeIds(graph.neighbors.get(ordinal), limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = graph.recipeOrdinals.get(recipeId);
+            if (ordinal == null || graph.deleted.get(ordinal)) {
+                return List.of();
+            }
+            if (graph.stale.get(ordinal)) {
+                graph.recomputeNeighbors(ordinal);
+            }
+            return graph.toRecipeIds(graph.neighbors.get(ordinal), limit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void record(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a favorite, unfavorite or deletion to the current graph; callers hold the write lock.
+     */
+    private void apply(Object event) {
+        if (event instanceof RecipeEngagementEvent engagement) {
+            if (engagement.type() == RecipeEngagementEvent.EngagementType.FAVORITED) {
+                graph.favorite(engagement.userId(), engagement.recipeId());
+            } else {
+                graph.unfavorite(engagement.userId(), engagement.recipeId());
+            }
+        } else if (event instanceof RecipeChangedEvent change) {
+            graph.remove(change.recipeId());
+        }
+    }
+
+    /**
+     * Builds a graph from a snapshot of the favorites table without touching the live one. Each favorite is packed
+     * as one {@code (user, recipe)} long, so a single sort groups every user's favorites in recipe order.
+     */
+    private Graph build(List<FavoriteRecipeRepository.FavoriteLink> links) {
+        Graph built = new Graph();
+        long[] pairs = new long[links.size()];
+        for (int i = 0; i < pairs.length; i++) {
+            FavoriteRecipeRepository.FavoriteLink link = links.get(i);
+            pairs[i] = (long) built.userOrdinalOf(link.getUserId()) << 32 | built.recipeOrdinalOf(link.getRecipeId());
+        }
+        Arrays.sort(pairs);
+
+        int[] favorites = new int[16];
+        int next = 0;
+        while (next < pairs.length) {
+            int user = (int) (pairs[next] >>> 32);
+            int count = 0;
+            for (; next < pairs.length && (int) (pairs[next] >>> 32) == user; next++) {
+                int recipe = (int) pairs[next];
+                if (count > 0 && favorites[count - 1] == recipe) {
+                    continue;
+                }
+                if (count == favorites.length) {
+                    favorites = Arrays.copyOf(favorites, count * 2);
+                }
+                favorites[count++] = recipe;
+            }
+            built.addUser(user, Arrays.copyOf(favorites, count));
+        }
+        built.stale.set(0, built.recipeIds.size());
+        return built;
+    }
+
+    /**
+     * Recipe and user ordinals, co-favorite counts and cached neighbors; all access happens under the index lock.
+     */
+    private final class Graph {
+        private final Map<UUID, Integer> recipeOrdinals = new HashMap<>();
+        private final List<UUID> recipeIds = new ArrayList<>();
+        private final List<SparseRow> coFavorites = new ArrayList<>();
+        private final List<int[]> neighbors = new ArrayList<>();
+        private final Map<UUID, Integer> userOrdinals = new HashMap<>();
+        // Sorted recipe ordinals per user ordinal
+        private final List<int[]> favoritesByUser = new ArrayList<>();
+        private final BitSet stale = new BitSet();
+        private final BitSet deleted = new BitSet();
+        private int[] favoriteCounts = new int[64];
+
+        /**
+         * Adds the co-favorite pairs of a user's distinct, sorted favorites while building.
+         */
+        void addUser(int user, int[] favorites) {
+            for (int i = 0; i < favorites.length; i++) {
+                favoriteCounts[favorites[i]]++;
+                for (int j = i + 1; j < favorites.length; j++) {
+                    coFavorites.get(favorites[i]).add(favorites[j], 1);
+                    coFavorites.get(favorites[j]).add(favorites[i], 1);
+                }
+            }
+            favoritesByUser.set(user, favorites);
+        }
+
+        void favorite(UUID userId, UUID recipeId) {
+            int recipe = recipeOrdinalOf(recipeId);
+            int user = userOrdinalOf(userId);
+            int[] favorites = favoritesByUser.get(user);
+            int pos = Arrays.binarySearch(favorites, recipe);
+            if (pos >= 0 || deleted.get(recipe)) {
+                return;
+            }
+            for (int other : favorites) {
+                if (!deleted.get(other)) {
+                    coFavorites.get(recipe).add(other, 1);
+                    coFavorites.get(other).add(recipe, 1);
+                }
+            }
+            int insertAt = -pos - 1;
+            int[] updated = new int[favorites.length + 1];
+            System.arraycopy(favorites, 0, updated, 0, insertAt);
+            updated[insertAt] = recipe;
+            System.arraycopy(favorites, insertAt, updated, insertAt + 1, favorites.length - insertAt);
+            favoritesByUser.set(user, updated);
+            favoriteCounts[recipe]++;
+            markStale(recipe);
+        }
+
+        void unfavorite(UUID userId, UUID recipeId) {
+            Integer recipe = recipeOrdinals.get(recipeId);
+            Integer user = userOrdinals.get(userId);
+            if (recipe == null || user == null) {
+                return;
+            }
+            int[] favorites = favoritesByUser.get(user);
+            int pos = Arrays.binarySearch(favorites, recipe);
+            if (pos < 0) {
+                return;
+            }
+            int[] updated = new int[favorites.length - 1];
+            System.arraycopy(favorites, 0, updated, 0, pos);
+            System.arraycopy(favorites, pos + 1, updated, pos, favorites.length - pos - 1);
+            favoritesByUser.set(user, updated);
+            if (deleted.get(recipe)) {
+                return;
+            }
+            // Mark before decrementing, so partners whose count drops to zero are still reached
+            markStale(recipe);
+            for (int other : updated) {
+                if (!deleted.get(other)) {
+                    coFavorites.get(recipe).add(other, -1);
+                    coFavorites.get(other).add(recipe, -1);
+                }
+            }
+            favoriteCounts[recipe]--;
+        }
+
+        void remove(UUID recipeId) {
+            Integer recipe = recipeOrdinals.get(recipeId);
+            if (recipe == null || deleted.get(recipe)) {
+                return;
+            }
+            markStale(recipe);
+            SparseRow row = coFavorites.get(recipe);
+            for (int i = 0; i < row.size; i++) {
+                coFavorites.get(row.columns[i]).remove(recipe);
+            }
+            coFavorites.set(recipe, new SparseRow());
+            neighbors.set(recipe, NONE);
+            favoriteCounts[recipe] = 0;
+            deleted.set(recipe);
+        }
+
+        /**
+         * A recipe's favorite count is part of every similarity it takes part in, so all its partners need
+         * their neighbors recomputed too.
+         */
+        void markStale(int recipe) {
+            stale.set(recipe);
+            SparseRow row = coFavorites.get(recipe);
+            for (int i = 0; i < row.size; i++) {
+                stale.set(row.columns[i]);
+            }
+        }
+
+        /**
+         * Keeps the {@code maxNeighbors} most similar partners by insertion into a small sorted array;
+         * callers hold the write lock.
+         */
+        void recomputeNeighbors(int recipe) {
+            SparseRow row = coFavorites.get(recipe);
+            int[] top = new int[maxNeighbors];
+            double[] topScores = new double[maxNeighbors];
+            int found = 0;
+            for (int i = 0; i < row.size; i++) {
+                int other = row.columns[i];
+                if (row.counts[i] < minCoFavorites || deleted.get(other)) {
+                    continue;
+                }
+                double score = row.counts[i] / Math.sqrt((double) favoriteCounts[recipe] * favoriteCounts[other]);
+                if (found == maxNeighbors && score <= topScores[found - 1]) {
+                    continue;
+                }
+                int pos = found < maxNeighbors ? found++ : found - 1;
+                while (pos > 0 && topScores[pos - 1] < score) {
+                    top[pos] = top[pos - 1];
+                    topScores[pos] = topScores[pos - 1];
+                    pos--;
+                }
+                top[pos] = other;
+                topScores[pos] = score;
+            }
+            neighbors.set(recipe, Arrays.copyOf(top, found));
+            stale.clear(recipe);
+        }
+
+        int recipeOrdinalOf(UUID recipeId) {
+            Integer ordinal = recipeOrdinals.get(recipeId);
+            if (ordinal == null) {
+                ordinal = recipeIds.size();
+                recipeOrdinals.put(recipeId, ordinal);
+                recipeIds.add(recipeId);
+                coFavorites.add(new SparseRow());
+                neighbors.add(NONE);
+                if (ordinal == favoriteCounts.length) {
+                    favoriteCounts = Arrays.copyOf(favoriteCounts, ordinal * 2);
+                }
+            }
+            return ordinal;
+        }
+
+        int userOrdinalOf(UUID userId) {
+            Integer ordinal = userOrdinals.get(userId);
+            if (ordinal == null) {
+                ordinal = favoritesByUser.size();
+                userOrdinals.put(userId, ordinal);
+                favoritesByUser.add(NONE);
+            }
+            return ordinal;
+        }
+
+        List<UUID> toRecipeIds(int[] ordinals, int limit) {
+            int count = Math.min(limit, ordinals.length);
+            List<UUID> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(recipeIds.get(ordinals[i]));
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.kooking.index;
+
+import com.example.kooking.dto.IngredientBriefDto;
+import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable prefix trie over ingredient names and categories that serves the ingredient type-ahead
+ * without touching the database.
+ * <p>
+ * Every word of a name is a key, so "pep" finds "Black Pepper", and so is the category, so "dair" lists
+ * dairy ingredients. Each node stores its best {@link #MAX_SUGGESTIONS} ingredients, most used in recipes
+ * first, and, where its subtree holds more than that, the best ones of every category, so a lookup is one
+ * walk down the query's characters. Writers build a new trie and swap the reference; readers never lock.
+ * <p>
+ * Ingredient changes only mark the trie stale; a short scheduled tick rebuilds it once per burst of changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngredientSuggestIndex {
+    private static final Logger log = LoggerFactory.getLogger(IngredientSuggestIndex.class);
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final IngredientRepository ingredientRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile Node root;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ingredients.suggest.refresh-interval:PT10M}",
+            initialDelayString = "${ingredients.suggest.refresh-interval:PT10M}")
+    public synchronized void rebuild() {
+        List<IngredientBriefDto> ingredients = ingredientRepository.findAllBriefs();
+        // Usage only orders the suggestions, so recipe writes are picked up by the periodic refresh
+        Map<UUID, Long> usage = recipeIngredientRepository.countRecipesPerIngredient().stream()
+                .collect(Collectors.toMap(RecipeIngredientRepository.IngredientUsage::getIngredientId,
+                        RecipeIngredientRepository.IngredientUsage::getRecipeCount));
+
+        root = build(ingredients, usage);
+        log.debug("Ingredient suggest index built: {} ingredients", ingredients.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        // Substitutes are not part of a suggestion
+        if (event.type() != IngredientChangedEvent.ChangeType.SUBSTITUTES_CHANGED) {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ingredients.suggest.rebuild-delay:PT2S}")
+    public void rebuildIfStale() {
+        // Cleared first, so a change committed while rebuilding is picked up by the next tick
+        if (stale.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return root != null;
+    }
+
+    /**
+     * Returns up to {@code limit} ingredients with a name word or category starting with {@code prefix},
+     * optionally restricted to one category.
+     */
+    public List<IngredientBriefDto> suggest(String prefix, IngredientCategory category, int limit) {
+        Node node = root;
+        String key = String.join(" ", RecipeTextIndex.tokenize(prefix));
+        if (node == null || key.isEmpty()) {
+            return List.of();
+        }
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        Suggestion[] ranked = node.ranked(category);
+        List<IngredientBriefDto> suggestions = new ArrayList<>(Math.min(limit, ranked.length));
+        for (Suggestion suggestion : ranked) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            if (category == null || category == suggestion.ingredient().getCategory()) {
+                suggestions.add(suggestion.ingredient());
+            }
+        }
+        return suggestions;
+    }
+
+    static Node build(List<IngredientBriefDto> ingredients, Map<UUID, Long> usage) {
+        Node root = new Node();
+        for (IngredientBriefDto ingredient : ingredients) {
+            Suggestion suggestion = new Suggestion(ingredient, usage.getOrDefault(ingredient.getId(), 0L));
+            for (String key : keysOf(ingredient)) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                }
+                node.terminal.add(suggestion);
+            }
+        }
+        root.freeze();
+        return root;
+    }
+
+    /**
+     * The normalized name from each word onwards, plus the category name.
+     */
+    private static Set<String> keysOf(IngredientBriefDto ingredient) {
+        Set<String> keys = new HashSet<>();
+        List<String> words = RecipeTextIndex.tokenize(ingredient.getName());
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        if (ingredient.getCategory() != null) {
+            keys.add(ingredient.getCategory().name().toLowerCase(Locale.ROOT));
+        }
+        return keys;
+    }
+
+    private record Suggestion(IngredientBriefDto ingredient, long usage) {
+        static final Comparator<Suggestion> ORDER = Comparator.comparingLong(Suggestion::usage).reversed()
+                .thenComparingInt(suggestion -> suggestion.ingredient().getName().length())
+                .thenComparing(suggestion -> suggestion.ingredient().getName());
+    }
+
+    static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        // Only used while building; released by freeze()
+        private Map<Character, Node> building = new HashMap<>();
+        private List<Suggestion> terminal = new ArrayList<>();
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] top = NO_SUGGESTIONS;
+        // Best suggestions per category; null when top already holds every suggestion of the subtree
+        private Map<IngredientCategory, Suggestion[]> topByCategory;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node childOrCreate(char label) {
+            return building.computeIfAbsent(label, key -> new Node());
+        }
+
+        /**
+         * Suggestions to scan for {@code category}, best first; may still contain other categories.
+         */
+        private Suggestion[] ranked(IngredientCategory category) {
+            if (category == null || topByCategory == null) {
+                return top;
+            }
+            return topByCategory.getOrDefault(category, NO_SUGGESTIONS);
+        }
+
+        private Stream<Suggestion> stored() {
+            return topByCategory == null
+                    ? Arrays.stream(top)
+                    : Stream.concat(Arrays.stream(top), topByCategory.values().stream().flatMap(Arrays::stream));
+        }
+
+        /**
+         * Converts the subtree to sorted arrays and computes each node's best suggestions bottom-up. The best
+         * suggestions of a category are among its children's best of that category, so no node rescans its subtree.
+         */
+        private void freeze() {
+            List<Character> sortedLabels = new ArrayList<>(building.keySet());
+            Collections.sort(sortedLabels);
+            labels = new char[sortedLabels.size()];
+            children = new Node[sortedLabels.size()];
+
+            Map<UUID, Suggestion> candidates = new HashMap<>();
+            terminal.forEach(suggestion -> candidates.putIfAbsent(suggestion.ingredient().getId(), suggestion));
+            for (int i = 0; i < sortedLabels.size(); i++) {
+                labels[i] = sortedLabels.get(i);
+                children[i] = building.get(sortedLabels.get(i));
+                children[i].freeze();
+                children[i].stored().forEach(suggestion -> candidates.putIfAbsent(suggestion.ingredient().getId(), suggestion));
+            }
+            top = candidates.values().stream()
+                    .sorted(Suggestion.ORDER)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+            if (candidates.size() > MAX_SUGGESTIONS) {
+                topByCategory = new EnumMap<>(IngredientCategory.class);
+                candidates.values().stream()
+                        .filter(suggestion -> suggestion.ingredient().getCategory() != null)
+                        .collect(Collectors.groupingBy(suggestion -> suggestion.ingredient().getCategory()))
+                        .forEach((category, suggestions) -> topByCategory.put(category, suggestions.stream()
+                                .sorted(Suggestion.ORDER)
+                                .limit(MAX_SUGGESTIONS)
+                                .toArray(Suggestion[]::new)));
+            }
+
+            building = null;
+            terminal = null;
+        }
+    }
+}
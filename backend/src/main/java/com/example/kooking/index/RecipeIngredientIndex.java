@@ -0,0 +1,341 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory inverted index from ingredient id to a compressed bitmap of recipe ordinals.
+ * Used by the advanced search to resolve include/exclude ingredient filters without
+ * one correlated subquery per ingredient.
+ * <p>
+ * The forward direction is kept as well: every recipe ordinal maps to a sorted array of
+ * ingredient ordinals, which the pantry search scores without touching the database.
+ * <p>
+ * Ordinals of deleted recipes are reused by the next new recipe, so the arrays do not grow with churn.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeIngredientIndex {
+    private static final Logger log = LoggerFactory.getLogger(RecipeIngredientIndex.class);
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> recipeOrdinals = new HashMap<>();
+    private final List<UUID> recipeIds = new ArrayList<>();
+    private final List<int[]> ingredientsByRecipe = new ArrayList<>();
+    private final Map<UUID, Integer> ingredientOrdinals = new HashMap<>();
+    private final List<RoaringBitmap> recipesByIngredient = new ArrayList<>();
+    private final RoaringBitmap liveRecipes = new RoaringBitmap();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    // Changes seen while a rebuild reads the database, replayed onto the new snapshot; null when no rebuild runs
+    private List<RecipeChangedEvent> pendingChanges;
+    private volatile boolean ready;
+
+    /**
+     * Coverage of a single recipe by a pantry: {@code matched} of its {@code total} ingredient lines are satisfied.
+     */
+    public record PantryMatch(UUID recipeId, int matched, int total) {
+        public double coverage() {
+            return total == 0 ? 0.0 : (double) matched / total;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<UUID> allRecipeIds;
+        List<RecipeIngredientRepository.IngredientLink> links;
+        try {
+            allRecipeIds = recipeRepository.findAllIds();
+            links = recipeIngredientRepository.findAllIngredientLinks();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            recipeOrdinals.clear();
+            recipeIds.clear();
+            ingredientsByRecipe.clear();
+            ingredientOrdinals.clear();
+            recipesByIngredient.clear();
+            liveRecipes.clear();
+            freeOrdinals.clear();
+
+            allRecipeIds.forEach(this::recipeOrdinalOf);
+            Map<Integer, Set<UUID>> linksByRecipe = new HashMap<>();
+            for (RecipeIngredientRepository.IngredientLink link : links) {
+                linksByRecipe.computeIfAbsent(recipeOrdinalOf(link.getRecipeId()), ordinal -> new HashSet<>())
+                        .add(link.getIngredientId());
+            }
+            linksByRecipe.forEach(this::link);
+            // Changes committed while the snapshot was read may be missing from it; re-applying an included one is a no-op
+            List<RecipeChangedEvent> missed = pendingChanges;
+            pendingChanges = null;
+            missed.forEach(this::apply);
+            recipesByIngredient.forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Recipe ingredient index built: {} recipes, {} ingredients", allRecipeIds.size(), ingredientOrdinals.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the ids of all recipes that contain every ingredient in {@code include}
+     * and none of the ingredients in {@code exclude}.
+     */
+    public List<UUID> findRecipesWithAll(Collection<UUID> include, Collection<UUID> exclude) {
+        lock.readLock().lock();
+        try {
+            return toRecipeIds(matchAll(include, exclude));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the recipes {@link #findRecipesWithAll} would return without materializing their ids.
+     */
+    public int countRecipesWithAll(Collection<UUID> include, Collection<UUID> exclude) {
+        lock.readLock().lock();
+        try {
+            return matchAll(include, exclude).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int recipeCount() {
+        lock.readLock().lock();
+        try {
+            return liveRecipes.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all recipes that contain at least one of the given ingredients.
+     */
+    public List<UUID> findRecipesWithAny(Collection<UUID> ingredientIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = new RoaringBitmap();
+            for (UUID ingredientId : ingredientIds) {
+                RoaringBitmap bitmap = postingsOf(ingredientId);
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return toRecipeIds(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every recipe against the given set of available ingredients, in parallel across cores.
+     * Only recipes with at least one satisfied line and a coverage of at least {@code minCoverage}
+     * are returned, best coverage first.
+     */
+    public List<PantryMatch> scorePantry(Collection<UUID> availableIngredients, double minCoverage) {
+        int[][] recipes;
+        UUID[] ids;
+        BitSet available = new BitSet();
+
+        lock.readLock().lock();
+        try {
+            // Arrays are replaced rather than mutated on writes, so a snapshot of the references is enough
+            recipes = ingredientsByRecipe.toArray(new int[0][]);
+            ids = recipeIds.toArray(new UUID[0]);
+            for (UUID ingredientId : availableIngredients) {
+                Integer ordinal = ingredientOrdinals.get(ingredientId);
+                if (ordinal != null) {
+                    available.set(ordinal);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return IntStream.range(0, recipes.length)
+                .parallel()
+                .mapToObj(ordinal -> {
+                    int[] ingredients = recipes[ordinal];
+                    int matched = 0;
+                    for (int ingredient : ingredients) {
+                        if (available.get(ingredient)) {
+                            matched++;
+                        }
+                    }
+                    return matched == 0 ? null : new PantryMatch(ids[ordinal], matched, ingredients.length);
+                })
+                .filter(match -> match != null && match.coverage() >= minCoverage)
+                .sorted(Comparator.comparingDouble(PantryMatch::coverage).reversed()
+                        .thenComparing(Comparator.comparingInt(PantryMatch::matched).reversed()))
+                .toList();
+    }
+
+    /**
+     * Applies one recipe change; callers hold the write lock.
+     */
+    private void apply(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            remove(event.recipeId());
+        } else {
+            put(event.recipeId(), event.ingredientIds());
+        }
+    }
+
+    private void put(UUID recipeId, Set<UUID> ingredientIds) {
+        int ordinal = recipeOrdinalOf(recipeId);
+        unlink(ordinal);
+        link(ordinal, ingredientIds != null ? ingredientIds : Set.of());
+    }
+
+    private void remove(UUID recipeId) {
+        Integer ordinal = recipeOrdinals.remove(recipeId);
+        if (ordinal != null) {
+            unlink(ordinal);
+            liveRecipes.remove(ordinal);
+            recipeIds.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+    }
+
+    private void link(int recipeOrdinal, Set<UUID> ingredientIds) {
+        int[] ingredients = ingredientIds.stream()
+                .mapToInt(this::ingredientOrdinalOf)
+                .sorted()
+                .toArray();
+        for (int ingredient : ingredients) {
+            recipesByIngredient.get(ingredient).add(recipeOrdinal);
+        }
+        ingredientsByRecipe.set(recipeOrdinal, ingredients);
+    }
+
+    private void unlink(int recipeOrdinal) {
+        for (int ingredient : ingredientsByRecipe.get(recipeOrdinal)) {
+            recipesByIngredient.get(ingredient).remove(recipeOrdinal);
+        }
+        ingredientsByRecipe.set(recipeOrdinal, NO_INGREDIENTS);
+    }
+
+    private RoaringBitmap postingsOf(UUID ingredientId) {
+        Integer ordinal = ingredientOrdinals.get(ingredientId);
+        return ordinal == null ? null : recipesByIngredient.get(ordinal);
+    }
+
+    private int recipeOrdinalOf(UUID recipeId) {
+        Integer ordinal = recipeOrdinals.get(recipeId);
+        if (ordinal == null) {
+            if (freeOrdinals.isEmpty()) {
+                ordinal = recipeIds.size();
+                recipeIds.add(recipeId);
+                ingredientsByRecipe.add(NO_INGREDIENTS);
+            } else {
+                // A reclaimed slot was unlinked when its recipe was deleted
+                ordinal = freeOrdinals.pop();
+                recipeIds.set(ordinal, recipeId);
+            }
+            recipeOrdinals.put(recipeId, ordinal);
+        }
+        liveRecipes.add(ordinal);
+        return ordinal;
+    }
+
+    private int ingredientOrdinalOf(UUID ingredientId) {
+        Integer ordinal = ingredientOrdinals.get(ingredientId);
+        if (ordinal == null) {
+            ordinal = recipesByIngredient.size();
+            ingredientOrdinals.put(ingredientId, ordinal);
+            recipesByIngredient.add(new RoaringBitmap());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Recipes containing every ingredient in {@code include} and none in {@code exclude}; callers hold the read lock.
+     */
+    private RoaringBitmap matchAll(Collection<UUID> include, Collection<UUID> exclude) {
+        List<RoaringBitmap> postings = new ArrayList<>();
+        for (UUID ingredientId : new HashSet<>(include)) {
+            RoaringBitmap bitmap = postingsOf(ingredientId);
+            if (bitmap == null || bitmap.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            postings.add(bitmap);
+        }
+        // Intersect the rarest ingredients first so the working set shrinks as fast as possible
+        postings.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+        RoaringBitmap result = postings.isEmpty() ? liveRecipes.clone() : postings.getFirst().clone();
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.and(postings.get(i));
+        }
+        if (exclude != null) {
+            for (UUID ingredientId : exclude) {
+                RoaringBitmap bitmap = postingsOf(ingredientId);
+                if (bitmap != null) {
+                    result.andNot(bitmap);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<UUID> toRecipeIds(RoaringBitmap bitmap) {
+        List<UUID> ids = new ArrayList<>(bitmap.getCardinality());
+        for (int ordinal : bitmap.toArray()) {
+            ids.add(recipeIds.get(ordinal));
+        }
+        return ids;
+    }
+}
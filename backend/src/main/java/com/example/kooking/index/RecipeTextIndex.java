@@ -0,0 +1,394 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over recipe names, descriptions and ingredient names, used by the
+ * {@code TEXT} search mode instead of a {@code lower(name) LIKE '%term%'} scan.
+ * <p>
+ * Every indexed word keeps one recipe bitmap per field. A trigram index over the vocabulary maps each
+ * query word to the indexed words it matches exactly, as a prefix, as a substring or within a small
+ * edit distance. Recipes must match every query word and are ranked by match quality, field weight
+ * and word rarity.
+ * <p>
+ * Recipe and ingredient changes only queue the affected recipes. A short scheduled tick reindexes the
+ * queue with one text and one ingredient-name query per batch, so a bulk import does not cost two
+ * queries per recipe on the request thread. Deleted recipes leave the index immediately.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeTextIndex {
+    private static final Logger log = LoggerFactory.getLogger(RecipeTextIndex.class);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TERMS = new String[0];
+
+    private static final int NAME = 0;
+    private static final int INGREDIENT = 1;
+    private static final int DESCRIPTION = 2;
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+    private static final int REINDEX_BATCH_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> recipeOrdinals = new HashMap<>();
+    private final List<UUID> recipeIds = new ArrayList<>();
+    private final List<String[]> termsByRecipe = new ArrayList<>();
+    private final RoaringBitmap liveRecipes = new RoaringBitmap();
+    // word -> recipes containing it, one bitmap per field
+    private final Map<String, RoaringBitmap[]> postings = new HashMap<>();
+    // trigram of the padded word -> vocabulary words containing it
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+    // Recipes to read back from the database on the next tick; a set, so a burst of writes to one recipe costs one read
+    private final Set<UUID> pendingReindex = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    /**
+     * A matching recipe and its relevance; higher is better.
+     */
+    public record Hit(UUID recipeId, double score) {
+    }
+
+    /**
+     * Serialized with {@link #reindexPending()}, so a batch read before the snapshot is never overwritten by it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<RecipeRepository.RecipeText> texts = recipeRepository.findAllTexts();
+        Map<UUID, List<String>> ingredientNames = recipeIngredientRepository.findAllIngredientNames().stream()
+                .collect(Collectors.groupingBy(RecipeIngredientRepository.IngredientName::getRecipeId,
+                        Collectors.mapping(RecipeIngredientRepository.IngredientName::getName, Collectors.toList())));
+
+        lock.writeLock().lock();
+        try {
+            recipeOrdinals.clear();
+            recipeIds.clear();
+            termsByRecipe.clear();
+            liveRecipes.clear();
+            postings.clear();
+            termsByGram.clear();
+
+            for (RecipeRepository.RecipeText text : texts) {
+                link(recipeOrdinalOf(text.getId()), text, ingredientNames.getOrDefault(text.getId(), List.of()));
+            }
+            postings.values().forEach(fields -> Arrays.stream(fields).forEach(RoaringBitmap::runOptimize));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Recipe text index built: {} recipes, {} words", texts.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            remove(event.recipeId());
+        }
+        // Also queued when deleted: a batch that read the recipe just before the delete is corrected by the next one
+        pendingReindex.add(event.recipeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        // Only a rename changes the ingredient words of the recipes that use it
+        if (event.type() == IngredientChangedEvent.ChangeType.RENAMED) {
+            pendingReindex.addAll(recipeIngredientRepository.findRecipeIdsByIngredientId(event.ingredientId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recipes.search.reindex-interval:PT1S}")
+    public synchronized void reindexPending() {
+        if (pendingReindex.isEmpty()) {
+            return;
+        }
+        List<UUID> recipeIdsToIndex = new ArrayList<>(pendingReindex);
+        pendingReindex.removeAll(recipeIdsToIndex);
+
+        for (int from = 0; from < recipeIdsToIndex.size(); from += REINDEX_BATCH_SIZE) {
+            List<UUID> batch = recipeIdsToIndex.subList(from, Math.min(from + REINDEX_BATCH_SIZE, recipeIdsToIndex.size()));
+            try {
+                reindex(batch);
+            } catch (RuntimeException e) {
+                // Retry on the next tick rather than leaving the recipes stale until a restart
+                log.warn("Failed to reindex {} recipes", batch.size(), e);
+                pendingReindex.addAll(batch);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns up to {@code limit} recipes matching every word of {@code query}, best match first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> words = tokenize(query).stream().distinct().toList();
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int recipeCount = recipeIds.size();
+            double[] scores = new double[recipeCount];
+            RoaringBitmap matchedAll = null;
+
+            for (String word : words) {
+                double[] best = new double[recipeCount];
+                RoaringBitmap matched = new RoaringBitmap();
+                for (Map.Entry<String, Double> term : matchingTerms(word).entrySet()) {
+                    RoaringBitmap[] fields = postings.get(term.getKey());
+                    double idf = Math.log(1.0 + (double) liveRecipes.getCardinality() / RoaringBitmap.or(fields).getCardinality());
+                    for (int field = 0; field < fields.length; field++) {
+                        double score = term.getValue() * FIELD_WEIGHTS[field] * idf;
+                        fields[field].forEach((int ordinal) -> best[ordinal] = Math.max(best[ordinal], score));
+                        matched.or(fields[field]);
+                    }
+                }
+                if (matched.isEmpty()) {
+                    return List.of();
+                }
+                matched.forEach((int ordinal) -> scores[ordinal] += best[ordinal]);
+                matchedAll = matchedAll == null ? matched : RoaringBitmap.and(matchedAll, matched);
+            }
+
+            List<Hit> hits = new ArrayList<>(matchedAll.getCardinality());
+            matchedAll.forEach((int ordinal) -> hits.add(new Hit(recipeIds.get(ordinal), scores[ordinal])));
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves a query word to the vocabulary words it matches, with a match quality in (0, 1].
+     */
+    private Map<String, Double> matchingTerms(String word) {
+        Map<String, Double> terms = new HashMap<>();
+        if (postings.containsKey(word)) {
+            terms.put(word, 1.0);
+        }
+        if (word.length() < 2) {
+            return terms;
+        }
+
+        List<String> grams = gramsOf(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : termsByGram.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        // Each edit breaks at most three trigrams, and a substring match only keeps the inner ones
+        int maxEdits = maxEditsFor(word);
+        int minShared = Math.max(1, grams.size() - Math.max(2, 3 * maxEdits));
+        shared.forEach((term, count) -> {
+            if (count < minShared || term.equals(word)) {
+                return;
+            }
+            double quality;
+            if (term.startsWith(word)) {
+                quality = 0.8;
+            } else if (word.length() >= 3 && term.contains(word)) {
+                quality = 0.6;
+            } else {
+                int distance = editDistance(word, term, maxEdits);
+                if (distance > maxEdits) {
+                    return;
+                }
+                quality = distance == 1 ? 0.6 : 0.4;
+            }
+            terms.merge(term, quality, Math::max);
+        });
+        return terms;
+    }
+
+    private void reindex(List<UUID> batch) {
+        Map<UUID, RecipeRepository.RecipeText> texts = recipeRepository.findTextsByIds(batch).stream()
+                .collect(Collectors.toMap(RecipeRepository.RecipeText::getId, text -> text));
+        Map<UUID, List<String>> ingredientNames = recipeIngredientRepository.findIngredientNamesByRecipeIds(batch).stream()
+                .collect(Collectors.groupingBy(RecipeIngredientRepository.IngredientName::getRecipeId,
+                        Collectors.mapping(RecipeIngredientRepository.IngredientName::getName, Collectors.toList())));
+
+        lock.writeLock().lock();
+        try {
+            for (UUID recipeId : batch) {
+                RecipeRepository.RecipeText text = texts.get(recipeId);
+                if (text == null) {
+                    remove(recipeId);
+                    continue;
+                }
+                int ordinal = recipeOrdinalOf(recipeId);
+                unlink(ordinal);
+                link(ordinal, text, ingredientNames.getOrDefault(recipeId, List.of()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID recipeId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = recipeOrdinals.get(recipeId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                liveRecipes.remove(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(int recipeOrdinal, RecipeRepository.RecipeText text, List<String> ingredientNames) {
+        Set<String> allTerms = new HashSet<>();
+        addTerms(recipeOrdinal, NAME, tokenize(text.getName()), allTerms);
+        addTerms(recipeOrdinal, INGREDIENT, ingredientNames.stream().flatMap(name -> tokenize(name).stream()).toList(), allTerms);
+        addTerms(recipeOrdinal, DESCRIPTION, tokenize(text.getDescription()), allTerms);
+        termsByRecipe.set(recipeOrdinal, allTerms.toArray(NO_TERMS));
+    }
+
+    private void addTerms(int recipeOrdinal, int field, List<String> terms, Set<String> allTerms) {
+        for (String term : terms) {
+            postings.computeIfAbsent(term, this::newTerm)[field].add(recipeOrdinal);
+            allTerms.add(term);
+        }
+    }
+
+    private RoaringBitmap[] newTerm(String term) {
+        for (String gram : gramsOf(term)) {
+            termsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+        }
+        return new RoaringBitmap[]{new RoaringBitmap(), new RoaringBitmap(), new RoaringBitmap()};
+    }
+
+    private void unlink(int recipeOrdinal) {
+        for (String term : termsByRecipe.get(recipeOrdinal)) {
+            RoaringBitmap[] fields = postings.get(term);
+            boolean unused = true;
+            for (RoaringBitmap field : fields) {
+                field.remove(recipeOrdinal);
+                unused &= field.isEmpty();
+            }
+            if (unused) {
+                postings.remove(term);
+                for (String gram : gramsOf(term)) {
+                    Set<String> terms = termsByGram.get(gram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        termsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+        termsByRecipe.set(recipeOrdinal, NO_TERMS);
+    }
+
+    private int recipeOrdinalOf(UUID recipeId) {
+        Integer ordinal = recipeOrdinals.get(recipeId);
+        if (ordinal == null) {
+            ordinal = recipeIds.size();
+            recipeOrdinals.put(recipeId, ordinal);
+            recipeIds.add(recipeId);
+            termsByRecipe.add(NO_TERMS);
+        }
+        liveRecipes.add(ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Lower-cases, strips accents and splits on anything that is not a letter or a digit.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Trigrams of the word padded with a boundary marker, so prefixes and short words produce grams too.
+     */
+    static List<String> gramsOf(String word) {
+        String padded = "$" + word + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    static int maxEditsFor(String word) {
+        if (word.length() <= 3) {
+            return 0;
+        }
+        return word.length() <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), giving up once it
+     * exceeds {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.kooking.jobs;
+
+import com.example.kooking.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds the per-recipe rating aggregates (sum, count, 1-5 histogram and average) from the reviews table.
+ * Review writes maintain them incrementally; this job repairs any drift and backfills rows that predate
+ * the aggregate columns.
+ */
+@Component
+@RequiredArgsConstructor
+public class RatingReconciliationJob {
+    private static final Logger log = LoggerFactory.getLogger(RatingReconciliationJob.class);
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recipes.ratings.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${recipes.ratings.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        Integer updated = transactionTemplate.execute(status -> recipeRepository.reconcileRatingAggregates());
+        log.info("Reconciled rating aggregates in {} ms, {} recipes had drifted", System.currentTimeMillis() - started, updated);
+    }
+}
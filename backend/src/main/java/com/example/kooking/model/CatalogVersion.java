@@ -0,0 +1,32 @@
+package com.example.kooking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version counter of a whole catalog (such as all ingredients), bumped in the same transaction as every
+ * write to it so cached reads of the catalog can be revalidated with one primary-key lookup.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+    public static final String INGREDIENTS = "ingredients";
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
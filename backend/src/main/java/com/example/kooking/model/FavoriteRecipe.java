@@ -12,7 +12,8 @@ import lombok.Builder;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "user_favorite_recipes")
+@Table(name = "user_favorite_recipes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_favorite_recipes_user_recipe", columnNames = {"user_id", "recipe_id"}))
 public class FavoriteRecipe {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -32,11 +32,10 @@ public class Ingredient {
     @Enumerated(EnumType.STRING)
     private IngredientCategory category;
 
-    @Lob
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Lob
+    @Column(columnDefinition = "TEXT")
     private String nutritionalValue;
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -3,9 +3,10 @@ package com.example.kooking.model;
 import com.example.kooking.enums.*;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,10 +22,18 @@ import java.util.UUID;
 @DynamicUpdate
 @AllArgsConstructor
 @NoArgsConstructor
-@DynamicInsert
 
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_popularity", columnList = "popularity"),
+        @Index(name = "idx_recipes_rating", columnList = "rating"),
+        @Index(name = "idx_recipes_author_created", columnList = "author_id, created_at")
+})
+@NamedEntityGraph(
+        name = "Recipe.detail",
+        attributeNodes = @NamedAttributeNode(value = "ingredients", subgraph = "ingredients"),
+        subgraphs = @NamedSubgraph(name = "ingredients", attributeNodes = @NamedAttributeNode("ingredient"))
+)
 
 public class Recipe {
     @Id
@@ -65,12 +74,42 @@ public class Recipe {
 
     private String imageUrl;
 
+    @Builder.Default
     @Column(nullable = false, precision = 2, scale = 1)
     private BigDecimal rating = BigDecimal.valueOf(0.0); // Default rating 0.0
 
     @Column(nullable = false)
     private int popularity = 0; // Default popularity score
 
+    // Review aggregates, maintained with atomic deltas by ReviewServiceImpl
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_1_count", nullable = false)
+    private long rating1Count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_2_count", nullable = false)
+    private long rating2Count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_3_count", nullable = false)
+    private long rating3Count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_4_count", nullable = false)
+    private long rating4Count;
+
+    @ColumnDefault("0")
+    @Column(name = "rating_5_count", nullable = false)
+    private long rating5Count;
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<FavoriteRecipe> favoritedByUsers = new HashSet<>();
 
@@ -78,6 +117,15 @@ public class Recipe {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Bumped by every write to the recipe, its counters or its reviews; the HTTP entity tag is built from it
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long revision;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -14,7 +14,10 @@ import java.util.UUID;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "recipe_ingredients")
+@Table(name = "recipe_ingredients", indexes = {
+        @Index(name = "idx_recipe_ingredients_ingredient_recipe", columnList = "ingredient_id, recipe_id"),
+        @Index(name = "idx_recipe_ingredients_recipe", columnList = "recipe_id")
+})
 public class RecipeIngredient {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -22,7 +22,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @DynamicInsert
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = @Index(name = "idx_reviews_recipe_created", columnList = "recipe_id, created_at"))
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
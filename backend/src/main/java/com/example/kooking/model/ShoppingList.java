@@ -3,12 +3,17 @@ package com.example.kooking.model;
 import com.example.kooking.enums.ShoppingStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -23,15 +28,21 @@ import java.util.UUID;
 @DynamicInsert
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Table(name = "shopping_lists")
+@NamedEntityGraph(
+        name = "ShoppingList.detail",
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("ingredients")}
+)
 public class ShoppingList {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Batch-fetched so mapping a page of lists costs one query per batch rather than one per list
+    @BatchSize(size = 50)
     @ManyToMany
     @JoinTable(
             name = "shopping_list_ingredients",
@@ -40,6 +51,23 @@ public class ShoppingList {
     )
     private Set<Ingredient> ingredients;
 
+    @Builder.Default
+    @BatchSize(size = 50)
+    @OneToMany(mappedBy = "shoppingList", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ShoppingListItem> items = new ArrayList<>();
+
+    @Builder.Default
+    @BatchSize(size = 50)
+    @ElementCollection
+    @CollectionTable(name = "shopping_list_checked_ingredients", joinColumns = @JoinColumn(name = "shopping_list_id"))
+    @Column(name = "ingredient_id", nullable = false)
+    private Set<UUID> checkedIngredientIds = new HashSet<>();
+
+    // Bumped by every write, always through a single UPDATE; delta sync clients compare against it
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ShoppingStatus status;
@@ -0,0 +1,48 @@
+package com.example.kooking.model;
+
+import com.example.kooking.enums.ShoppingListOperation;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One applied operation in a shopping list's change log, stamped with the list version it produced.
+ * Delta sync replays the entries above a client's version instead of sending the whole list.
+ */
+@Data
+@Entity
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "shopping_list_changes", indexes = {
+        @Index(name = "idx_shopping_list_changes_list_version", columnList = "shopping_list_id, version")
+})
+public class ShoppingListChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "shopping_list_id", nullable = false)
+    private UUID shoppingListId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ShoppingListOperation operation;
+
+    @Column(name = "ingredient_id", nullable = false)
+    private UUID ingredientId;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,17 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1, c.updatedAt = LOCAL DATETIME WHERE c.name = :name")
+    int increment(@Param("name") String name);
+}
@@ -6,8 +6,10 @@ import com.example.kooking.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +18,13 @@ public interface FavoriteRecipeRepository extends JpaRepository<FavoriteRecipe,
     boolean existsByUserAndRecipe(User user, Recipe recipe);
     Optional<FavoriteRecipe> findByUserAndRecipe(User user, Recipe recipe);
     Page<FavoriteRecipe> findByUser(User user, Pageable pageable);
+
+    interface FavoriteLink {
+        UUID getUserId();
+
+        UUID getRecipeId();
+    }
+
+    @Query("SELECT f.user.id AS userId, f.recipe.id AS recipeId FROM FavoriteRecipe f")
+    List<FavoriteLink> findAllFavoriteLinks();
 }
@@ -1,5 +1,6 @@
 package com.example.kooking.repository;
 
+import com.example.kooking.dto.IngredientBriefDto;
 import com.example.kooking.model.Ingredient;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
@@ -7,12 +8,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface IngredientRepository extends JpaRepository<Ingredient, UUID>, JpaSpecificationExecutor<Ingredient> {
     boolean existsByNameIgnoreCase(String name);
     @NotNull Page<Ingredient> findAll(Specification<Ingredient> spec, @NotNull Pageable pageable);
+
+    @Query("SELECT DISTINCT i.id FROM Ingredient i JOIN i.substitutes s WHERE s.id IN :substituteIds")
+    List<UUID> findIdsSubstitutableBy(@Param("substituteIds") Collection<UUID> substituteIds);
+
+    @Query("SELECT new com.example.kooking.dto.IngredientBriefDto(i.id, i.name, i.category) FROM Ingredient i")
+    List<IngredientBriefDto> findAllBriefs();
 }
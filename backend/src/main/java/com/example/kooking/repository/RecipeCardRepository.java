@@ -0,0 +1,33 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.model.Recipe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Card queries that select only the {@link RecipeCardDto} columns into DTOs, so list pages never
+ * hydrate {@link Recipe} entities or register them with the persistence context.
+ */
+public interface RecipeCardRepository {
+    Page<RecipeCardDto> findCards(Specification<Recipe> specification, Pageable pageable);
+
+    /**
+     * Same as {@link #findCards(Specification, Pageable)}, but takes the total from {@code totalSupplier}
+     * whenever the page alone cannot tell it. Whether a next page exists is decided by the rows, not by that
+     * total, so an approximate total never ends paging early.
+     */
+    Page<RecipeCardDto> findCards(Specification<Recipe> specification, Pageable pageable, LongSupplier totalSupplier);
+
+    List<RecipeCardDto> findCards(Specification<Recipe> specification, Sort sort, int limit);
+
+    long countCards(Specification<Recipe> specification);
+
+    List<UUID> findIds(Specification<Recipe> specification);
+}
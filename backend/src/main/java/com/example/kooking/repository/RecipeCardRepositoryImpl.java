@@ -0,0 +1,128 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.model.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+class RecipeCardRepositoryImpl implements RecipeCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<RecipeCardDto> findCards(Specification<Recipe> specification, Pageable pageable) {
+        return findCards(specification, pageable, () -> countCards(specification));
+    }
+
+    @Override
+    public Page<RecipeCardDto> findCards(Specification<Recipe> specification, Pageable pageable, LongSupplier totalSupplier) {
+        TypedQuery<RecipeCardDto> query = cardQuery(specification, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return PageableExecutionUtils.getPage(query.getResultList(), pageable, totalSupplier);
+        }
+
+        // One extra row tells whether a next page exists, whatever total the supplier reports
+        int pageSize = pageable.getPageSize();
+        List<RecipeCardDto> rows = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageSize;
+        List<RecipeCardDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        long seen = pageable.getOffset() + content.size();
+
+        // The count only runs when the page alone cannot tell the total
+        if (!hasNext && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(content, pageable, seen);
+        }
+        // A cached or estimated total may disagree with the rows; it must not end paging early or promise
+        // a page past the end
+        long total = totalSupplier.getAsLong();
+        return new PageImpl<>(content, pageable, hasNext ? Math.max(total, seen + 1) : Math.min(total, seen));
+    }
+
+    @Override
+    public List<RecipeCardDto> findCards(Specification<Recipe> specification, Sort sort, int limit) {
+        return cardQuery(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<UUID> findIds(Specification<Recipe> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = builder.createQuery(UUID.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(root.get("id"));
+        applySpecification(specification, root, query, builder);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private TypedQuery<RecipeCardDto> cardQuery(Specification<Recipe> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeCardDto> query = builder.createQuery(RecipeCardDto.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(builder.construct(RecipeCardDto.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("cuisine"),
+                root.get("mealType"),
+                root.get("cookingTime"),
+                root.get("dietType"),
+                root.get("cookingMethod"),
+                root.get("difficulty"),
+                root.get("imageUrl"),
+                root.get("rating"),
+                root.get("popularity"),
+                root.get("createdAt")));
+        applySpecification(specification, root, query, builder);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    @Override
+    public long countCards(Specification<Recipe> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(builder.count(root));
+        applySpecification(specification, root, query, builder);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(Specification<Recipe> specification, Root<Recipe> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder builder) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.model.RecipeIngredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, UUID> {
+
+    interface IngredientLink {
+        UUID getRecipeId();
+
+        UUID getIngredientId();
+    }
+
+    @Query("SELECT ri.recipe.id AS recipeId, ri.ingredient.id AS ingredientId FROM RecipeIngredient ri")
+    List<IngredientLink> findAllIngredientLinks();
+
+    interface IngredientUsage {
+        UUID getIngredientId();
+
+        long getRecipeCount();
+    }
+
+    @Query("SELECT ri.ingredient.id AS ingredientId, COUNT(DISTINCT ri.recipe.id) AS recipeCount " +
+            "FROM RecipeIngredient ri GROUP BY ri.ingredient.id")
+    List<IngredientUsage> countRecipesPerIngredient();
+
+    interface IngredientName {
+        UUID getRecipeId();
+
+        String getName();
+    }
+
+    @Query("SELECT ri.recipe.id AS recipeId, i.name AS name FROM RecipeIngredient ri JOIN ri.ingredient i")
+    List<IngredientName> findAllIngredientNames();
+
+    @Query("SELECT ri.recipe.id AS recipeId, i.name AS name FROM RecipeIngredient ri JOIN ri.ingredient i " +
+            "WHERE ri.recipe.id IN :recipeIds")
+    List<IngredientName> findIngredientNamesByRecipeIds(@Param("recipeIds") Collection<UUID> recipeIds);
+
+    @Query("SELECT DISTINCT ri.recipe.id FROM RecipeIngredient ri WHERE ri.ingredient.id = :ingredientId")
+    List<UUID> findRecipeIdsByIngredientId(@Param("ingredientId") UUID ingredientId);
+
+    interface IngredientLine {
+        UUID getRecipeId();
+
+        UUID getIngredientId();
+
+        Double getQuantity();
+
+        String getUnit();
+    }
+
+    /**
+     * Every ingredient line of the given recipes in one query. Recipes without ingredients still yield one row
+     * with a null ingredient, so a recipe that is absent from the result does not exist.
+     */
+    @Query("SELECT r.id AS recipeId, ri.ingredient.id AS ingredientId, ri.quantity AS quantity, ri.unit AS unit " +
+            "FROM Recipe r LEFT JOIN r.ingredients ri WHERE r.id IN :recipeIds")
+    List<IngredientLine> findIngredientLinesByRecipeIds(@Param("recipeIds") Collection<UUID> recipeIds);
+}
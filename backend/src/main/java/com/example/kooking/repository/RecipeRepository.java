@@ -1,5 +1,6 @@
 package com.example.kooking.repository;
 
+import com.example.kooking.dto.UserProfileDto;
 import com.example.kooking.enums.CuisineType;
 import com.example.kooking.enums.MealType;
 import com.example.kooking.model.Recipe;
@@ -8,15 +9,145 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, UUID>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository extends JpaRepository<Recipe, UUID>, JpaSpecificationExecutor<Recipe>, RecipeCardRepository {
+    String REVIEW_RATING_SUM = "COALESCE((SELECT SUM(v.rating) FROM Review v WHERE v.recipe = r), 0)";
+    String REVIEW_COUNT = "(SELECT COUNT(v) FROM Review v WHERE v.recipe = r)";
+    String REVIEW_COUNT_OF = "(SELECT COUNT(v) FROM Review v WHERE v.recipe = r AND v.rating = ";
+    String REVIEW_AVERAGE = "COALESCE((SELECT ROUND(SUM(v.rating) * 1.0bd / COUNT(v), 1) FROM Review v WHERE v.recipe = r), 0.0bd)";
+
+    /**
+     * Rebuilds the rating aggregates from the reviews. Only recipes whose stored aggregates drifted are
+     * written, so a reconciliation that finds nothing to repair leaves revisions, and therefore ETags, alone.
+     */
+    String RECONCILE_RATINGS = "UPDATE Recipe r SET " +
+            "r.ratingSum = " + REVIEW_RATING_SUM + ", " +
+            "r.ratingCount = " + REVIEW_COUNT + ", " +
+            "r.rating1Count = " + REVIEW_COUNT_OF + "1), " +
+            "r.rating2Count = " + REVIEW_COUNT_OF + "2), " +
+            "r.rating3Count = " + REVIEW_COUNT_OF + "3), " +
+            "r.rating4Count = " + REVIEW_COUNT_OF + "4), " +
+            "r.rating5Count = " + REVIEW_COUNT_OF + "5), " +
+            "r.rating = " + REVIEW_AVERAGE + ", " +
+            "r.revision = r.revision + 1, r.updatedAt = LOCAL DATETIME " +
+            "WHERE (r.ratingSum <> " + REVIEW_RATING_SUM +
+            " OR r.ratingCount <> " + REVIEW_COUNT +
+            " OR r.rating1Count <> " + REVIEW_COUNT_OF + "1)" +
+            " OR r.rating2Count <> " + REVIEW_COUNT_OF + "2)" +
+            " OR r.rating3Count <> " + REVIEW_COUNT_OF + "3)" +
+            " OR r.rating4Count <> " + REVIEW_COUNT_OF + "4)" +
+            " OR r.rating5Count <> " + REVIEW_COUNT_OF + "5)" +
+            " OR r.rating IS NULL OR r.rating <> " + REVIEW_AVERAGE + ")";
+
+    /**
+     * Revision columns of a recipe, enough to answer a conditional GET without loading it.
+     */
+    interface RecipeRevision {
+        long getRevision();
+
+        LocalDateTime getUpdatedAt();
+    }
+
     @NotNull Page<Recipe> findAll(Specification<Recipe> specification, @NotNull Pageable pageable);
     Page<Recipe> findByAuthor(User user, Pageable pageable);
     Page<Recipe> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @Query("SELECT r.id FROM Recipe r")
+    List<UUID> findAllIds();
+
+    interface RecipeText {
+        UUID getId();
+
+        String getName();
+
+        String getDescription();
+    }
+
+    @Query("SELECT r.id AS id, r.name AS name, r.description AS description FROM Recipe r")
+    List<RecipeText> findAllTexts();
+
+    @Query("SELECT r.id AS id, r.name AS name, r.description AS description FROM Recipe r WHERE r.id IN :ids")
+    List<RecipeText> findTextsByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Loads a recipe with its ingredient lines and their ingredients in a single statement.
+     * The author is left as a proxy; use {@link #findAuthorProfile(UUID)} for it.
+     */
+    @EntityGraph("Recipe.detail")
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findDetailById(@Param("id") UUID id);
+
+    /**
+     * Selects only the author columns the detail view shows, so the eager user associations
+     * (roles, preferences) are never loaded.
+     */
+    @Query("SELECT new com.example.kooking.dto.UserProfileDto(u.id, u.firstName, u.lastName, u.email) " +
+            "FROM Recipe r JOIN r.author u WHERE r.id = :id")
+    Optional<UserProfileDto> findAuthorProfile(@Param("id") UUID id);
+
+    @Query("SELECT r.revision AS revision, r.updatedAt AS updatedAt FROM Recipe r WHERE r.id = :id")
+    Optional<RecipeRevision> findRevisionById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.popularity = CASE WHEN r.popularity + :delta < 0 THEN 0 ELSE r.popularity + :delta END, " +
+            "r.revision = r.revision + 1, r.updatedAt = LOCAL DATETIME " +
+            "WHERE r.id = :id")
+    int adjustPopularity(@Param("id") UUID id, @Param("delta") int delta);
+
+    /**
+     * Marks a recipe as changed for HTTP caching when something it is served with changed, such as a review comment.
+     */
+    @Modifying
+    @Query("UPDATE Recipe r SET r.revision = r.revision + 1, r.updatedAt = LOCAL DATETIME WHERE r.id = :id")
+    int touch(@Param("id") UUID id);
+
+    /**
+     * Applies one review change to the rating aggregates in a single statement.
+     * {@code added}/{@code removed} are star values, or 0 when no review was added/removed.
+     * The SET expressions all read the pre-update row, so the average is computed from the new sum and count.
+     */
+    @Modifying
+    @Query("UPDATE Recipe r SET " +
+            "r.ratingSum = r.ratingSum + :added - :removed, " +
+            "r.ratingCount = r.ratingCount + :countDelta, " +
+            "r.rating1Count = r.rating1Count + CASE WHEN :added = 1 THEN 1 ELSE 0 END - CASE WHEN :removed = 1 THEN 1 ELSE 0 END, " +
+            "r.rating2Count = r.rating2Count + CASE WHEN :added = 2 THEN 1 ELSE 0 END - CASE WHEN :removed = 2 THEN 1 ELSE 0 END, " +
+            "r.rating3Count = r.rating3Count + CASE WHEN :added = 3 THEN 1 ELSE 0 END - CASE WHEN :removed = 3 THEN 1 ELSE 0 END, " +
+            "r.rating4Count = r.rating4Count + CASE WHEN :added = 4 THEN 1 ELSE 0 END - CASE WHEN :removed = 4 THEN 1 ELSE 0 END, " +
+            "r.rating5Count = r.rating5Count + CASE WHEN :added = 5 THEN 1 ELSE 0 END - CASE WHEN :removed = 5 THEN 1 ELSE 0 END, " +
+            "r.rating = CASE WHEN r.ratingCount + :countDelta > 0 " +
+            "THEN ROUND((r.ratingSum + :added - :removed) * 1.0bd / (r.ratingCount + :countDelta), 1) ELSE 0.0bd END, " +
+            "r.revision = r.revision + 1, r.updatedAt = LOCAL DATETIME " +
+            "WHERE r.id = :id")
+    int applyRatingDelta(@Param("id") UUID id, @Param("added") int added, @Param("removed") int removed,
+                         @Param("countDelta") int countDelta);
+
+    default void recordRatingChange(UUID id, int addedStars, int removedStars) {
+        int countDelta = (addedStars > 0 ? 1 : 0) - (removedStars > 0 ? 1 : 0);
+        applyRatingDelta(id, addedStars, removedStars, countDelta);
+    }
+
+    /**
+     * Rebuilds the rating aggregates of every recipe from its reviews; returns the number of recipes repaired.
+     */
+    @Modifying
+    @Query(RECONCILE_RATINGS)
+    int reconcileRatingAggregates();
+
+    @Modifying
+    @Query(RECONCILE_RATINGS + " AND r.id = :id")
+    int reconcileRatingAggregates(@Param("id") UUID id);
 }
@@ -0,0 +1,20 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.model.ShoppingListChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ShoppingListChangeRepository extends JpaRepository<ShoppingListChange, UUID> {
+    List<ShoppingListChange> findByShoppingListIdAndVersionGreaterThanOrderByVersionAsc(UUID shoppingListId, long version);
+
+    @Modifying
+    @Query("DELETE FROM ShoppingListChange c WHERE c.shoppingListId = :shoppingListId")
+    int deleteByShoppingListId(@Param("shoppingListId") UUID shoppingListId);
+}
@@ -1,8 +1,18 @@
 package com.example.kooking.repository;
 
+import com.example.kooking.dto.ShoppingListSummaryDto;
+import com.example.kooking.enums.ShoppingStatus;
 import com.example.kooking.model.ShoppingList;
 import com.example.kooking.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +23,86 @@ import java.util.UUID;
 public interface ShoppingListRepository extends JpaRepository<ShoppingList, UUID> {
     List<ShoppingList> findByUserOrderByCreatedAtDesc(User user);
     Optional<ShoppingList> findByIdAndUser(UUID id, User user);
+
+    /**
+     * Loads a list for a full-list write with its row locked. Sync writers lock the same row through the version
+     * update, so the ingredient set read afterwards cannot change before this transaction commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sl FROM ShoppingList sl WHERE sl.id = :id AND sl.user = :user")
+    Optional<ShoppingList> findForUpdateByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+
+    /**
+     * Loads one list with its owner and ingredient set in a single statement, for the detail view.
+     */
+    @EntityGraph("ShoppingList.detail")
+    @Query("SELECT sl FROM ShoppingList sl WHERE sl.id = :id AND sl.user = :user")
+    Optional<ShoppingList> findDetailByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+
+    /**
+     * One aggregate row per list, newest first; neither the owner nor the ingredients are materialized.
+     */
+    @Query(value = "SELECT new com.example.kooking.dto.ShoppingListSummaryDto(sl.id, sl.status, COUNT(i), sl.createdAt, sl.updatedAt) " +
+            "FROM ShoppingList sl LEFT JOIN sl.ingredients i WHERE sl.user = :user " +
+            "GROUP BY sl.id, sl.status, sl.createdAt, sl.updatedAt ORDER BY sl.createdAt DESC, sl.id DESC",
+            countQuery = "SELECT COUNT(sl) FROM ShoppingList sl WHERE sl.user = :user")
+    Page<ShoppingListSummaryDto> findSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Version and status of a list, enough to answer a delta sync request that has nothing to catch up on.
+     */
+    interface ListState {
+        long getVersion();
+
+        ShoppingStatus getStatus();
+    }
+
+    @Query("SELECT sl.version AS version, sl.status AS status FROM ShoppingList sl WHERE sl.id = :id AND sl.user = :user")
+    Optional<ListState> findStateByIdAndUser(@Param("id") UUID id, @Param("user") User user);
+
+    @Query("SELECT sl.version FROM ShoppingList sl WHERE sl.id = :id")
+    long findVersionById(@Param("id") UUID id);
+
+    /**
+     * Compare-and-set on the list version: succeeds only if nobody has written since {@code expected}.
+     * The updated row stays locked until commit, so concurrent writers on the same version serialize and all
+     * but the first get 0.
+     */
+    @Modifying
+    @Query("UPDATE ShoppingList sl SET sl.version = sl.version + :steps, sl.updatedAt = LOCAL DATETIME " +
+            "WHERE sl.id = :id AND sl.version = :expected")
+    int advanceVersion(@Param("id") UUID id, @Param("expected") long expected, @Param("steps") long steps);
+
+    @Modifying
+    @Query("UPDATE ShoppingList sl SET sl.version = sl.version + 1, sl.updatedAt = LOCAL DATETIME WHERE sl.id = :id")
+    int incrementVersion(@Param("id") UUID id);
+
+    // Targeted join-row writes; each returns 0 when the operation was already in effect
+
+    @Modifying
+    @Query(value = "INSERT INTO shopping_list_ingredients (shopping_list_id, ingredient_id) SELECT :id, :ingredientId " +
+            "WHERE NOT EXISTS (SELECT 1 FROM shopping_list_ingredients WHERE shopping_list_id = :id AND ingredient_id = :ingredientId)",
+            nativeQuery = true)
+    int insertIngredient(@Param("id") UUID id, @Param("ingredientId") UUID ingredientId);
+
+    @Modifying
+    @Query(value = "DELETE FROM shopping_list_ingredients WHERE shopping_list_id = :id AND ingredient_id = :ingredientId",
+            nativeQuery = true)
+    int deleteIngredient(@Param("id") UUID id, @Param("ingredientId") UUID ingredientId);
+
+    @Modifying
+    @Query(value = "INSERT INTO shopping_list_checked_ingredients (shopping_list_id, ingredient_id) SELECT :id, :ingredientId " +
+            "WHERE EXISTS (SELECT 1 FROM shopping_list_ingredients WHERE shopping_list_id = :id AND ingredient_id = :ingredientId) " +
+            "AND NOT EXISTS (SELECT 1 FROM shopping_list_checked_ingredients WHERE shopping_list_id = :id AND ingredient_id = :ingredientId)",
+            nativeQuery = true)
+    int insertCheck(@Param("id") UUID id, @Param("ingredientId") UUID ingredientId);
+
+    @Modifying
+    @Query(value = "DELETE FROM shopping_list_checked_ingredients WHERE shopping_list_id = :id AND ingredient_id = :ingredientId",
+            nativeQuery = true)
+    int deleteCheck(@Param("id") UUID id, @Param("ingredientId") UUID ingredientId);
+
+    @Modifying
+    @Query("DELETE FROM ShoppingListItem i WHERE i.shoppingList.id = :id AND i.ingredient.id = :ingredientId")
+    int deleteItems(@Param("id") UUID id, @Param("ingredientId") UUID ingredientId);
 }
\ No newline at end of file
@@ -4,7 +4,14 @@ import com.example.kooking.dto.LoginDto;
 import com.example.kooking.dto.RegisterDto;
 import com.example.kooking.dto.UserProfileDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
     UserProfileDto registerUser(RegisterDto registerDto);
-    String loginUser(LoginDto loginDto);
+
+    /**
+     * Checks the credentials off the request thread and completes with a JWT.
+     * Throttled or saturated attempts fail immediately with 429.
+     */
+    CompletableFuture<String> loginUser(LoginDto loginDto, String clientIp);
 }
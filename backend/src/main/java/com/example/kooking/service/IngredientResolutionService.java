@@ -0,0 +1,33 @@
+package com.example.kooking.service;
+
+import com.example.kooking.model.Ingredient;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface IngredientResolutionService {
+
+    /**
+     * Resolves a whole request's ingredient ids with at most one query. Callers decide how to report
+     * {@link Resolution#missing()} ids.
+     */
+    Resolution resolve(Collection<UUID> ingredientIds);
+
+    void evict(UUID ingredientId);
+
+    record Resolution(Map<UUID, Ingredient> found, Set<UUID> missing) {
+        public Ingredient get(UUID ingredientId) {
+            return found.get(ingredientId);
+        }
+
+        public Collection<Ingredient> ingredients() {
+            return found.values();
+        }
+
+        public boolean isComplete() {
+            return missing.isEmpty();
+        }
+    }
+}
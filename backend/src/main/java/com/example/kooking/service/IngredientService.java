@@ -1,7 +1,9 @@
 package com.example.kooking.service;
 
 import com.example.kooking.dto.CreateIngredientDto;
+import com.example.kooking.dto.IngredientBriefDto;
 import com.example.kooking.dto.IngredientDto;
+import com.example.kooking.dto.ResourceVersion;
 import com.example.kooking.dto.UpdateIngredientDto;
 import com.example.kooking.enums.IngredientCategory;
 import org.springframework.data.domain.Page;
@@ -15,8 +17,12 @@ public interface IngredientService {
 
     IngredientDto getIngredientById(UUID id);
 
+    ResourceVersion getCatalogVersion();
+
     List<IngredientCategory> getAllCategories();
 
+    List<IngredientBriefDto> suggestIngredients(String prefix, IngredientCategory category, int limit);
+
     List<IngredientDto> getIngredientSubstitutes(UUID id);
 
     @Transactional
@@ -0,0 +1,14 @@
+package com.example.kooking.service;
+
+import com.example.kooking.dto.RecipeImportResultDto;
+
+import java.io.InputStream;
+
+public interface RecipeImportService {
+
+    /**
+     * Imports newline-delimited JSON, one {@code CreateRecipeDto} per line, authored by the given user.
+     * Lines are committed in batches; a bad line is reported in the result and does not stop the import.
+     */
+    RecipeImportResultDto importRecipes(InputStream ndjson, String userEmail);
+}
@@ -1,18 +1,33 @@
 package com.example.kooking.service;
 
+import com.example.kooking.cache.RecipeFeedCache;
 import com.example.kooking.dto.*;
+import com.example.kooking.enums.AdvancedSearchPlan;
+import com.example.kooking.enums.RecipeFeed;
+import com.example.kooking.enums.RecipeSearchMode;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface RecipeService {
     Page<RecipeCardDto> getRecipes(int page, int size, String search, String sortBy, Sort.Direction direction);
 
+    Page<RecipeCardDto> getRecipes(int page, int size, String search, String sortBy, Sort.Direction direction, RecipeSearchMode searchMode);
+
+    CursorPageResponse<RecipeCardDto> getRecipesAfter(String cursor, int size, String search, String sortBy, Sort.Direction direction, boolean withTotal);
+
     Page<RecipeCardDto> advancedSearch(int page, int size, AdvancedRecipeFilterCriteria criteria, String sortBy, String sortDirection);
 
+    Page<RecipeCardDto> advancedSearch(int page, int size, AdvancedRecipeFilterCriteria criteria, String sortBy, String sortDirection, AdvancedSearchPlan plan);
+
+    CursorPageResponse<RecipeCardDto> advancedSearchAfter(String cursor, int size, AdvancedRecipeFilterCriteria criteria, String sortBy, String sortDirection, AdvancedSearchPlan plan, boolean withTotal);
+
+    Page<PantryMatchDto> searchByPantry(Set<UUID> pantry, boolean includeSubstitutes, double minCoverage, int page, int size);
+
     void favoriteRecipe(UUID id, String userEmail);
 
     void unfavoriteRecipe(UUID id, String userEmail);
@@ -23,10 +38,18 @@ public interface RecipeService {
 
     List<RecipeCardDto> getRecommendedRecipes();
 
+    RecipeFeedCache.Snapshot getFeed(RecipeFeed feed);
+
+    RecipeFeedCache.Snapshot getRecommendedFeed(String userEmail);
+
+    List<RecipeCardDto> getAlsoLikedRecipes(UUID recipeId, int limit);
+
     RecipeDetailDto getRecipeById(UUID recipeId);
 
     RecipeBriefDto getRecipeBrief(UUID id);
 
+    ResourceVersion getRecipeVersion(UUID id);
+
     void deleteRecipe(UUID id);
 
     RecipeDetailDto updateRecipe(UUID id, @Valid UpdateRecipeDto updateRecipeDto, String userEmail);
@@ -34,4 +57,6 @@ public interface RecipeService {
     RecipeDetailDto createRecipe(@Valid CreateRecipeDto createRecipeDto, String userEmail);
 
     Page<RecipeCardDto> getUserRecipes(int page, int size, String search, String cuisine, String mealType, String sort, String userEmail);
+
+    CursorPageResponse<RecipeCardDto> getUserRecipesAfter(String cursor, int size, String search, String cuisine, String mealType, String sort, boolean withTotal, String userEmail);
 }
\ No newline at end of file
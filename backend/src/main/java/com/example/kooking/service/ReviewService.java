@@ -1,6 +1,8 @@
 package com.example.kooking.service;
 
 import com.example.kooking.dto.CreateReviewDto;
+import com.example.kooking.dto.CursorPageResponse;
+import com.example.kooking.dto.ResourceVersion;
 import com.example.kooking.dto.ReviewDto;
 import com.example.kooking.dto.UpdateReviewDto;
 import com.example.kooking.model.Recipe;
@@ -13,6 +15,10 @@ import java.util.UUID;
 public interface ReviewService {
     Page<ReviewDto> getRecipeReviews(UUID recipeId, int page, int size);
 
+    CursorPageResponse<ReviewDto> getRecipeReviewsAfter(UUID recipeId, String cursor, int size, boolean withTotal);
+
+    ResourceVersion getRecipeReviewsVersion(UUID recipeId);
+
     ReviewDto createReview(UUID recipeId, CreateReviewDto createReviewDto, String userEmail);
 
     ReviewDto updateReview(UUID id, UpdateReviewDto updateReviewDto, String userEmail);
@@ -21,6 +27,8 @@ public interface ReviewService {
 
     Page<ReviewDto> getUserReviews(String userEmail, int page, int size);
 
+    CursorPageResponse<ReviewDto> getUserReviewsAfter(String userEmail, String cursor, int size, boolean withTotal);
+
     void updateRecipeRating(Recipe recipe);
 
     User findUserByEmail(String email);
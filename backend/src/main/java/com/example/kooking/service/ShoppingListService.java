@@ -1,7 +1,10 @@
 package com.example.kooking.service;
 
+import com.example.kooking.dto.BuildShoppingListDto;
 import com.example.kooking.dto.CreateShoppingListDto;
+import com.example.kooking.dto.ShoppingListDeltaDto;
 import com.example.kooking.dto.ShoppingListDto;
+import com.example.kooking.dto.ShoppingListSyncDto;
 import com.example.kooking.dto.UpdateShoppingListDto;
 import com.example.kooking.enums.ShoppingStatus;
 import com.example.kooking.model.Ingredient;
@@ -14,6 +17,8 @@ import java.util.UUID;
 public interface ShoppingListService {
     ShoppingListDto createShoppingList(CreateShoppingListDto createShoppingListDto, String userEmail);
 
+    ShoppingListDto buildShoppingListFromRecipes(BuildShoppingListDto buildShoppingListDto, String userEmail);
+
     ShoppingListDto updateShoppingList(UUID id, UpdateShoppingListDto updateShoppingListDto, String userEmail);
 
     ShoppingListDto updateShoppingListStatus(UUID id, ShoppingStatus status, String userEmail);
@@ -24,6 +29,10 @@ public interface ShoppingListService {
 
     ShoppingListDto removeIngredientFromShoppingList(UUID id, UUID ingredientId, String userEmail);
 
+    ShoppingListDeltaDto syncShoppingList(UUID id, ShoppingListSyncDto syncDto, String userEmail);
+
+    ShoppingListDeltaDto getShoppingListChanges(UUID id, long sinceVersion, String userEmail);
+
     User findUserByEmail(String email);
 
     ShoppingList findShoppingListByIdAndUser(UUID id, User user);
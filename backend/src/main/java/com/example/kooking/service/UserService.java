@@ -13,5 +13,7 @@ public interface UserService {
 
     Page<RecipeCardDto> getUserFavoriteRecipes(String userEmail, int page, int size);
 
+    CursorPageResponse<RecipeCardDto> getUserFavoriteRecipesAfter(String userEmail, String cursor, int size, boolean withTotal);
+
     Page<RecipeCardDto> getUserRecipes(String userEmail, int page, int size);
 }
@@ -1,6 +1,8 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.config.JwtService;
+import com.example.kooking.config.LoginThrottle;
+import com.example.kooking.config.PasswordVerifier;
 import com.example.kooking.dto.LoginDto;
 import com.example.kooking.dto.RegisterDto;
 import com.example.kooking.dto.UserProfileDto;
@@ -12,15 +14,14 @@ import com.example.kooking.service.AuthService;
 import com.example.kooking.utils.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +29,9 @@ public class AuthServiceImpl implements AuthService {
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final UserPreferencesRepository userPreferencesRepository;
-    private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
     private final JwtService jwtService;
 
     @Override
@@ -66,19 +68,31 @@ public class AuthServiceImpl implements AuthService {
 
 
     @Override
-    public String loginUser(LoginDto loginDto) {
+    public CompletableFuture<String> loginUser(LoginDto loginDto, String clientIp) {
+        if (!loginThrottle.tryAcquire(clientIp, loginDto.getEmail())) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later");
+        }
+
         User user = userRepository.findByEmail(loginDto.getEmail())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "User not found!"));
 
+        CompletableFuture<Boolean> passwordMatches;
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())
-            );
-        } catch (AuthenticationException ex) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid login credentials!");
+            passwordMatches = passwordVerifier.matches(loginDto.getPassword(), user.getPasswordHash());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Login service is busy, try again later");
         }
 
-        return jwtService.generateToken(user.getEmail());
+        return passwordMatches.thenApply(matches -> {
+            if (!matches) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid login credentials!");
+            }
+            // Transparently move the stored hash to the configured BCrypt strength
+            if (passwordVerifier.needsRehash(user.getPasswordHash())) {
+                userRepository.updatePasswordHash(user.getId(), passwordVerifier.encode(loginDto.getPassword()));
+            }
+            return jwtService.generateToken(user.getEmail());
+        });
     }
 
 }
@@ -0,0 +1,71 @@
+package com.example.kooking.service.impl;
+
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.service.IngredientResolutionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache over the ingredient catalog. The catalog is small and rarely changes, so every
+ * ingredient is kept once it has been requested; ids that do not exist are never cached.
+ * <p>
+ * Cached values are detached copies without the substitute associations. They are meant to be used as
+ * association targets and for reading scalar fields, never modified or navigated lazily.
+ */
+@Service
+@RequiredArgsConstructor
+public class IngredientResolutionServiceImpl implements IngredientResolutionService {
+    private final IngredientRepository ingredientRepository;
+
+    private final Map<UUID, Ingredient> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Resolution resolve(Collection<UUID> ingredientIds) {
+        Map<UUID, Ingredient> found = new LinkedHashMap<>();
+        Set<UUID> uncached = new LinkedHashSet<>();
+        for (UUID ingredientId : ingredientIds) {
+            Ingredient cached = cache.get(ingredientId);
+            if (cached != null) {
+                found.put(ingredientId, cached);
+            } else {
+                uncached.add(ingredientId);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (Ingredient ingredient : ingredientRepository.findAllById(uncached)) {
+                cache.put(ingredient.getId(), snapshotOf(ingredient));
+                found.put(ingredient.getId(), ingredient);
+                uncached.remove(ingredient.getId());
+            }
+        }
+
+        return new Resolution(found, uncached);
+    }
+
+    @Override
+    public void evict(UUID ingredientId) {
+        cache.remove(ingredientId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        evict(event.ingredientId());
+    }
+
+    private static Ingredient snapshotOf(Ingredient ingredient) {
+        return Ingredient.builder()
+                .id(ingredient.getId())
+                .name(ingredient.getName())
+                .category(ingredient.getCategory())
+                .description(ingredient.getDescription())
+                .nutritionalValue(ingredient.getNutritionalValue())
+                .build();
+    }
+}
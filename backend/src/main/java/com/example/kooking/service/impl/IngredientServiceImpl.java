@@ -1,19 +1,25 @@
 package com.example.kooking.service.impl;
 
+import com.example.kooking.cache.CatalogVersionTracker;
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.index.IngredientSuggestIndex;
 import com.example.kooking.service.IngredientService;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import com.example.kooking.model.Ingredient;
 import com.example.kooking.repository.IngredientRepository;
 import com.example.kooking.utils.IngredientMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,6 +30,9 @@ public class IngredientServiceImpl implements IngredientService {
 
     private final IngredientRepository ingredientRepository;
     private final IngredientMapper ingredientMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngredientSuggestIndex ingredientSuggestIndex;
+    private final CatalogVersionTracker catalogVersionTracker;
 
     @Override
     public Page<IngredientDto> getAllIngredients(int page, int size, String search, IngredientCategory category) {
@@ -51,11 +60,24 @@ public class IngredientServiceImpl implements IngredientService {
         return ingredientMapper.ingredientToIngredientDto(ingredient);
     }
 
+    @Override
+    public ResourceVersion getCatalogVersion() {
+        return catalogVersionTracker.ingredientsVersion();
+    }
+
     @Override
     public List<IngredientCategory> getAllCategories() {
         return Arrays.asList(IngredientCategory.values());
     }
 
+    @Override
+    public List<IngredientBriefDto> suggestIngredients(String prefix, IngredientCategory category, int limit) {
+        if (!ingredientSuggestIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Ingredient index is still loading, please retry shortly");
+        }
+        return ingredientSuggestIndex.suggest(prefix, category, Math.clamp(limit, 1, IngredientSuggestIndex.MAX_SUGGESTIONS));
+    }
+
     @Override
     public List<IngredientDto> getIngredientSubstitutes(UUID id) {
         Ingredient ingredient = findIngredientById(id);
@@ -78,6 +100,7 @@ public class IngredientServiceImpl implements IngredientService {
         ingredient.setSubstituteFor(new HashSet<>());
 
         Ingredient savedIngredient = ingredientRepository.save(ingredient);
+        eventPublisher.publishEvent(IngredientChangedEvent.created(savedIngredient.getId()));
         return ingredientMapper.ingredientToIngredientDto(savedIngredient);
     }
 
@@ -92,8 +115,10 @@ public class IngredientServiceImpl implements IngredientService {
             throw new IllegalArgumentException("Ingredient with name " + updateIngredientDto.getName() + " already exists");
         }
 
+        boolean renamed = !ingredient.getName().equals(updateIngredientDto.getName());
         ingredientMapper.updateIngredientFromDto(updateIngredientDto, ingredient);
         Ingredient updatedIngredient = ingredientRepository.save(ingredient);
+        eventPublisher.publishEvent(renamed ? IngredientChangedEvent.renamed(id) : IngredientChangedEvent.updated(id));
         return ingredientMapper.ingredientToIngredientDto(updatedIngredient);
     }
 
@@ -112,6 +137,7 @@ public class IngredientServiceImpl implements IngredientService {
         }
 
         ingredientRepository.delete(ingredient);
+        eventPublisher.publishEvent(IngredientChangedEvent.deleted(id));
     }
 
     @Override
@@ -129,6 +155,8 @@ public class IngredientServiceImpl implements IngredientService {
 
         ingredientRepository.save(ingredient);
         ingredientRepository.save(substitute);
+        eventPublisher.publishEvent(IngredientChangedEvent.substitutesChanged(id));
+        eventPublisher.publishEvent(IngredientChangedEvent.substitutesChanged(substituteId));
 
         return ingredientMapper.ingredientToIngredientDto(ingredient);
     }
@@ -144,6 +172,8 @@ public class IngredientServiceImpl implements IngredientService {
 
         ingredientRepository.save(ingredient);
         ingredientRepository.save(substitute);
+        eventPublisher.publishEvent(IngredientChangedEvent.substitutesChanged(id));
+        eventPublisher.publishEvent(IngredientChangedEvent.substitutesChanged(substituteId));
 
         return ingredientMapper.ingredientToIngredientDto(ingredient);
     }
@@ -0,0 +1,195 @@
+package com.example.kooking.service.impl;
+
+import com.example.kooking.dto.CreateRecipeDto;
+import com.example.kooking.dto.RecipeImportResultDto;
+import com.example.kooking.dto.RecipeIngredientDto;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.User;
+import com.example.kooking.repository.RecipeRepository;
+import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.IngredientResolutionService;
+import com.example.kooking.service.RecipeImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON body line by line and persists recipes in batches, one transaction per batch.
+ * Ingredients are resolved once per batch, and the recipe and recipe_ingredients inserts are sent as
+ * JDBC batches (see {@code hibernate.jdbc.batch_size} and {@code hibernate.order_inserts}).
+ * <p>
+ * If a batch fails to commit, its lines are retried one at a time so that only the offending lines are
+ * reported as errors.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecipeImportServiceImpl implements RecipeImportService {
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportServiceImpl.class);
+
+    private final RecipeRepository recipeRepository;
+    private final UserRepository userRepository;
+    private final IngredientResolutionService ingredientResolutionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${recipes.import.batch-size:500}")
+    private int batchSize = 500;
+
+    private record ImportLine(long line, CreateRecipeDto recipe) {
+    }
+
+    @Override
+    public RecipeImportResultDto importRecipes(InputStream ndjson, String userEmail) {
+        User author = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        RecipeImportResultDto result = RecipeImportResultDto.builder().build();
+        long started = System.currentTimeMillis();
+
+        List<ImportLine> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportLine parsed = parse(lineNumber, line, result);
+                if (parsed != null) {
+                    batch.add(parsed);
+                }
+                if (batch.size() >= batchSize) {
+                    importBatch(batch, author, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import body", e);
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, author, result);
+        }
+
+        log.info("Imported {} recipes ({} failed) in {} ms", result.getImported(), result.getFailed(),
+                System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private ImportLine parse(long lineNumber, String line, RecipeImportResultDto result) {
+        CreateRecipeDto recipe;
+        try {
+            recipe = objectMapper.readValue(line, CreateRecipeDto.class);
+        } catch (JsonProcessingException e) {
+            fail(result, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateRecipeDto>> violations = validator.validate(recipe);
+        if (!violations.isEmpty()) {
+            fail(result, lineNumber, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        if (recipe.getIngredients() != null && recipe.getIngredients().stream().anyMatch(i -> i.getIngredientId() == null)) {
+            fail(result, lineNumber, "Ingredient id is required");
+            return null;
+        }
+        return new ImportLine(lineNumber, recipe);
+    }
+
+    private void importBatch(List<ImportLine> batch, User author, RecipeImportResultDto result) {
+        IngredientResolutionService.Resolution ingredients = ingredientResolutionService.resolve(batch.stream()
+                .flatMap(line -> ingredientIdsOf(line.recipe()).stream())
+                .collect(Collectors.toSet()));
+
+        List<ImportLine> resolved = new ArrayList<>(batch.size());
+        for (ImportLine line : batch) {
+            List<String> missing = ingredientIdsOf(line.recipe()).stream()
+                    .filter(ingredients.missing()::contains)
+                    .map(UUID::toString)
+                    .toList();
+            if (missing.isEmpty()) {
+                resolved.add(line);
+            } else {
+                fail(result, line.line(), "Ingredient not found with id: " + String.join(", ", missing));
+            }
+        }
+        if (resolved.isEmpty()) {
+            return;
+        }
+
+        try {
+            persist(resolved, author, ingredients);
+            result.setImported(result.getImported() + resolved.size());
+        } catch (RuntimeException batchFailure) {
+            if (resolved.size() == 1) {
+                fail(result, resolved.getFirst().line(), batchFailure.getMessage());
+                return;
+            }
+            for (ImportLine line : resolved) {
+                try {
+                    persist(List.of(line), author, ingredients);
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException e) {
+                    fail(result, line.line(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(List<ImportLine> lines, User author, IngredientResolutionService.Resolution ingredients) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Recipe> recipes = lines.stream()
+                        .map(line -> RecipeServiceImpl.newRecipe(line.recipe(), author, ingredients))
+                        .toList();
+                recipeRepository.saveAll(recipes);
+                recipes.forEach(recipe -> eventPublisher.publishEvent(
+                        RecipeChangedEvent.created(recipe.getId(), RecipeServiceImpl.ingredientIdsOf(recipe))));
+            });
+        } finally {
+            // The request-scoped persistence context would otherwise keep every imported recipe managed
+            entityManager.clear();
+        }
+    }
+
+    private static Set<UUID> ingredientIdsOf(CreateRecipeDto recipe) {
+        if (recipe.getIngredients() == null) {
+            return Set.of();
+        }
+        return recipe.getIngredients().stream()
+                .map(RecipeIngredientDto::getIngredientId)
+                .collect(Collectors.toSet());
+    }
+
+    private static void fail(RecipeImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        result.getErrors().add(new RecipeImportResultDto.LineError(line, message));
+    }
+}
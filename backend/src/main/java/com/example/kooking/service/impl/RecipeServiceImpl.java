@@ -1,30 +1,52 @@
 package com.example.kooking.service.impl;
 
+import com.example.kooking.cache.CatalogVersionTracker;
+import com.example.kooking.cache.PageCountCache;
+import com.example.kooking.cache.PreferenceProfileCache;
+import com.example.kooking.cache.RecipeFeedCache;
+import com.example.kooking.cache.RecipePopularityCounter;
 import com.example.kooking.dto.*;
+import com.example.kooking.enums.AdvancedSearchPlan;
+import com.example.kooking.enums.CountStrategy;
 import com.example.kooking.enums.CuisineType;
 import com.example.kooking.enums.MealType;
+import com.example.kooking.enums.RecipeFeed;
+import com.example.kooking.enums.RecipeSearchMode;
 import com.example.kooking.enums.Season;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import com.example.kooking.index.CoFavoriteIndex;
+import com.example.kooking.index.RecipeIngredientIndex;
+import com.example.kooking.index.RecipeTextIndex;
 import com.example.kooking.model.*;
 import com.example.kooking.repository.FavoriteRecipeRepository;
 import com.example.kooking.repository.IngredientRepository;
 import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.IngredientResolutionService;
 import com.example.kooking.service.RecipeService;
+import com.example.kooking.utils.KeysetCursor;
+import com.example.kooking.utils.PreferenceProfile;
 import com.example.kooking.utils.RecipeMapper;
 import com.example.kooking.utils.RecipeSpecification;
 import com.example.kooking.utils.RecipeUtility;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -33,34 +55,104 @@ import com.example.kooking.dto.RecipeCardDto;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 @Service
 @RequiredArgsConstructor
 public class RecipeServiceImpl implements RecipeService {
+    /**
+     * Sort fields a recipe cursor can seek on, with the key type and where the key is read from a card.
+     */
+    private static final Map<String, CursorKey> CURSOR_KEYS = Map.of(
+            "name", new CursorKey(String.class, RecipeCardDto::getName),
+            "cookingTime", new CursorKey(Integer.class, RecipeCardDto::getCookingTime),
+            "rating", new CursorKey(BigDecimal.class, RecipeCardDto::getRating),
+            "popularity", new CursorKey(Integer.class, RecipeCardDto::getPopularity),
+            "createdAt", new CursorKey(LocalDateTime.class, RecipeCardDto::getCreatedAt)
+    );
+
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
     private final FavoriteRecipeRepository favoriteRecipeRepository;
     private final UserRepository userRepository;
     private final IngredientRepository ingredientRepository;
+    private final IngredientResolutionService ingredientResolutionService;
     private final RecipeUtility recipeUtility;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeTextIndex recipeTextIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeFeedCache recipeFeedCache;
+    private final RecipePopularityCounter recipePopularityCounter;
+    private final PageCountCache pageCountCache;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final PreferenceProfileCache preferenceProfileCache;
+    private final CoFavoriteIndex coFavoriteIndex;
+
+    @Value("${recipes.advanced-search.plan:INGREDIENT_INDEX}")
+    private AdvancedSearchPlan defaultAdvancedSearchPlan = AdvancedSearchPlan.INGREDIENT_INDEX;
+
+    @Value("${recipes.advanced-search.max-index-candidates:1000}")
+    private int maxIndexCandidates = 1000;
+
+    @Value("${recipes.search.mode:LIKE}")
+    private RecipeSearchMode defaultSearchMode = RecipeSearchMode.LIKE;
+
+    @Value("${recipes.search.max-hits:1000}")
+    private int maxTextHits = 1000;
+
+    @Value("${recipes.count.strategy:EXACT}")
+    private CountStrategy countStrategy = CountStrategy.EXACT;
+
+    @Value("${recipes.recommendations.candidate-pool-size:200}")
+    private int recommendationPoolSize = 200;
 
     @Override
     public Page<RecipeCardDto> getRecipes(int page, int size, String search, String sortBy, Sort.Direction direction) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        return getRecipes(page, size, search, sortBy, direction, defaultSearchMode);
+    }
 
-        Page<Recipe> recipePage;
-        if (search != null && !search.trim().isEmpty()) {
-            recipePage = recipeRepository.findByNameContainingIgnoreCase(search, pageable);
-        } else {
-            recipePage = recipeRepository.findAll(pageable);
+    @Override
+    public Page<RecipeCardDto> getRecipes(int page, int size, String search, String sortBy, Sort.Direction direction,
+                                          RecipeSearchMode searchMode) {
+        if (search != null && !search.trim().isEmpty() && searchModeFor(searchMode) == RecipeSearchMode.TEXT) {
+            return textSearch(search, null, PageRequest.of(page, size));
         }
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+
+        Specification<Recipe> spec = search != null && !search.trim().isEmpty()
+                ? RecipeSpecification.nameContains(search)
+                : null;
+        // Without a search term the listing covers every recipe the ingredient index holds
+        LongSupplier estimate = spec == null && countStrategy == CountStrategy.ESTIMATED && recipeIngredientIndex.isReady()
+                ? recipeIngredientIndex::recipeCount
+                : null;
 
-        return recipePage.map(recipeMapper::recipeToRecipeCardDto);
+        return findCountedCards(spec, pageable, "recipes|" + (spec == null ? "" : search.toLowerCase()), estimate);
+    }
+
+    @Override
+    public CursorPageResponse<RecipeCardDto> getRecipesAfter(String cursor, int size, String search, String sortBy,
+                                                             Sort.Direction direction, boolean withTotal) {
+        // Relevance ranking has no stable seek key, so cursor pages always match the name with LIKE
+        Specification<Recipe> spec = search != null && !search.trim().isEmpty()
+                ? RecipeSpecification.nameContains(search)
+                : null;
+
+        return cardsAfter(spec, sortBy, direction, cursor, size, withTotal);
     }
 
     @Override
     public Page<RecipeCardDto> advancedSearch(int page, int size, AdvancedRecipeFilterCriteria criteria, String sortBy, String sortDirection) {
+        return advancedSearch(page, size, criteria, sortBy, sortDirection, defaultAdvancedSearchPlan);
+    }
+
+    @Override
+    public Page<RecipeCardDto> advancedSearch(int page, int size, AdvancedRecipeFilterCriteria criteria, String sortBy,
+                                              String sortDirection, AdvancedSearchPlan plan) {
         Map<String, String> sortFieldMappings = Map.of(
                 "name", "name",
                 "difficulty", "difficulty",
@@ -78,10 +170,260 @@ public class RecipeServiceImpl implements RecipeService {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection.toUpperCase()), entitySortField);
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Specification<Recipe> specification = RecipeSpecification.advancedFilterByCriteria(criteria);
-        Page<Recipe> recipePage = recipeRepository.findAll(specification, pageable);
+        // The attribute specification skips the LIKE predicate when the search term goes to the text index
+        boolean useTextIndex = criteria.getSearch() != null && !criteria.getSearch().trim().isEmpty()
+                && searchModeFor(criteria.getSearchMode()) == RecipeSearchMode.TEXT;
 
-        return recipePage.map(recipeMapper::recipeToRecipeCardDto);
+        Optional<Specification<Recipe>> specification = advancedSearchFilters(criteria,
+                useTextIndex ? RecipeSearchMode.TEXT : RecipeSearchMode.LIKE, plan);
+        if (specification.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        if (useTextIndex) {
+            return textSearch(criteria.getSearch(), specification.get(), PageRequest.of(page, size));
+        }
+        return findCountedCards(specification.get(), pageable, "advanced|" + attributeKey(criteria) + "|" + ingredientKey(criteria),
+                advancedSearchEstimate(criteria));
+    }
+
+    @Override
+    public CursorPageResponse<RecipeCardDto> advancedSearchAfter(String cursor, int size, AdvancedRecipeFilterCriteria criteria,
+                                                                 String sortBy, String sortDirection, AdvancedSearchPlan plan,
+                                                                 boolean withTotal) {
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
+
+        return advancedSearchFilters(criteria, RecipeSearchMode.LIKE, plan)
+                .map(filters -> cardsAfter(filters, sortBy, direction, cursor, size, withTotal))
+                .orElseGet(() -> CursorPageResponse.empty(size, withTotal));
+    }
+
+    /**
+     * Attribute and ingredient filters of an advanced search, or empty when the ingredient plan already rules out every recipe.
+     */
+    private Optional<Specification<Recipe>> advancedSearchFilters(AdvancedRecipeFilterCriteria criteria, RecipeSearchMode searchMode,
+                                                                  AdvancedSearchPlan plan) {
+        Specification<Recipe> specification = RecipeSpecification.advancedFilterByAttributes(criteria, searchMode);
+        if (hasIngredientFilters(criteria)) {
+            Specification<Recipe> ingredientFilter = ingredientFilterFor(criteria, plan != null ? plan : defaultAdvancedSearchPlan);
+            if (ingredientFilter == null) {
+                return Optional.empty();
+            }
+            specification = specification.and(ingredientFilter);
+        }
+        return Optional.of(specification);
+    }
+
+    /**
+     * Fetches a page of cards, taking its total from the configured {@link CountStrategy} when the page alone
+     * cannot tell it. {@code countKey} identifies the normalized filters of {@code spec} in the count cache.
+     */
+    private Page<RecipeCardDto> findCountedCards(Specification<Recipe> spec, Pageable pageable, String countKey, LongSupplier estimate) {
+        if (countStrategy == CountStrategy.EXACT) {
+            return recipeRepository.findCards(spec, pageable);
+        }
+
+        AtomicReference<PageCountCache.Count> count = new AtomicReference<>();
+        Page<RecipeCardDto> page = recipeRepository.findCards(spec, pageable, () -> {
+            count.set(countStrategy == CountStrategy.ESTIMATED && estimate != null
+                    ? new PageCountCache.Count(estimate.getAsLong(), false)
+                    : pageCountCache.get(countKey, () -> recipeRepository.countCards(spec)));
+            return count.get().total();
+        });
+        boolean exact = count.get() == null || count.get().exact();
+        return new CountedPage<>(page.getContent(), pageable, page.getTotalElements(), exact);
+    }
+
+    /**
+     * Estimates an advanced search total from the ingredient index, or returns {@code null} when it cannot.
+     * Attribute filters are assumed independent of the ingredients: the index cardinality is scaled by the
+     * share of recipes they match, which is counted once per attribute combination and cached.
+     */
+    private LongSupplier advancedSearchEstimate(AdvancedRecipeFilterCriteria criteria) {
+        if (countStrategy != CountStrategy.ESTIMATED || !recipeIngredientIndex.isReady()) {
+            return null;
+        }
+        return () -> {
+            List<UUID> include = criteria.getIncludeIngredients() != null ? criteria.getIncludeIngredients() : List.of();
+            long candidates = recipeIngredientIndex.countRecipesWithAll(include, criteria.getExcludeIngredients());
+            int recipes = recipeIngredientIndex.recipeCount();
+            if (candidates == 0 || recipes == 0) {
+                return 0;
+            }
+            Specification<Recipe> attributes = RecipeSpecification.advancedFilterByAttributes(criteria);
+            long matching = pageCountCache.get("advanced|" + attributeKey(criteria) + "|",
+                    () -> recipeRepository.countCards(attributes)).total();
+            return Math.round((double) candidates * matching / recipes);
+        };
+    }
+
+    /**
+     * Normalized attribute filters of an advanced search: the same key for any order of the selected values.
+     */
+    private static String attributeKey(AdvancedRecipeFilterCriteria criteria) {
+        String search = criteria.getSearch() != null && !criteria.getSearch().trim().isEmpty()
+                ? criteria.getSearch().toLowerCase()
+                : "";
+        return String.join("|", search, String.valueOf(criteria.getMaxCookingTime()),
+                normalized(criteria.getCuisines()), normalized(criteria.getMealTypes()), normalized(criteria.getDietTypes()),
+                normalized(criteria.getCookingMethods()), normalized(criteria.getDifficulties()));
+    }
+
+    private static String ingredientKey(AdvancedRecipeFilterCriteria criteria) {
+        return normalized(criteria.getIncludeIngredients()) + "|" + normalized(criteria.getExcludeIngredients());
+    }
+
+    private static String normalized(Collection<?> values) {
+        if (values == null) {
+            return "";
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Fetches the cards after {@code cursor} with one seek query over {@code (sortBy, id)}, reading one extra row to
+     * tell whether another page follows. The total is a separate count and only runs when asked for.
+     */
+    private CursorPageResponse<RecipeCardDto> cardsAfter(Specification<Recipe> filters, String sortBy, Sort.Direction direction,
+                                                         String cursor, int size, boolean withTotal) {
+        CursorKey key = CURSOR_KEYS.get(sortBy);
+        if (key == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination is not supported when sorting by " + sortBy);
+        }
+
+        Specification<Recipe> spec = Specification.where(filters);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(KeysetCursor.decode(cursor, sortBy, direction, key.type()).toSpecification());
+        }
+        List<RecipeCardDto> rows = recipeRepository.findCards(spec, KeysetCursor.sort(sortBy, direction), KeysetCursor.fetchSize(size));
+        Long total = withTotal ? recipeRepository.countCards(filters) : null;
+
+        return CursorPageResponse.from(rows, size,
+                card -> new KeysetCursor(sortBy, direction, key.extractor().apply(card), card.getId()), total);
+    }
+
+    private record CursorKey(Class<?> type, Function<RecipeCardDto, Comparable<?>> extractor) {
+    }
+
+    /**
+     * The requested search mode, or the configured default; TEXT falls back to LIKE until the text index is built.
+     */
+    private RecipeSearchMode searchModeFor(RecipeSearchMode requested) {
+        RecipeSearchMode mode = requested != null ? requested : defaultSearchMode;
+        return mode == RecipeSearchMode.TEXT && !recipeTextIndex.isReady() ? RecipeSearchMode.LIKE : mode;
+    }
+
+    /**
+     * Ranks the search term in the text index and keeps the hits that also satisfy {@code filters}, which are
+     * checked with a single id query. Pages are ordered by relevance, not by the requested sort. The total is
+     * marked inexact when the index stopped at {@code recipes.search.max-hits}.
+     */
+    private Page<RecipeCardDto> textSearch(String search, Specification<Recipe> filters, Pageable pageable) {
+        List<UUID> rankedIds = recipeTextIndex.search(search, maxTextHits).stream()
+                .map(RecipeTextIndex.Hit::recipeId)
+                .toList();
+        boolean exact = rankedIds.size() < maxTextHits;
+        if (!rankedIds.isEmpty() && filters != null) {
+            Set<UUID> matching = new HashSet<>(recipeRepository.findIds(filters.and(RecipeSpecification.idIn(rankedIds))));
+            rankedIds = rankedIds.stream().filter(matching::contains).toList();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<UUID> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new CountedPage<>(List.of(), pageable, rankedIds.size(), exact);
+        }
+
+        Map<UUID, RecipeCardDto> cardsById = recipeRepository.findCards(RecipeSpecification.idIn(pageIds), Sort.unsorted(), pageIds.size())
+                .stream()
+                .collect(Collectors.toMap(RecipeCardDto::getId, card -> card));
+        List<RecipeCardDto> content = pageIds.stream()
+                .map(cardsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CountedPage<>(content, pageable, rankedIds.size(), exact);
+    }
+
+    /**
+     * Builds the include/exclude ingredient predicate for the requested plan, or returns
+     * {@code null} when the plan can already tell that nothing matches.
+     */
+    private Specification<Recipe> ingredientFilterFor(AdvancedRecipeFilterCriteria criteria, AdvancedSearchPlan plan) {
+        List<UUID> include = criteria.getIncludeIngredients();
+        List<UUID> exclude = criteria.getExcludeIngredients();
+
+        if (plan == AdvancedSearchPlan.INGREDIENT_INDEX && !recipeIngredientIndex.isReady()) {
+            plan = AdvancedSearchPlan.GROUP_BY;
+        }
+
+        switch (plan) {
+            case EXISTS_SUBQUERIES:
+                return RecipeSpecification.ingredientExists(include, exclude);
+            case GROUP_BY:
+                return RecipeSpecification.ingredientMatch(include, exclude);
+            case INGREDIENT_INDEX:
+            default:
+                // Binding every recipe that has an excluded ingredient would grow with the catalog; one anti-join does not
+                if (include == null || include.isEmpty()) {
+                    return RecipeSpecification.ingredientMatch(null, exclude);
+                }
+                // Resolve the ingredient filters in memory and fetch the page with a single id predicate,
+                // unless there are more candidates than are reasonable to bind
+                List<UUID> candidateIds = recipeIngredientIndex.findRecipesWithAll(include, exclude);
+                if (candidateIds.isEmpty()) {
+                    return null;
+                }
+                return candidateIds.size() <= maxIndexCandidates
+                        ? RecipeSpecification.idIn(candidateIds)
+                        : RecipeSpecification.ingredientMatch(include, exclude);
+        }
+    }
+
+    @Override
+    public Page<PantryMatchDto> searchByPantry(Set<UUID> pantry, boolean includeSubstitutes, double minCoverage, int page, int size) {
+        if (!recipeIngredientIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Recipe index is still loading, please retry shortly");
+        }
+        Pageable pageable = PageRequest.of(page, size);
+
+        // An ingredient line also counts as covered when the pantry holds one of its substitutes
+        Set<UUID> available = new HashSet<>(pantry);
+        if (includeSubstitutes && !pantry.isEmpty()) {
+            available.addAll(ingredientRepository.findIdsSubstitutableBy(pantry));
+        }
+
+        List<RecipeIngredientIndex.PantryMatch> matches = recipeIngredientIndex.scorePantry(available, minCoverage);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + size, matches.size());
+        List<RecipeIngredientIndex.PantryMatch> pageMatches = matches.subList(from, to);
+        if (pageMatches.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+
+        List<UUID> pageIds = pageMatches.stream()
+                .map(RecipeIngredientIndex.PantryMatch::recipeId)
+                .toList();
+        Map<UUID, RecipeCardDto> cardsById = recipeRepository.findCards(RecipeSpecification.idIn(pageIds), Sort.unsorted(), pageIds.size())
+                .stream()
+                .collect(Collectors.toMap(RecipeCardDto::getId, card -> card));
+
+        List<PantryMatchDto> content = pageMatches.stream()
+                .filter(match -> cardsById.containsKey(match.recipeId()))
+                .map(match -> PantryMatchDto.builder()
+                        .recipe(cardsById.get(match.recipeId()))
+                        .matchedIngredients(match.matched())
+                        .totalIngredients(match.total())
+                        .coverage(match.coverage())
+                        .build())
+                .toList();
+
+        return new PageImpl<>(content, pageable, matches.size());
     }
 
     @Override
@@ -99,8 +441,9 @@ public class RecipeServiceImpl implements RecipeService {
                 .recipe(recipe)
                 .build();
 
-        recipe.setPopularity(recipe.getPopularity() + 1);
         favoriteRecipeRepository.save(favoriteRecipe);
+        recipePopularityCounter.adjust(recipe.getId(), 1);
+        eventPublisher.publishEvent(RecipeEngagementEvent.favorited(recipe.getId(), user.getId()));
     }
 
     @Override
@@ -115,85 +458,176 @@ public class RecipeServiceImpl implements RecipeService {
                 .orElseThrow(() -> new IllegalStateException("Recipe is not in favorites"));
 
         favoriteRecipeRepository.delete(favoriteRecipe);
-        if (recipe.getPopularity() > 0) {
-            recipe.setPopularity(recipe.getPopularity() - 1);
-            recipeRepository.save(recipe);
-        }
+        recipePopularityCounter.adjust(recipe.getId(), -1);
+        eventPublisher.publishEvent(RecipeEngagementEvent.unfavorited(recipe.getId(), user.getId()));
     }
 
     @Override
     public List<RecipeCardDto> getTrendingRecipes() {
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "popularity"));
-        Page<Recipe> trendingRecipes = recipeRepository.findAll(topTwenty);
-
-        return trendingRecipes.getContent().stream()
-                .map(recipeMapper::recipeToRecipeCardDto)
-                .collect(Collectors.toList());
+        return getFeed(RecipeFeed.TRENDING).recipes();
     }
 
     @Override
     public List<RecipeCardDto> getSeasonalRecipes() {
-        Season currentSeason = recipeUtility.getCurrentSeason();
-        List<CuisineType> seasonalCuisines = recipeUtility.getSeasonalCuisines(currentSeason);
-
-        Specification<Recipe> spec = (root, query, cb) ->
-                root.get("cuisine").in(seasonalCuisines);
+        return getFeed(RecipeFeed.SEASONAL).recipes();
+    }
 
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "popularity"));
-        Page<Recipe> seasonalRecipes = recipeRepository.findAll(spec, topTwenty);
+    @Override
+    public List<RecipeCardDto> getRecommendedRecipes() {
+        return getFeed(RecipeFeed.RECOMMENDED).recipes();
+    }
 
-        return seasonalRecipes.getContent().stream()
-                .map(recipeMapper::recipeToRecipeCardDto)
-                .collect(Collectors.toList());
+    @Override
+    public RecipeFeedCache.Snapshot getFeed(RecipeFeed feed) {
+        switch (feed) {
+            case SEASONAL:
+                Season currentSeason = recipeUtility.getCurrentSeason();
+                return recipeFeedCache.get(feed, currentSeason.name(), () -> loadSeasonalRecipes(currentSeason));
+            case RECOMMENDED:
+                MealType currentMealType = recipeUtility.getCurrentMealType();
+                return recipeFeedCache.get(feed, currentMealType.name(), () -> loadRecommendedRecipes(currentMealType));
+            case TRENDING:
+            default:
+                return recipeFeedCache.get(RecipeFeed.TRENDING, "all", this::loadTrendingRecipes);
+        }
     }
 
+    /**
+     * Recommendations scored against the user's preferences. Users with identical preferences share one
+     * cached feed per meal type, so only the first of them pays for the candidate query, until the periodic
+     * feed refresh drops personalized variants. Users without
+     * preferences, and anonymous callers, get the generic feed.
+     */
     @Override
-    public List<RecipeCardDto> getRecommendedRecipes() {
+    public RecipeFeedCache.Snapshot getRecommendedFeed(String userEmail) {
+        if (userEmail == null) {
+            return getFeed(RecipeFeed.RECOMMENDED);
+        }
+        PreferenceProfile profile = preferenceProfileCache.get(userEmail, this::loadPreferenceProfile);
+        if (profile.isEmpty()) {
+            return getFeed(RecipeFeed.RECOMMENDED);
+        }
         MealType currentMealType = recipeUtility.getCurrentMealType();
+        return recipeFeedCache.getPersonalized(RecipeFeed.RECOMMENDED, profile.fingerprint() + "@" + currentMealType.name(),
+                () -> loadPersonalizedRecipes(profile, currentMealType));
+    }
+
+    /**
+     * Recipes most often favorited by the same users as {@code recipeId}, ranked by the in-memory co-favorite index.
+     */
+    @Override
+    public List<RecipeCardDto> getAlsoLikedRecipes(UUID recipeId, int limit) {
+        List<UUID> rankedIds = coFavoriteIndex.findAlsoLiked(recipeId, limit);
+        if (rankedIds.isEmpty()) {
+            if (!recipeRepository.existsById(recipeId)) {
+                throw new ResourceNotFoundException("Recipe not found with id: " + recipeId);
+            }
+            return List.of();
+        }
+
+        Map<UUID, RecipeCardDto> cardsById = recipeRepository.findCards(RecipeSpecification.idIn(rankedIds), Sort.unsorted(), rankedIds.size())
+                .stream()
+                .collect(Collectors.toMap(RecipeCardDto::getId, card -> card));
+        return rankedIds.stream()
+                .map(cardsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private PreferenceProfile loadPreferenceProfile(String userEmail) {
+        return userRepository.findByEmail(userEmail)
+                .map(user -> PreferenceProfile.of(user.getUserPreferences()))
+                .orElse(PreferenceProfile.NONE);
+    }
+
+    private List<RecipeCardDto> loadPersonalizedRecipes(PreferenceProfile profile, MealType currentMealType) {
+        List<RecipeCardDto> candidates = recipeRepository.findCards(profile.candidateSpecification(),
+                Sort.by(Sort.Direction.DESC, "rating").and(Sort.by(Sort.Direction.DESC, "popularity")),
+                recommendationPoolSize);
+        int maxPopularity = candidates.stream().mapToInt(RecipeCardDto::getPopularity).max().orElse(0);
+
+        List<RecipeCardDto> recommended = candidates.stream()
+                .sorted(Comparator.comparingDouble(
+                        (RecipeCardDto recipe) -> profile.score(recipe, currentMealType, maxPopularity)).reversed())
+                .limit(20)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (recommended.size() < 20) {
+            List<UUID> existingIds = recommended.stream().map(RecipeCardDto::getId).toList();
+            recommended.addAll(recipeRepository.findCards(
+                    profile.dietSpecification().and(RecipeSpecification.idNotIn(existingIds)),
+                    Sort.by(Sort.Direction.DESC, "popularity"), 20 - recommended.size()));
+        }
+        return recommended;
+    }
+
+    private List<RecipeCardDto> loadTrendingRecipes() {
+        return recipeRepository.findCards(null, Sort.by(Sort.Direction.DESC, "popularity"), 20);
+    }
+
+    private List<RecipeCardDto> loadSeasonalRecipes(Season currentSeason) {
+        List<CuisineType> seasonalCuisines = recipeUtility.getSeasonalCuisines(currentSeason);
 
+        Specification<Recipe> spec = (root, query, cb) ->
+                root.get("cuisine").in(seasonalCuisines);
+
+        return recipeRepository.findCards(spec, Sort.by(Sort.Direction.DESC, "popularity"), 20);
+    }
+
+    private List<RecipeCardDto> loadRecommendedRecipes(MealType currentMealType) {
         Specification<Recipe> spec = (root, query, cb) ->
                 cb.equal(root.get("mealType"), currentMealType);
 
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "rating"));
-        Page<Recipe> recommendedRecipes = recipeRepository.findAll(spec, topTwenty);
-        if (recommendedRecipes.getContent().size() < 20) {
-            int remaining = 20 - recommendedRecipes.getContent().size();
-            Pageable remainingRecipes = PageRequest.of(0, remaining, Sort.by(Sort.Direction.DESC, "popularity"));
+        List<RecipeCardDto> recommendedRecipes = recipeRepository.findCards(spec, Sort.by(Sort.Direction.DESC, "rating"), 20);
+        if (recommendedRecipes.size() < 20) {
+            int remaining = 20 - recommendedRecipes.size();
 
-            List<UUID> existingIds = recommendedRecipes.getContent().stream()
-                    .map(Recipe::getId)
+            List<UUID> existingIds = recommendedRecipes.stream()
+                    .map(RecipeCardDto::getId)
                     .collect(Collectors.toList());
 
             Specification<Recipe> remainingSpec = (root, query, cb) ->
                     !existingIds.isEmpty() ? root.get("id").in(existingIds).not() : null;
 
-            Page<Recipe> additionalRecipes = recipeRepository.findAll(remainingSpec, remainingRecipes);
-            List<Recipe> combined = new ArrayList<>(recommendedRecipes.getContent());
-            combined.addAll(additionalRecipes.getContent());
+            List<RecipeCardDto> additionalRecipes = recipeRepository.findCards(remainingSpec, Sort.by(Sort.Direction.DESC, "popularity"), remaining);
+            List<RecipeCardDto> combined = new ArrayList<>(recommendedRecipes);
+            combined.addAll(additionalRecipes);
 
-            return combined.stream()
-                    .map(recipeMapper::recipeToRecipeCardDto)
-                    .collect(Collectors.toList());
+            return combined;
         }
 
-        return recommendedRecipes.getContent().stream()
-                .map(recipeMapper::recipeToRecipeCardDto)
-                .collect(Collectors.toList());
+        return recommendedRecipes;
     }
 
     @Override
     public RecipeDetailDto getRecipeById(UUID recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findDetailById(recipeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + recipeId));
+        UserProfileDto author = recipeRepository.findAuthorProfile(recipeId).orElse(null);
 
-        return recipeMapper.recipeToRecipeDetailDto(recipe);
+        return recipeMapper.recipeToRecipeDetailDto(recipe, author);
     }
 
     public RecipeBriefDto getRecipeBrief(UUID id) {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + id));
+        UserProfileDto author = recipeRepository.findAuthorProfile(id).orElse(null);
+
+        return recipeMapper.recipeToRecipeBriefDto(recipe, author);
+    }
+
+    /**
+     * The recipe's revision alone does not cover the ingredient names embedded in its detail, so the
+     * ingredient catalog version is part of the tag as well.
+     */
+    @Override
+    public ResourceVersion getRecipeVersion(UUID id) {
+        RecipeRepository.RecipeRevision revision = recipeRepository.findRevisionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + id));
+        CatalogVersion catalog = catalogVersionTracker.ingredients();
 
-        return recipeMapper.recipeToRecipeBriefDto(recipe);
+        return ResourceVersion.of("recipe-" + revision.getRevision() + "-" + catalog.getVersion(),
+                revision.getUpdatedAt(), catalog.getUpdatedAt());
     }
 
     @Override
@@ -203,6 +637,7 @@ public class RecipeServiceImpl implements RecipeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + id));
 
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(id));
     }
 
     @Override
@@ -230,13 +665,11 @@ public class RecipeServiceImpl implements RecipeService {
         // Update ingredients
         recipe.getIngredients().clear();
         if (updateRecipeDto.getIngredients() != null) {
+            IngredientResolutionService.Resolution ingredients = resolveIngredients(updateRecipeDto.getIngredients());
             updateRecipeDto.getIngredients().forEach(ingredientDto -> {
-                Ingredient ingredient = ingredientRepository.findById(ingredientDto.getIngredientId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found with id: " + ingredientDto.getIngredientId()));
-
                 RecipeIngredient recipeIngredient = RecipeIngredient.builder()
                         .recipe(recipe)
-                        .ingredient(ingredient)
+                        .ingredient(ingredients.get(ingredientDto.getIngredientId()))
                         .quantity(ingredientDto.getQuantity())
                         .unit(ingredientDto.getUnit())
                         .notes(ingredientDto.getNotes())
@@ -247,6 +680,8 @@ public class RecipeServiceImpl implements RecipeService {
         }
 
         Recipe updatedRecipe = recipeRepository.save(recipe);
+        recipeRepository.touch(id);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(updatedRecipe.getId(), ingredientIdsOf(updatedRecipe)));
         RecipeDetailDto detailDto = recipeMapper.recipeToRecipeDetailDto(updatedRecipe);
 
         // Set isFavorite flag
@@ -261,6 +696,74 @@ public class RecipeServiceImpl implements RecipeService {
     public RecipeDetailDto createRecipe(@Valid CreateRecipeDto createRecipeDto, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        IngredientResolutionService.Resolution ingredients = createRecipeDto.getIngredients() != null
+                ? resolveIngredients(createRecipeDto.getIngredients())
+                : null;
+        Recipe recipe = newRecipe(createRecipeDto, user, ingredients);
+
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.created(savedRecipe.getId(), ingredientIdsOf(savedRecipe)));
+        RecipeDetailDto detailDto = recipeMapper.recipeToRecipeDetailDto(savedRecipe);
+        detailDto.setFavorite(false);
+
+        return detailDto;
+    }
+
+    @Override
+    public Page<RecipeCardDto> getUserRecipes(int page, int size, String search, String cuisine, String mealType, String sort, String userEmail) {
+        User currentUser = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        Pageable pageable = PageRequest.of(page, size, userRecipeSort(sort));
+        String countKey = String.join("|", "user", currentUser.getId().toString(),
+                search != null ? search.toLowerCase() : "", String.valueOf(cuisine).toUpperCase(), String.valueOf(mealType).toUpperCase());
+
+        return findCountedCards(userRecipeFilters(currentUser, search, cuisine, mealType), pageable, countKey, null);
+    }
+
+    @Override
+    public CursorPageResponse<RecipeCardDto> getUserRecipesAfter(String cursor, int size, String search, String cuisine,
+                                                                 String mealType, String sort, boolean withTotal, String userEmail) {
+        User currentUser = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        Sort.Order order = userRecipeSort(sort).iterator().next();
+
+        return cardsAfter(userRecipeFilters(currentUser, search, cuisine, mealType),
+                order.getProperty(), order.getDirection(), cursor, size, withTotal);
+    }
+
+    private Specification<Recipe> userRecipeFilters(User currentUser, String search, String cuisine, String mealType) {
+        Specification<Recipe> spec = Specification.where(RecipeSpecification.hasAuthor(currentUser));
+
+        if (search != null && !search.trim().isEmpty()) {
+            spec = spec.and(RecipeSpecification.nameContains(search));
+        }
+        if (cuisine != null && !cuisine.trim().isEmpty()) {
+            try {
+                CuisineType cuisineType = CuisineType.valueOf(cuisine.toUpperCase());
+                spec = spec.and(RecipeSpecification.hasCuisine(cuisineType));
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        if (mealType != null && !mealType.trim().isEmpty()) {
+            try {
+                MealType mealTypeEnum = MealType.valueOf(mealType.toUpperCase());
+                spec = spec.and(RecipeSpecification.hasMealType(mealTypeEnum));
+            } catch (IllegalArgumentException e) {
+            }
+        }
+
+        return spec;
+    }
+
+    private boolean hasIngredientFilters(AdvancedRecipeFilterCriteria criteria) {
+        return (criteria.getIncludeIngredients() != null && !criteria.getIncludeIngredients().isEmpty())
+                || (criteria.getExcludeIngredients() != null && !criteria.getExcludeIngredients().isEmpty());
+    }
+
+    /**
+     * Builds a new, unsaved recipe. Every ingredient line must already be present in {@code ingredients}.
+     */
+    static Recipe newRecipe(CreateRecipeDto createRecipeDto, User author, IngredientResolutionService.Resolution ingredients) {
         Recipe recipe = Recipe.builder()
                 .name(createRecipeDto.getName())
                 .description(createRecipeDto.getDescription())
@@ -272,7 +775,7 @@ public class RecipeServiceImpl implements RecipeService {
                 .difficulty(createRecipeDto.getDifficulty())
                 .instructions(createRecipeDto.getInstructions())
                 .imageUrl(createRecipeDto.getImageUrl())
-                .author(user)
+                .author(author)
                 .rating(BigDecimal.ZERO)
                 .popularity(0)
                 .ingredients(new HashSet<>())
@@ -281,12 +784,9 @@ public class RecipeServiceImpl implements RecipeService {
 
         if (createRecipeDto.getIngredients() != null) {
             createRecipeDto.getIngredients().forEach(ingredientDto -> {
-                Ingredient ingredient = ingredientRepository.findById(ingredientDto.getIngredientId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Ingredient not found with id: " + ingredientDto.getIngredientId()));
-
                 RecipeIngredient recipeIngredient = RecipeIngredient.builder()
                         .recipe(recipe)
-                        .ingredient(ingredient)
+                        .ingredient(ingredients.get(ingredientDto.getIngredientId()))
                         .quantity(ingredientDto.getQuantity())
                         .unit(ingredientDto.getUnit())
                         .notes(ingredientDto.getNotes())
@@ -295,44 +795,34 @@ public class RecipeServiceImpl implements RecipeService {
                 recipe.getIngredients().add(recipeIngredient);
             });
         }
-
-        Recipe savedRecipe = recipeRepository.save(recipe);
-        RecipeDetailDto detailDto = recipeMapper.recipeToRecipeDetailDto(savedRecipe);
-        detailDto.setFavorite(false);
-
-        return detailDto;
+        return recipe;
     }
 
-    @Override
-    public Page<RecipeCardDto> getUserRecipes(int page, int size, String search, String cuisine, String mealType, String sort, String userEmail) {
-        User currentUser = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        Pageable pageable = createPageableForUserRecipes(page, size, sort);
-        Specification<Recipe> spec = Specification.where(RecipeSpecification.hasAuthor(currentUser));
-
-        if (search != null && !search.trim().isEmpty()) {
-            spec = spec.and(RecipeSpecification.nameContains(search));
-        }
-        if (cuisine != null && !cuisine.trim().isEmpty()) {
-            try {
-                CuisineType cuisineType = CuisineType.valueOf(cuisine.toUpperCase());
-                spec = spec.and(RecipeSpecification.hasCuisine(cuisineType));
-            } catch (IllegalArgumentException e) {
-            }
-        }
-        if (mealType != null && !mealType.trim().isEmpty()) {
-            try {
-                MealType mealTypeEnum = MealType.valueOf(mealType.toUpperCase());
-                spec = spec.and(RecipeSpecification.hasMealType(mealTypeEnum));
-            } catch (IllegalArgumentException e) {
-            }
+    /**
+     * Resolves every ingredient line of a request at once, failing on the first request that references unknown ids.
+     */
+    private IngredientResolutionService.Resolution resolveIngredients(List<RecipeIngredientDto> ingredientDtos) {
+        IngredientResolutionService.Resolution resolution = ingredientResolutionService.resolve(ingredientDtos.stream()
+                .map(RecipeIngredientDto::getIngredientId)
+                .collect(Collectors.toSet()));
+        if (!resolution.isComplete()) {
+            throw new ResourceNotFoundException("Ingredient not found with id: " + resolution.missing().stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(", ")));
         }
+        return resolution;
+    }
 
-        Page<Recipe> recipePage = recipeRepository.findAll(spec, pageable);
-        return recipePage.map(recipeMapper::recipeToRecipeCardDto);
+    static Set<UUID> ingredientIdsOf(Recipe recipe) {
+        if (recipe.getIngredients() == null) {
+            return Set.of();
+        }
+        return recipe.getIngredients().stream()
+                .map(recipeIngredient -> recipeIngredient.getIngredient().getId())
+                .collect(Collectors.toSet());
     }
 
-    private Pageable createPageableForUserRecipes(int page, int size, String sort) {
+    private Sort userRecipeSort(String sort) {
         Sort sortObj;
 
         switch (sort.toLowerCase()) {
@@ -357,6 +847,6 @@ public class RecipeServiceImpl implements RecipeService {
                 break;
         }
 
-        return PageRequest.of(page, size, sortObj);
+        return sortObj;
     }
 }
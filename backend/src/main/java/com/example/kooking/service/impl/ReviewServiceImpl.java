@@ -1,6 +1,7 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
+import com.example.kooking.event.RecipeEngagementEvent;
 import com.example.kooking.service.ReviewService;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import com.example.kooking.model.Recipe;
@@ -9,27 +10,33 @@ import com.example.kooking.model.User;
 import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.ReviewRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.utils.KeysetCursor;
 import com.example.kooking.utils.ReviewMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewServiceImpl implements ReviewService {
+    private static final String CURSOR_SORT = "createdAt";
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
     private final ReviewMapper reviewMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<ReviewDto> getRecipeReviews(UUID recipeId, int page, int size) {
@@ -39,6 +46,23 @@ public class ReviewServiceImpl implements ReviewService {
                 .map(reviewMapper::reviewToReviewDto);
     }
 
+    @Override
+    public CursorPageResponse<ReviewDto> getRecipeReviewsAfter(UUID recipeId, String cursor, int size, boolean withTotal) {
+        Recipe recipe = findRecipeById(recipeId);
+        Specification<Review> filter = (root, query, cb) -> cb.equal(root.get("recipe").get("id"), recipe.getId());
+        return reviewsAfter(filter, cursor, size, withTotal);
+    }
+
+    /**
+     * Every review write bumps its recipe's revision, so the recipe row versions the review list too.
+     */
+    @Override
+    public ResourceVersion getRecipeReviewsVersion(UUID recipeId) {
+        RecipeRepository.RecipeRevision revision = recipeRepository.findRevisionById(recipeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + recipeId));
+        return ResourceVersion.of("reviews-" + revision.getRevision(), revision.getUpdatedAt());
+    }
+
     @Override
     @Transactional
     public ReviewDto createReview(UUID recipeId, CreateReviewDto createReviewDto, String userEmail) {
@@ -54,7 +78,8 @@ public class ReviewServiceImpl implements ReviewService {
 
         Review savedReview = reviewRepository.save(review);
 
-        updateRecipeRating(recipe);
+        recipeRepository.recordRatingChange(recipe.getId(), savedReview.getRating(), 0);
+        eventPublisher.publishEvent(RecipeEngagementEvent.reviewed(recipe.getId(), user.getId()));
 
         return reviewMapper.reviewToReviewDto(savedReview);
     }
@@ -69,10 +94,17 @@ public class ReviewServiceImpl implements ReviewService {
             throw new AccessDeniedException("You are not authorized to update this review");
         }
 
+        int previousRating = review.getRating();
         reviewMapper.updateReviewFromDto(updateReviewDto, review);
         Review updatedReview = reviewRepository.save(review);
 
-        updateRecipeRating(review.getRecipe());
+        if (updatedReview.getRating() != previousRating) {
+            recipeRepository.recordRatingChange(review.getRecipe().getId(), updatedReview.getRating(), previousRating);
+        } else {
+            // Rating changes bump the recipe revision themselves; a comment-only edit still changes the served reviews
+            recipeRepository.touch(review.getRecipe().getId());
+        }
+        eventPublisher.publishEvent(RecipeEngagementEvent.reviewed(review.getRecipe().getId(), currentUser.getId()));
 
         return reviewMapper.reviewToReviewDto(updatedReview);
     }
@@ -89,7 +121,8 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         reviewRepository.delete(review);
-        updateRecipeRating(recipe);
+        recipeRepository.recordRatingChange(recipe.getId(), 0, review.getRating());
+        eventPublisher.publishEvent(RecipeEngagementEvent.reviewed(recipe.getId(), currentUser.getId()));
     }
 
     @Override
@@ -101,16 +134,37 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    public void updateRecipeRating(Recipe recipe) {
-        Double averageRating = reviewRepository.calculateAverageRatingByRecipe(recipe.getId());
-        if (averageRating != null) {
-            BigDecimal rating = BigDecimal.valueOf(averageRating)
-                    .setScale(1, RoundingMode.HALF_UP);
-            recipe.setRating(rating);
-        } else {
-            recipe.setRating(BigDecimal.ZERO);
+    public CursorPageResponse<ReviewDto> getUserReviewsAfter(String userEmail, String cursor, int size, boolean withTotal) {
+        User user = findUserByEmail(userEmail);
+        Specification<Review> filter = (root, query, cb) -> cb.equal(root.get("user").get("id"), user.getId());
+        return reviewsAfter(filter, cursor, size, withTotal);
+    }
+
+    /**
+     * Newest reviews first, continuing strictly after {@code cursor}; ties on the creation time are broken by id.
+     */
+    private CursorPageResponse<ReviewDto> reviewsAfter(Specification<Review> filter, String cursor, int size, boolean withTotal) {
+        Specification<Review> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(KeysetCursor.decode(cursor, CURSOR_SORT, Sort.Direction.DESC, LocalDateTime.class).toSpecification());
         }
-        recipeRepository.save(recipe);
+        Sort sort = KeysetCursor.sort(CURSOR_SORT, Sort.Direction.DESC);
+        List<Review> rows = reviewRepository.findBy(spec, query -> query.sortBy(sort).limit(KeysetCursor.fetchSize(size)).all());
+        Long total = withTotal ? reviewRepository.count(filter) : null;
+
+        return CursorPageResponse.from(rows, size,
+                        review -> new KeysetCursor(CURSOR_SORT, Sort.Direction.DESC, review.getCreatedAt(), review.getId()), total)
+                .map(reviewMapper::reviewToReviewDto);
+    }
+
+    /**
+     * Rebuilds the rating aggregates of a single recipe from its reviews. Review writes keep them
+     * up to date incrementally; this is only needed to repair drift.
+     */
+    @Override
+    @Transactional
+    public void updateRecipeRating(Recipe recipe) {
+        recipeRepository.reconcileRatingAggregates(recipe.getId());
     }
 
     @Override
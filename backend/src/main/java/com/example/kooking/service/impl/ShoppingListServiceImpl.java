@@ -1,16 +1,24 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
+import com.example.kooking.enums.ShoppingListOperation;
 import com.example.kooking.enums.ShoppingStatus;
 import com.example.kooking.model.Ingredient;
 import com.example.kooking.model.ShoppingList;
+import com.example.kooking.model.ShoppingListChange;
+import com.example.kooking.model.ShoppingListItem;
 import com.example.kooking.model.User;
-import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.ShoppingListChangeRepository;
 import com.example.kooking.repository.ShoppingListRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.IngredientResolutionService;
 import com.example.kooking.service.ShoppingListService;
 import com.example.kooking.utils.ShoppingListMapper;
+import com.example.kooking.utils.UnitConverter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -25,8 +33,10 @@ import java.util.stream.Collectors;
 public class ShoppingListServiceImpl implements ShoppingListService {
 
     private final ShoppingListRepository shoppingListRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final ShoppingListChangeRepository shoppingListChangeRepository;
     private final UserRepository userRepository;
-    private final IngredientRepository ingredientRepository;
+    private final IngredientResolutionService ingredientResolutionService;
     private final ShoppingListMapper shoppingListMapper;
 
     public List<ShoppingListDto> getUserShoppingLists(String userEmail) {
@@ -35,9 +45,16 @@ public class ShoppingListServiceImpl implements ShoppingListService {
         return shoppingListMapper.shoppingListsToShoppingListDtos(shoppingLists);
     }
 
+    public Page<ShoppingListSummaryDto> getUserShoppingListSummaries(String userEmail, int page, int size) {
+        User user = findUserByEmail(userEmail);
+        return shoppingListRepository.findSummariesByUser(user, PageRequest.of(page, size));
+    }
+
     public ShoppingListDto getShoppingListById(UUID id, String userEmail) {
         User user = findUserByEmail(userEmail);
-        ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        ShoppingList shoppingList = shoppingListRepository.findDetailByIdAndUser(id, user)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Shopping list not found with id: " + id));
         return shoppingListMapper.shoppingListToShoppingListDto(shoppingList);
     }
 
@@ -57,12 +74,81 @@ public class ShoppingListServiceImpl implements ShoppingListService {
         return shoppingListMapper.shoppingListToShoppingListDto(savedShoppingList);
     }
 
+    /**
+     * Builds one list for a whole menu: the recipes' ingredient lines are read in a single query, scaled by their
+     * servings multipliers and summed per ingredient and unit, and the items are inserted in one batched flush.
+     */
+    @Override
+    @Transactional
+    public ShoppingListDto buildShoppingListFromRecipes(BuildShoppingListDto buildShoppingListDto, String userEmail) {
+        User user = findUserByEmail(userEmail);
+
+        // The same recipe picked twice simply counts twice
+        Map<UUID, Double> multipliers = new LinkedHashMap<>();
+        for (RecipeServingsDto servings : buildShoppingListDto.getRecipes()) {
+            multipliers.merge(servings.getRecipeId(), servings.getMultiplier(), Double::sum);
+        }
+
+        List<RecipeIngredientRepository.IngredientLine> lines =
+                recipeIngredientRepository.findIngredientLinesByRecipeIds(multipliers.keySet());
+        Set<UUID> foundRecipes = lines.stream()
+                .map(RecipeIngredientRepository.IngredientLine::getRecipeId)
+                .collect(Collectors.toSet());
+        List<UUID> missingRecipes = multipliers.keySet().stream()
+                .filter(recipeId -> !foundRecipes.contains(recipeId))
+                .toList();
+        if (!missingRecipes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipe not found with id: " + missingRecipes.stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        // ingredient -> canonical unit (null for plain counts) -> total quantity
+        Map<UUID, Map<String, Double>> totals = new LinkedHashMap<>();
+        for (RecipeIngredientRepository.IngredientLine line : lines) {
+            if (line.getIngredientId() == null) {
+                continue;
+            }
+            UnitConverter.Measure measure = UnitConverter.toBase(
+                    line.getQuantity() * multipliers.get(line.getRecipeId()), line.getUnit());
+            totals.computeIfAbsent(line.getIngredientId(), ingredientId -> new LinkedHashMap<>())
+                    .merge(measure.unit(), measure.quantity(), Double::sum);
+        }
+        if (totals.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The selected recipes have no ingredients");
+        }
+
+        Set<Ingredient> ingredients = findIngredientsByIds(totals.keySet());
+        Map<UUID, Ingredient> ingredientsById = ingredients.stream()
+                .collect(Collectors.toMap(Ingredient::getId, ingredient -> ingredient));
+
+        ShoppingList shoppingList = ShoppingList.builder()
+                .user(user)
+                .ingredients(ingredients)
+                .items(new ArrayList<>())
+                .status(ShoppingStatus.ACTIVE)
+                .build();
+        totals.forEach((ingredientId, byUnit) -> byUnit.forEach((unit, quantity) -> {
+            UnitConverter.Measure display = UnitConverter.toDisplay(new UnitConverter.Measure(quantity, unit));
+            shoppingList.getItems().add(ShoppingListItem.builder()
+                    .shoppingList(shoppingList)
+                    .ingredient(ingredientsById.get(ingredientId))
+                    .quantity(display.quantity())
+                    .unit(display.unit())
+                    .build());
+        }));
+
+        ShoppingList savedShoppingList = shoppingListRepository.save(shoppingList);
+        return shoppingListMapper.shoppingListToShoppingListDto(savedShoppingList);
+    }
+
     @Override
     @Transactional
     public ShoppingListDto updateShoppingList(UUID id, UpdateShoppingListDto updateShoppingListDto, String userEmail) {
         User user = findUserByEmail(userEmail);
-        ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        ShoppingList shoppingList = lockShoppingListByIdAndUser(id, user);
 
+        Set<UUID> before = ingredientIdsOf(shoppingList);
         if (updateShoppingListDto.getIngredientIds() != null) {
             Set<Ingredient> ingredients = findIngredientsByIds(updateShoppingListDto.getIngredientIds());
             shoppingList.setIngredients(ingredients);
@@ -73,6 +159,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
         }
 
         ShoppingList updatedShoppingList = shoppingListRepository.save(shoppingList);
+        recordEntityWrite(updatedShoppingList, before);
         return shoppingListMapper.shoppingListToShoppingListDto(updatedShoppingList);
     }
 
@@ -80,10 +167,12 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     @Transactional
     public ShoppingListDto updateShoppingListStatus(UUID id, ShoppingStatus status, String userEmail) {
         User user = findUserByEmail(userEmail);
-        ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        ShoppingList shoppingList = lockShoppingListByIdAndUser(id, user);
 
+        Set<UUID> before = ingredientIdsOf(shoppingList);
         shoppingList.setStatus(status);
         ShoppingList updatedShoppingList = shoppingListRepository.save(shoppingList);
+        recordEntityWrite(updatedShoppingList, before);
         return shoppingListMapper.shoppingListToShoppingListDto(updatedShoppingList);
     }
 
@@ -92,6 +181,7 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     public void deleteShoppingList(UUID id, String userEmail) {
         User user = findUserByEmail(userEmail);
         ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        shoppingListChangeRepository.deleteByShoppingListId(id);
         shoppingListRepository.delete(shoppingList);
     }
 
@@ -99,16 +189,18 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     @Transactional
     public ShoppingListDto addIngredientsToShoppingList(UUID id, Set<UUID> ingredientIds, String userEmail) {
         User user = findUserByEmail(userEmail);
-        ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        ShoppingList shoppingList = lockShoppingListByIdAndUser(id, user);
 
         Set<Ingredient> ingredientsToAdd = findIngredientsByIds(ingredientIds);
 
         // Add new ingredients to the existing set
+        Set<UUID> before = ingredientIdsOf(shoppingList);
         Set<Ingredient> updatedIngredients = new HashSet<>(shoppingList.getIngredients());
         updatedIngredients.addAll(ingredientsToAdd);
         shoppingList.setIngredients(updatedIngredients);
 
         ShoppingList updatedShoppingList = shoppingListRepository.save(shoppingList);
+        recordEntityWrite(updatedShoppingList, before);
         return shoppingListMapper.shoppingListToShoppingListDto(updatedShoppingList);
     }
 
@@ -116,24 +208,175 @@ public class ShoppingListServiceImpl implements ShoppingListService {
     @Transactional
     public ShoppingListDto removeIngredientFromShoppingList(UUID id, UUID ingredientId, String userEmail) {
         User user = findUserByEmail(userEmail);
-        ShoppingList shoppingList = findShoppingListByIdAndUser(id, user);
+        ShoppingList shoppingList = lockShoppingListByIdAndUser(id, user);
 
-        Ingredient ingredient = ingredientRepository.findById(ingredientId)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Ingredient not found with id: " + id));
+        Ingredient ingredient = findIngredientsByIds(Set.of(ingredientId)).iterator().next();
         // Remove the ingredient from the set
+        Set<UUID> before = ingredientIdsOf(shoppingList);
         shoppingList.getIngredients().remove(ingredient);
 
         ShoppingList updatedShoppingList = shoppingListRepository.save(shoppingList);
+        recordEntityWrite(updatedShoppingList, before);
         return shoppingListMapper.shoppingListToShoppingListDto(updatedShoppingList);
     }
 
+    /**
+     * Applies a client's queued operations as targeted join-row writes, provided its copy is still at
+     * {@code baseVersion}, and returns the changes it made. Without operations this is a pull of the changes
+     * since {@code baseVersion}.
+     * <p>
+     * A stale version is rejected with 409 from the version column alone; the client pulls, rebases its
+     * queue and retries. Each operation gets its own version so replaying the log preserves their order.
+     */
+    @Override
+    @Transactional
+    public ShoppingListDeltaDto syncShoppingList(UUID id, ShoppingListSyncDto syncDto, String userEmail) {
+        User user = findUserByEmail(userEmail);
+        ShoppingListRepository.ListState state = findShoppingListState(id, user);
+        List<ShoppingListOperationDto> operations = syncDto.getOperations() != null ? syncDto.getOperations() : List.of();
+        if (operations.isEmpty()) {
+            return changesSince(id, state, syncDto.getBaseVersion());
+        }
+
+        long baseVersion = syncDto.getBaseVersion();
+        // The second check closes the race with a writer that committed after the state was read
+        if (state.getVersion() != baseVersion || shoppingListRepository.advanceVersion(id, baseVersion, operations.size()) == 0) {
+            throw staleVersion(id, baseVersion);
+        }
+
+        Set<UUID> added = operations.stream()
+                .filter(operation -> operation.getType() == ShoppingListOperation.ADD)
+                .map(ShoppingListOperationDto::getIngredientId)
+                .collect(Collectors.toSet());
+        if (!added.isEmpty()) {
+            findIngredientsByIds(added);
+        }
+
+        List<ShoppingListChange> changes = new ArrayList<>();
+        long version = baseVersion;
+        for (ShoppingListOperationDto operation : operations) {
+            version++;
+            if (apply(id, operation) > 0) {
+                changes.add(change(id, version, operation.getType(), operation.getIngredientId()));
+            }
+        }
+        shoppingListChangeRepository.saveAll(changes);
+
+        return new ShoppingListDeltaDto(id, version, state.getStatus(),
+                shoppingListMapper.shoppingListChangesToShoppingListChangeDtos(changes));
+    }
+
+    @Override
+    public ShoppingListDeltaDto getShoppingListChanges(UUID id, long sinceVersion, String userEmail) {
+        User user = findUserByEmail(userEmail);
+        return changesSince(id, findShoppingListState(id, user), sinceVersion);
+    }
+
+    private ShoppingListDeltaDto changesSince(UUID id, ShoppingListRepository.ListState state, long sinceVersion) {
+        if (sinceVersion > state.getVersion()) {
+            throw staleVersion(id, sinceVersion);
+        }
+        // An up-to-date client is answered without touching the change log
+        List<ShoppingListChange> changes = sinceVersion == state.getVersion()
+                ? List.of()
+                : shoppingListChangeRepository.findByShoppingListIdAndVersionGreaterThanOrderByVersionAsc(id, sinceVersion);
+        return new ShoppingListDeltaDto(id, state.getVersion(), state.getStatus(),
+                shoppingListMapper.shoppingListChangesToShoppingListChangeDtos(changes));
+    }
+
+    private int apply(UUID id, ShoppingListOperationDto operation) {
+        UUID ingredientId = operation.getIngredientId();
+        return switch (operation.getType()) {
+            case ADD -> shoppingListRepository.insertIngredient(id, ingredientId);
+            case REMOVE -> {
+                int removed = shoppingListRepository.deleteIngredient(id, ingredientId);
+                if (removed > 0) {
+                    shoppingListRepository.deleteCheck(id, ingredientId);
+                    shoppingListRepository.deleteItems(id, ingredientId);
+                }
+                yield removed;
+            }
+            case CHECK -> shoppingListRepository.insertCheck(id, ingredientId);
+            case UNCHECK -> shoppingListRepository.deleteCheck(id, ingredientId);
+        };
+    }
+
+    /**
+     * Writes through the full-list endpoints bump the version and log their ingredient diff too, so delta
+     * clients never miss them. Runs after the entity changes, which the version update flushes first.
+     * Removed ingredients lose their check mark and quantity items, as with a sync REMOVE.
+     */
+    private void recordEntityWrite(ShoppingList shoppingList, Set<UUID> before) {
+        UUID id = shoppingList.getId();
+        Set<UUID> after = ingredientIdsOf(shoppingList);
+        if (shoppingList.getCheckedIngredientIds() != null) {
+            shoppingList.getCheckedIngredientIds().retainAll(after);
+        }
+        if (shoppingList.getItems() != null && !after.containsAll(before)) {
+            shoppingList.getItems().removeIf(item -> !after.contains(item.getIngredient().getId()));
+        }
+
+        shoppingListRepository.incrementVersion(id);
+        long version = shoppingListRepository.findVersionById(id);
+        shoppingList.setVersion(version);
+
+        List<ShoppingListChange> changes = new ArrayList<>();
+        after.stream()
+                .filter(ingredientId -> !before.contains(ingredientId))
+                .forEach(ingredientId -> changes.add(change(id, version, ShoppingListOperation.ADD, ingredientId)));
+        before.stream()
+                .filter(ingredientId -> !after.contains(ingredientId))
+                .forEach(ingredientId -> changes.add(change(id, version, ShoppingListOperation.REMOVE, ingredientId)));
+        if (!changes.isEmpty()) {
+            shoppingListChangeRepository.saveAll(changes);
+        }
+    }
+
+    private static ShoppingListChange change(UUID shoppingListId, long version, ShoppingListOperation operation, UUID ingredientId) {
+        return ShoppingListChange.builder()
+                .shoppingListId(shoppingListId)
+                .version(version)
+                .operation(operation)
+                .ingredientId(ingredientId)
+                .build();
+    }
+
+    private static Set<UUID> ingredientIdsOf(ShoppingList shoppingList) {
+        if (shoppingList.getIngredients() == null) {
+            return Set.of();
+        }
+        return shoppingList.getIngredients().stream()
+                .map(Ingredient::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private ShoppingListRepository.ListState findShoppingListState(UUID id, User user) {
+        return shoppingListRepository.findStateByIdAndUser(id, user)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Shopping list not found with id: " + id));
+    }
+
+    private static ResponseStatusException staleVersion(UUID id, long version) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Shopping list " + id + " has changed since version " + version + "; sync before retrying");
+    }
+
     @Override
     public User findUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
+    /**
+     * Loads a list for a full-list write. The row lock is taken before the ingredient set is read, so a sync
+     * committing in between can neither be overwritten nor be missing from the logged diff.
+     */
+    private ShoppingList lockShoppingListByIdAndUser(UUID id, User user) {
+        return shoppingListRepository.findForUpdateByIdAndUser(id, user)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Shopping list not found with id: " + id));
+    }
+
     @Override
     public ShoppingList findShoppingListByIdAndUser(UUID id, User user) {
         return shoppingListRepository.findByIdAndUser(id, user)
@@ -143,10 +386,12 @@ public class ShoppingListServiceImpl implements ShoppingListService {
 
     @Override
     public Set<Ingredient> findIngredientsByIds(Set<UUID> ingredientIds) {
-        return ingredientIds.stream()
-                .map(id -> ingredientRepository.findById(id)
-                        .orElseThrow(() -> new ResponseStatusException(
-                                HttpStatus.NOT_FOUND, "Ingredient not found with id: " + id)))
-                .collect(Collectors.toSet());
+        IngredientResolutionService.Resolution resolution = ingredientResolutionService.resolve(ingredientIds);
+        if (!resolution.isComplete()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ingredient not found with id: " + resolution.missing().stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+        return new HashSet<>(resolution.ingredients());
     }
 }
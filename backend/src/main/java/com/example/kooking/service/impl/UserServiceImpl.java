@@ -1,6 +1,7 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
+import com.example.kooking.event.UserChangedEvent;
 import com.example.kooking.model.FavoriteRecipe;
 import com.example.kooking.model.Recipe;
 import com.example.kooking.model.User;
@@ -10,14 +11,21 @@ import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.UserPreferencesRepository;
 import com.example.kooking.repository.UserRepository;
 import com.example.kooking.service.UserService;
+import com.example.kooking.utils.KeysetCursor;
+import com.example.kooking.utils.RecipeSpecification;
 import com.example.kooking.utils.UserMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -26,6 +34,7 @@ public class UserServiceImpl implements UserService {
     private final UserPreferencesRepository userPreferencesRepository;
     private final UserMapper userMapper;
     private final FavoriteRecipeRepository favoriteRecipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserProfileDto getUserProfile(String userEmail) {
@@ -41,6 +50,7 @@ public class UserServiceImpl implements UserService {
         user.setFirstName(updateUserProfileDto.getFirstName());
         user.setLastName(updateUserProfileDto.getLastName());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userEmail));
         return userMapper.userToUserProfileDto(user);
     }
 
@@ -63,6 +73,7 @@ public class UserServiceImpl implements UserService {
         preferences.setPreferredDifficulty(preferencesDto.getPreferredDifficulty());
 
         userPreferencesRepository.save(preferences);
+        eventPublisher.publishEvent(new UserChangedEvent(userEmail));
         return userMapper.userPreferencesToDto(preferences);
     }
 
@@ -74,6 +85,27 @@ public class UserServiceImpl implements UserService {
         return favoriteRecipes.map(favorite -> userMapper.recipeToRecipeCardDto(favorite.getRecipe()));
     }
 
+    /**
+     * Favorite recipe cards by name, continuing strictly after {@code cursor}. Cards are projected straight from the
+     * recipe table, so no favorite or recipe entity is loaded.
+     */
+    @Override
+    public CursorPageResponse<RecipeCardDto> getUserFavoriteRecipesAfter(String userEmail, String cursor, int size, boolean withTotal) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        Specification<Recipe> filter = RecipeSpecification.favoritedBy(user);
+
+        Specification<Recipe> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(KeysetCursor.decode(cursor, "name", Sort.Direction.ASC, String.class).toSpecification());
+        }
+        List<RecipeCardDto> rows = recipeRepository.findCards(spec, KeysetCursor.sort("name", Sort.Direction.ASC), KeysetCursor.fetchSize(size));
+        Long total = withTotal ? recipeRepository.countCards(filter) : null;
+
+        return CursorPageResponse.from(rows, size,
+                card -> new KeysetCursor("name", Sort.Direction.ASC, card.getName(), card.getId()), total);
+    }
+
     @Override
     public Page<RecipeCardDto> getUserRecipes(String userEmail, int page, int size) {
         User user = userRepository.findByEmail(userEmail)
@@ -0,0 +1,52 @@
+package com.example.kooking.utils;
+
+import com.example.kooking.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET from the resource version alone when the client's copy is still current, and only builds
+ * the body otherwise. Both responses carry the validators and the endpoint's Cache-Control policy.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(HttpHeaders requestHeaders, ResourceVersion version, CacheControl cacheControl,
+                                                Supplier<T> body) {
+        boolean notModified = isNotModified(requestHeaders, version);
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok();
+        response.eTag(version.etag()).cacheControl(cacheControl);
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return notModified ? response.build() : response.body(body.get());
+    }
+
+    /**
+     * If-None-Match wins over If-Modified-Since; entity tags are compared weakly, as RFC 9110 requires for GET.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, ResourceVersion version) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String etag = opaqueTag(version.etag());
+            return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || opaqueTag(candidate).equals(etag));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        // HTTP dates have second precision
+        return ifModifiedSince >= 0 && version.lastModified() != null
+                && version.lastModified().getEpochSecond() <= ifModifiedSince / 1000;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.kooking.utils;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered by one sort key with the id as tie-breaker. The next page starts
+ * strictly after {@code (key, id)}, so the database seeks to it through the index instead of
+ * skipping an OFFSET worth of rows.
+ * <p>
+ * A null key ranks above every value, which is where PostgreSQL sorts nulls (the H2 datasource is configured
+ * to match): last when ascending, first when descending.
+ * <p>
+ * Encoded as an opaque URL-safe token that also records the sort it was issued for, so a cursor
+ * cannot be replayed against a different ordering.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, Comparable<?> key, UUID id) {
+
+    /**
+     * The listing order a cursor over {@code property} relies on: the key, then the id, in the same direction.
+     */
+    public static Sort sort(String property, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, property);
+        return "id".equals(property) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Rows to fetch for a page of {@code size}: one extra row tells whether another page follows.
+     */
+    public static int fetchSize(int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be at least 1");
+        }
+        return size + 1;
+    }
+
+    public String encode() {
+        // A null key is the absence of the key part, so it cannot collide with any formatted value
+        String raw = property + '|' + direction + '|' + id + (key == null ? "" : "|" + format(key));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor issued for the same sort, or fails with 400 when it is malformed or belongs to another sort.
+     */
+    public static KeysetCursor decode(String cursor, String property, Sort.Direction direction, Class<?> keyType) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length < 3 || !parts[0].equals(property) || !parts[1].equals(direction.name())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+            }
+            Comparable<?> key = parts.length == 4 ? parse(parts[3], keyType) : null;
+            return new KeysetCursor(property, direction, key, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Rows strictly after this cursor in {@link #sort(String, Sort.Direction)} order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Specification<T> toSpecification() {
+        return (root, query, builder) -> {
+            Path<UUID> idPath = root.get("id");
+            Predicate idAfter = direction.isAscending() ? builder.greaterThan(idPath, id) : builder.lessThan(idPath, id);
+            if ("id".equals(property)) {
+                return idAfter;
+            }
+            Path<Comparable> keyPath = root.get(property);
+            if (key == null) {
+                Predicate nullAfter = builder.and(builder.isNull(keyPath), idAfter);
+                return direction.isAscending() ? nullAfter : builder.or(nullAfter, builder.isNotNull(keyPath));
+            }
+            Comparable value = key;
+            Predicate keyAfter = direction.isAscending() ? builder.greaterThan(keyPath, value) : builder.lessThan(keyPath, value);
+            Predicate sameKeyAfter = builder.and(builder.equal(keyPath, value), idAfter);
+            return direction.isAscending()
+                    ? builder.or(keyAfter, sameKeyAfter, builder.isNull(keyPath))
+                    : builder.or(keyAfter, sameKeyAfter);
+        };
+    }
+
+    private static String format(Comparable<?> key) {
+        return key instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(key);
+    }
+
+    private static Comparable<?> parse(String value, Class<?> keyType) {
+        if (keyType == String.class) {
+            return value;
+        }
+        if (keyType == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        if (keyType == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+        if (keyType == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (keyType == UUID.class) {
+            return UUID.fromString(value);
+        }
+        throw new IllegalStateException("Unsupported cursor key type: " + keyType);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.kooking.utils;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.*;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.UserPreferences;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of the preference fields recommendations are scored against.
+ * <p>
+ * Users with the same preferences share a {@link #fingerprint()}, so their candidate pool is computed
+ * once and served to all of them from the feed cache.
+ */
+public record PreferenceProfile(Set<CuisineType> cuisines, Set<MealType> mealTypes, Set<DietType> dietaryRestrictions,
+                                Set<CookingMethod> cookingMethods, DifficultyLevel difficulty) {
+    public static final PreferenceProfile NONE = new PreferenceProfile(Set.of(), Set.of(), Set.of(), Set.of(), null);
+
+    private static final double CUISINE_WEIGHT = 3;
+    private static final double MEAL_TYPE_WEIGHT = 2;
+    private static final double CURRENT_MEAL_TYPE_WEIGHT = 1;
+    private static final double COOKING_METHOD_WEIGHT = 1;
+    private static final double DIFFICULTY_WEIGHT = 1;
+    private static final double RATING_WEIGHT = 1;
+    private static final double POPULARITY_WEIGHT = 0.5;
+
+    public PreferenceProfile {
+        cuisines = copy(cuisines);
+        mealTypes = copy(mealTypes);
+        // NONE is what the form sends for "no restriction"; it must not filter out restricted recipes
+        dietaryRestrictions = copy(dietaryRestrictions).stream()
+                .filter(diet -> diet != DietType.NONE)
+                .collect(Collectors.toUnmodifiableSet());
+        cookingMethods = copy(cookingMethods);
+    }
+
+    public static PreferenceProfile of(UserPreferences preferences) {
+        if (preferences == null) {
+            return NONE;
+        }
+        return new PreferenceProfile(preferences.getPreferredCuisine(), preferences.getPreferredMealTypes(),
+                preferences.getDietaryRestrictions(), preferences.getPreferredCookingMethods(),
+                preferences.getPreferredDifficulty());
+    }
+
+    public boolean isEmpty() {
+        return cuisines.isEmpty() && mealTypes.isEmpty() && dietaryRestrictions.isEmpty()
+                && cookingMethods.isEmpty() && difficulty == null;
+    }
+
+    /**
+     * Canonical form of the preferences, independent of set iteration order.
+     */
+    public String fingerprint() {
+        return "c=" + names(cuisines) + ";m=" + names(mealTypes) + ";d=" + names(dietaryRestrictions)
+                + ";k=" + names(cookingMethods) + ";l=" + (difficulty == null ? "" : difficulty.name());
+    }
+
+    /**
+     * Diets a recipe may have to be shown at all: those satisfying every dietary restriction. Vegan recipes
+     * also satisfy vegetarian and dairy-free restrictions. Empty when the user has no restrictions, and also
+     * when no single diet satisfies all of them.
+     */
+    public Set<DietType> allowedDiets() {
+        Set<DietType> allowed = EnumSet.noneOf(DietType.class);
+        if (dietaryRestrictions.isEmpty()) {
+            return allowed;
+        }
+        for (DietType diet : DietType.values()) {
+            if (diet != DietType.NONE && dietaryRestrictions.stream().allMatch(restriction -> satisfies(diet, restriction))) {
+                allowed.add(diet);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Hard filter: recipes outside the dietary restrictions are never recommended.
+     */
+    public Specification<Recipe> dietSpecification() {
+        if (dietaryRestrictions.isEmpty()) {
+            return (root, query, cb) -> null;
+        }
+        Set<DietType> allowed = allowedDiets();
+        // Restrictions no single diet satisfies, e.g. keto and paleo, rule out every recipe
+        return (root, query, cb) -> allowed.isEmpty() ? cb.disjunction() : root.get("dietType").in(allowed);
+    }
+
+    /**
+     * Recipes matching at least one soft preference; scoring orders them afterwards.
+     */
+    public Specification<Recipe> candidateSpecification() {
+        return dietSpecification().and((root, query, cb) -> {
+            List<Predicate> matches = new ArrayList<>();
+            if (!cuisines.isEmpty()) {
+                matches.add(root.get("cuisine").in(cuisines));
+            }
+            if (!mealTypes.isEmpty()) {
+                matches.add(root.get("mealType").in(mealTypes));
+            }
+            if (!cookingMethods.isEmpty()) {
+                matches.add(root.get("cookingMethod").in(cookingMethods));
+            }
+            if (difficulty != null) {
+                matches.add(cb.equal(root.get("difficulty"), difficulty));
+            }
+            return matches.isEmpty() ? null : cb.or(matches.toArray(new Predicate[0]));
+        });
+    }
+
+    /**
+     * Weighted preference matches plus a small quality term, so that well-rated and popular recipes win
+     * among equally good matches. {@code maxPopularity} normalizes popularity across the candidate pool.
+     * Recipe attributes may be null; the immutable preference sets reject {@code contains(null)}.
+     */
+    public double score(RecipeCardDto recipe, MealType currentMealType, int maxPopularity) {
+        double score = 0;
+        if (recipe.getCuisine() != null && cuisines.contains(recipe.getCuisine())) {
+            score += CUISINE_WEIGHT;
+        }
+        if (recipe.getMealType() != null && mealTypes.contains(recipe.getMealType())) {
+            score += MEAL_TYPE_WEIGHT;
+        }
+        if (recipe.getMealType() == currentMealType) {
+            score += CURRENT_MEAL_TYPE_WEIGHT;
+        }
+        if (recipe.getCookingMethod() != null && cookingMethods.contains(recipe.getCookingMethod())) {
+            score += COOKING_METHOD_WEIGHT;
+        }
+        if (difficulty != null && difficulty == recipe.getDifficulty()) {
+            score += DIFFICULTY_WEIGHT;
+        }
+        if (recipe.getRating() != null) {
+            score += RATING_WEIGHT * recipe.getRating().doubleValue() / 5;
+        }
+        if (maxPopularity > 0) {
+            score += POPULARITY_WEIGHT * recipe.getPopularity() / maxPopularity;
+        }
+        return score;
+    }
+
+    private static boolean satisfies(DietType diet, DietType restriction) {
+        return diet == restriction
+                || diet == DietType.VEGAN && (restriction == DietType.VEGETARIAN || restriction == DietType.DAIRY_FREE);
+    }
+
+    private static <E extends Enum<E>> Set<E> copy(Set<E> values) {
+        return values == null ? Set.of() : Set.copyOf(values);
+    }
+
+    private static String names(Set<? extends Enum<?>> values) {
+        return values.stream().map(Enum::name).sorted().collect(Collectors.joining(","));
+    }
+}
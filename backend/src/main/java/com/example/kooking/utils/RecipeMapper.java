@@ -20,8 +20,31 @@ public interface RecipeMapper {
     @Mapping(target = "ingredients", source = "ingredients")
     RecipeDetailDto recipeToRecipeDetailDto(Recipe recipe);
 
+    // Detail view with an author loaded separately, so the lazy author proxy is never touched
+    default RecipeDetailDto recipeToRecipeDetailDto(Recipe recipe, UserProfileDto author) {
+        RecipeDetailDto detailDto = recipeToRecipeDetailDtoWithoutAuthor(recipe);
+        detailDto.setAuthor(author);
+        return detailDto;
+    }
+
+    @Named("recipeToRecipeDetailDtoWithoutAuthor")
+    @Mapping(target = "ingredients", source = "ingredients")
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "isFavorite", ignore = true)
+    RecipeDetailDto recipeToRecipeDetailDtoWithoutAuthor(Recipe recipe);
+
     RecipeBriefDto recipeToRecipeBriefDto(Recipe recipe);
 
+    default RecipeBriefDto recipeToRecipeBriefDto(Recipe recipe, UserProfileDto author) {
+        RecipeBriefDto briefDto = recipeToRecipeBriefDtoWithoutAuthor(recipe);
+        briefDto.setAuthor(author);
+        return briefDto;
+    }
+
+    @Named("recipeToRecipeBriefDtoWithoutAuthor")
+    @Mapping(target = "author", ignore = true)
+    RecipeBriefDto recipeToRecipeBriefDtoWithoutAuthor(Recipe recipe);
+
     @Named("mapRecipeIngredient")
     default RecipeIngredientDto mapRecipeIngredient(RecipeIngredient recipeIngredient) {
         if (recipeIngredient == null) {
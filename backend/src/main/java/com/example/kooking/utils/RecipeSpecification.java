@@ -4,108 +4,168 @@ import com.example.kooking.dto.AdvancedRecipeFilterCriteria;
 import com.example.kooking.dto.RecipeFilterCriteria;
 import com.example.kooking.enums.CuisineType;
 import com.example.kooking.enums.MealType;
+import com.example.kooking.enums.RecipeSearchMode;
+import com.example.kooking.model.FavoriteRecipe;
 import com.example.kooking.model.Ingredient;
 import com.example.kooking.model.Recipe;
+import com.example.kooking.model.RecipeIngredient;
 import com.example.kooking.model.User;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 public class RecipeSpecification {
 
     public static Specification<Recipe> advancedFilterByCriteria(AdvancedRecipeFilterCriteria criteria) {
+        return advancedFilterByAttributes(criteria)
+                .and(ingredientExists(criteria.getIncludeIngredients(), criteria.getExcludeIngredients()));
+    }
+
+    /**
+     * Ingredient filters expressed as one correlated EXISTS subquery per ingredient.
+     */
+    public static Specification<Recipe> ingredientExists(Collection<UUID> include, Collection<UUID> exclude) {
         return (root, query, builder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            if (criteria.getSearch() != null && !criteria.getSearch().trim().isEmpty()) {
-                predicates.add(builder.like(
-                        builder.lower(root.get("name")),
-                        "%" + criteria.getSearch().toLowerCase() + "%"
-                ));
-            }
-
             // Handle included ingredients with join and exists subquery
-            if (criteria.getIncludeIngredients() != null && !criteria.getIncludeIngredients().isEmpty()) {
+            if (include != null && !include.isEmpty()) {
                 // For each ingredient that should be included
-                for (UUID ingredientId : criteria.getIncludeIngredients()) {
-                    // Create a subquery
-                    Subquery<Recipe> subquery = query.subquery(Recipe.class);
-                    Root<Recipe> subRoot = subquery.from(Recipe.class);
-                    Join<Recipe, Ingredient> ingredientJoin = subRoot.join("ingredients");
-
-                    // Add a predicate to check if the recipe has this ingredient
-                    subquery.select(subRoot)
-                            .where(
-                                    builder.and(
-                                            builder.equal(subRoot.get("id"), root.get("id")),
-                                            builder.equal(ingredientJoin.get("id"), ingredientId)
-                                    )
-                            );
-
-                    predicates.add(builder.exists(subquery));
+                for (UUID ingredientId : include) {
+                    predicates.add(builder.exists(hasIngredientSubquery(root, query, builder, ingredientId)));
                 }
             }
 
             // Handle excluded ingredients with join and not exists subquery
-            if (criteria.getExcludeIngredients() != null && !criteria.getExcludeIngredients().isEmpty()) {
-                for (UUID ingredientId : criteria.getExcludeIngredients()) {
-                    // Create a subquery
-                    Subquery<Recipe> subquery = query.subquery(Recipe.class);
-                    Root<Recipe> subRoot = subquery.from(Recipe.class);
-                    Join<Recipe, Ingredient> ingredientJoin = subRoot.join("ingredients");
-
-                    // Add a predicate to check if the recipe has this ingredient
-                    subquery.select(subRoot)
-                            .where(
-                                    builder.and(
-                                            builder.equal(subRoot.get("id"), root.get("id")),
-                                            builder.equal(ingredientJoin.get("id"), ingredientId)
-                                    )
-                            );
-
+            if (exclude != null && !exclude.isEmpty()) {
+                for (UUID ingredientId : exclude) {
                     // We want recipes that do NOT have this ingredient
-                    predicates.add(builder.not(builder.exists(subquery)));
+                    predicates.add(builder.not(builder.exists(hasIngredientSubquery(root, query, builder, ingredientId))));
                 }
             }
 
-            // Rest of your criteria handling remains the same
-            if (criteria.getMaxCookingTime() != null) {
-                predicates.add(builder.lessThanOrEqualTo(root.get("cookingTime"), criteria.getMaxCookingTime()));
-            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-            if (criteria.getCuisines() != null && !criteria.getCuisines().isEmpty()) {
-                predicates.add(root.get("cuisine").in(criteria.getCuisines()));
-            }
+    /**
+     * Same filters as {@link #advancedFilterByCriteria} but without the ingredient clauses,
+     * for callers that apply the ingredient filters with a different plan.
+     */
+    public static Specification<Recipe> advancedFilterByAttributes(AdvancedRecipeFilterCriteria criteria) {
+        return advancedFilterByAttributes(criteria, RecipeSearchMode.LIKE);
+    }
 
-            if (criteria.getMealTypes() != null && !criteria.getMealTypes().isEmpty()) {
-                predicates.add(root.get("mealType").in(criteria.getMealTypes()));
-            }
+    /**
+     * Attribute filters for the given search mode; in {@code TEXT} mode the search term is left to the text index.
+     */
+    public static Specification<Recipe> advancedFilterByAttributes(AdvancedRecipeFilterCriteria criteria, RecipeSearchMode searchMode) {
+        return (root, query, builder) ->
+                builder.and(attributePredicates(criteria, searchMode, root, builder).toArray(new Predicate[0]));
+    }
 
-            if (criteria.getDietTypes() != null && !criteria.getDietTypes().isEmpty()) {
-                predicates.add(root.get("dietType").in(criteria.getDietTypes()));
-            }
+    /**
+     * Matches recipes containing every ingredient in {@code include} and none in {@code exclude}.
+     * The includes are resolved with one grouped recipe_ingredients scan and the excludes with a
+     * single anti-join, so the query shape does not grow with the number of selected ingredients.
+     */
+    public static Specification<Recipe> ingredientMatch(Collection<UUID> include, Collection<UUID> exclude) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
 
-            if (criteria.getCookingMethods() != null && !criteria.getCookingMethods().isEmpty()) {
-                predicates.add(root.get("cookingMethod").in(criteria.getCookingMethods()));
+            if (include != null && !include.isEmpty()) {
+                Set<UUID> includeIds = new HashSet<>(include);
+                Subquery<UUID> subquery = query.subquery(UUID.class);
+                Root<RecipeIngredient> recipeIngredient = subquery.from(RecipeIngredient.class);
+                Path<UUID> recipeId = recipeIngredient.<Recipe>get("recipe").get("id");
+                Path<UUID> ingredientId = recipeIngredient.<Ingredient>get("ingredient").get("id");
+
+                subquery.select(recipeId)
+                        .where(ingredientId.in(includeIds))
+                        .groupBy(recipeId)
+                        .having(builder.equal(builder.countDistinct(ingredientId), (long) includeIds.size()));
+                predicates.add(root.get("id").in(subquery));
             }
 
-            if (criteria.getDifficulties() != null && !criteria.getDifficulties().isEmpty()) {
-                predicates.add(root.get("difficulty").in(criteria.getDifficulties()));
-            }
+            if (exclude != null && !exclude.isEmpty()) {
+                Subquery<UUID> subquery = query.subquery(UUID.class);
+                Root<RecipeIngredient> recipeIngredient = subquery.from(RecipeIngredient.class);
 
-            // Important: For count queries, we need to make them distinct to avoid duplicates
-            query.distinct(true);
+                subquery.select(recipeIngredient.get("id"))
+                        .where(builder.equal(recipeIngredient.get("recipe"), root),
+                                recipeIngredient.<Ingredient>get("ingredient").get("id").in(exclude));
+                predicates.add(builder.not(builder.exists(subquery)));
+            }
 
             return builder.and(predicates.toArray(new Predicate[0]));
         };
     }
 
+    public static Specification<Recipe> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Recipe> idNotIn(Collection<UUID> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? null : cb.not(root.get("id").in(ids));
+    }
+
+    private static Subquery<Recipe> hasIngredientSubquery(Root<Recipe> root, CriteriaQuery<?> query,
+                                                          CriteriaBuilder builder, UUID ingredientId) {
+        Subquery<Recipe> subquery = query.subquery(Recipe.class);
+        Root<Recipe> subRoot = subquery.from(Recipe.class);
+        Join<Recipe, RecipeIngredient> ingredientJoin = subRoot.join("ingredients");
+
+        // Add a predicate to check if the recipe has this ingredient
+        return subquery.select(subRoot)
+                .where(
+                        builder.and(
+                                builder.equal(subRoot.get("id"), root.get("id")),
+                                builder.equal(ingredientJoin.get("ingredient").get("id"), ingredientId)
+                        )
+                );
+    }
+
+    private static List<Predicate> attributePredicates(AdvancedRecipeFilterCriteria criteria, RecipeSearchMode searchMode,
+                                                       Root<Recipe> root, CriteriaBuilder builder) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // In TEXT mode the search term is resolved by the text index, not by the query
+        if (criteria.getSearch() != null && !criteria.getSearch().trim().isEmpty()
+                && searchMode != RecipeSearchMode.TEXT) {
+            predicates.add(builder.like(
+                    builder.lower(root.get("name")),
+                    "%" + criteria.getSearch().toLowerCase() + "%"
+            ));
+        }
+
+        if (criteria.getMaxCookingTime() != null) {
+            predicates.add(builder.lessThanOrEqualTo(root.get("cookingTime"), criteria.getMaxCookingTime()));
+        }
+
+        if (criteria.getCuisines() != null && !criteria.getCuisines().isEmpty()) {
+            predicates.add(root.get("cuisine").in(criteria.getCuisines()));
+        }
+
+        if (criteria.getMealTypes() != null && !criteria.getMealTypes().isEmpty()) {
+            predicates.add(root.get("mealType").in(criteria.getMealTypes()));
+        }
+
+        if (criteria.getDietTypes() != null && !criteria.getDietTypes().isEmpty()) {
+            predicates.add(root.get("dietType").in(criteria.getDietTypes()));
+        }
+
+        if (criteria.getCookingMethods() != null && !criteria.getCookingMethods().isEmpty()) {
+            predicates.add(root.get("cookingMethod").in(criteria.getCookingMethods()));
+        }
+
+        if (criteria.getDifficulties() != null && !criteria.getDifficulties().isEmpty()) {
+            predicates.add(root.get("difficulty").in(criteria.getDifficulties()));
+        }
+
+        return predicates;
+    }
+
     public static Specification<Recipe> filterByCriteria(RecipeFilterCriteria criteria) {
         return (root, query, builder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -136,6 +196,16 @@ public class RecipeSpecification {
         return (root, query, cb) -> cb.equal(root.get("author"), author);
     }
 
+    public static Specification<Recipe> favoritedBy(User user) {
+        return (root, query, cb) -> {
+            Subquery<UUID> favorites = query.subquery(UUID.class);
+            Root<FavoriteRecipe> favorite = favorites.from(FavoriteRecipe.class);
+            favorites.select(favorite.get("recipe").get("id"))
+                    .where(cb.equal(favorite.get("user"), user));
+            return root.get("id").in(favorites);
+        };
+    }
+
     public static Specification<Recipe> nameContains(String name) {
         return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
     }
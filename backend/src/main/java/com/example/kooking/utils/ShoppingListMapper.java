@@ -1,7 +1,11 @@
 package com.example.kooking.utils;
 
+import com.example.kooking.dto.ShoppingListChangeDto;
 import com.example.kooking.dto.ShoppingListDto;
+import com.example.kooking.dto.ShoppingListItemDto;
 import com.example.kooking.model.ShoppingList;
+import com.example.kooking.model.ShoppingListChange;
+import com.example.kooking.model.ShoppingListItem;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -13,5 +17,14 @@ public interface ShoppingListMapper {
     @Mapping(target = "ingredients", source = "ingredients")
     ShoppingListDto shoppingListToShoppingListDto(ShoppingList shoppingList);
 
+    @Mapping(target = "ingredientId", source = "ingredient.id")
+    @Mapping(target = "ingredientName", source = "ingredient.name")
+    ShoppingListItemDto shoppingListItemToShoppingListItemDto(ShoppingListItem item);
+
+    @Mapping(target = "type", source = "operation")
+    ShoppingListChangeDto shoppingListChangeToShoppingListChangeDto(ShoppingListChange change);
+
+    List<ShoppingListChangeDto> shoppingListChangesToShoppingListChangeDtos(List<ShoppingListChange> changes);
+
     List<ShoppingListDto> shoppingListsToShoppingListDtos(List<ShoppingList> shoppingLists);
 }
\ No newline at end of file
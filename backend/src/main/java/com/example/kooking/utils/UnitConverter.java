@@ -0,0 +1,106 @@
+package com.example.kooking.utils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Normalizes the free-text units of recipe ingredient lines so quantities of the same ingredient can be summed.
+ * <p>
+ * Mass is converted to grams and volume to millilitres; count words ("piece", "pcs") collapse to no unit.
+ * Anything else is only trimmed and lower-cased, so "Pinch" and "pinch" add up but never mix with grams.
+ */
+public final class UnitConverter {
+
+    public record Measure(double quantity, String unit) {
+    }
+
+    private record Factor(String baseUnit, double toBase) {
+    }
+
+    private static final String GRAM = "g";
+    private static final String MILLILITRE = "ml";
+
+    private static final Map<String, Factor> FACTORS = Map.ofEntries(
+            Map.entry("mg", new Factor(GRAM, 0.001)),
+            Map.entry("g", new Factor(GRAM, 1)),
+            Map.entry("gr", new Factor(GRAM, 1)),
+            Map.entry("gram", new Factor(GRAM, 1)),
+            Map.entry("grams", new Factor(GRAM, 1)),
+            Map.entry("kg", new Factor(GRAM, 1000)),
+            Map.entry("kilogram", new Factor(GRAM, 1000)),
+            Map.entry("kilograms", new Factor(GRAM, 1000)),
+            Map.entry("oz", new Factor(GRAM, 28.3495)),
+            Map.entry("ounce", new Factor(GRAM, 28.3495)),
+            Map.entry("ounces", new Factor(GRAM, 28.3495)),
+            Map.entry("lb", new Factor(GRAM, 453.592)),
+            Map.entry("lbs", new Factor(GRAM, 453.592)),
+            Map.entry("pound", new Factor(GRAM, 453.592)),
+            Map.entry("pounds", new Factor(GRAM, 453.592)),
+            Map.entry("ml", new Factor(MILLILITRE, 1)),
+            Map.entry("millilitre", new Factor(MILLILITRE, 1)),
+            Map.entry("millilitres", new Factor(MILLILITRE, 1)),
+            Map.entry("milliliter", new Factor(MILLILITRE, 1)),
+            Map.entry("milliliters", new Factor(MILLILITRE, 1)),
+            Map.entry("cl", new Factor(MILLILITRE, 10)),
+            Map.entry("dl", new Factor(MILLILITRE, 100)),
+            Map.entry("l", new Factor(MILLILITRE, 1000)),
+            Map.entry("litre", new Factor(MILLILITRE, 1000)),
+            Map.entry("litres", new Factor(MILLILITRE, 1000)),
+            Map.entry("liter", new Factor(MILLILITRE, 1000)),
+            Map.entry("liters", new Factor(MILLILITRE, 1000)),
+            Map.entry("tsp", new Factor(MILLILITRE, 4.92892)),
+            Map.entry("teaspoon", new Factor(MILLILITRE, 4.92892)),
+            Map.entry("teaspoons", new Factor(MILLILITRE, 4.92892)),
+            Map.entry("tbsp", new Factor(MILLILITRE, 14.7868)),
+            Map.entry("tablespoon", new Factor(MILLILITRE, 14.7868)),
+            Map.entry("tablespoons", new Factor(MILLILITRE, 14.7868)),
+            Map.entry("fl oz", new Factor(MILLILITRE, 29.5735)),
+            Map.entry("cup", new Factor(MILLILITRE, 236.588)),
+            Map.entry("cups", new Factor(MILLILITRE, 236.588)),
+            Map.entry("pint", new Factor(MILLILITRE, 473.176)),
+            Map.entry("pints", new Factor(MILLILITRE, 473.176))
+    );
+
+    private static final Set<String> COUNT_UNITS = Set.of(
+            "pc", "pcs", "piece", "pieces", "whole", "x");
+
+    private UnitConverter() {
+    }
+
+    /**
+     * Converts a quantity to its base unit; the returned unit is the aggregation key, {@code null} for plain counts.
+     */
+    public static Measure toBase(double quantity, String unit) {
+        String key = normalize(unit);
+        if (key == null) {
+            return new Measure(quantity, null);
+        }
+        Factor factor = FACTORS.get(key);
+        return factor == null ? new Measure(quantity, key) : new Measure(quantity * factor.toBase(), factor.baseUnit());
+    }
+
+    /**
+     * Picks a readable unit for an aggregated base quantity, so 1500 g is listed as 1.5 kg.
+     */
+    public static Measure toDisplay(Measure base) {
+        double quantity = base.quantity();
+        String unit = base.unit();
+        if (quantity >= 1000 && GRAM.equals(unit)) {
+            quantity /= 1000;
+            unit = "kg";
+        } else if (quantity >= 1000 && MILLILITRE.equals(unit)) {
+            quantity /= 1000;
+            unit = "l";
+        }
+        return new Measure(Math.round(quantity * 100) / 100.0, unit);
+    }
+
+    private static String normalize(String unit) {
+        if (unit == null) {
+            return null;
+        }
+        String key = unit.trim().toLowerCase(Locale.ROOT).replaceAll("\\.$", "").replaceAll("\\s+", " ");
+        return key.isEmpty() || COUNT_UNITS.contains(key) ? null : key;
+    }
+}
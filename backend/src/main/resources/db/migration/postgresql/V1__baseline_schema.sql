@@ -0,0 +1,118 @@
+-- Baseline schema, matching the JPA mappings that ddl-auto=update used to create
+
+CREATE TABLE users (
+    id            UUID         NOT NULL PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE user_roles (
+    user_id UUID NOT NULL REFERENCES users (id),
+    roles   VARCHAR(255)
+);
+
+CREATE TABLE user_preferences (
+    id                   UUID NOT NULL PRIMARY KEY,
+    preferred_difficulty VARCHAR(255),
+    user_id              UUID NOT NULL UNIQUE REFERENCES users (id)
+);
+
+CREATE TABLE user_preferences_preferred_cuisine (
+    user_preferences_id UUID NOT NULL REFERENCES user_preferences (id),
+    preferred_cuisine   VARCHAR(255)
+);
+
+CREATE TABLE user_preferences_preferred_meal_types (
+    user_preferences_id  UUID NOT NULL REFERENCES user_preferences (id),
+    preferred_meal_types VARCHAR(255)
+);
+
+CREATE TABLE user_preferences_dietary_restrictions (
+    user_preferences_id  UUID NOT NULL REFERENCES user_preferences (id),
+    dietary_restrictions VARCHAR(255)
+);
+
+CREATE TABLE user_preferences_preferred_cooking_methods (
+    user_preferences_id       UUID NOT NULL REFERENCES user_preferences (id),
+    preferred_cooking_methods VARCHAR(255)
+);
+
+CREATE TABLE ingredients (
+    id                UUID         NOT NULL PRIMARY KEY,
+    name              VARCHAR(255) NOT NULL UNIQUE,
+    category          VARCHAR(255),
+    description       TEXT,
+    nutritional_value TEXT
+);
+
+CREATE TABLE ingredient_substitutes (
+    ingredient_id UUID NOT NULL REFERENCES ingredients (id),
+    substitute_id UUID NOT NULL REFERENCES ingredients (id),
+    PRIMARY KEY (ingredient_id, substitute_id)
+);
+
+CREATE TABLE recipes (
+    id             UUID          NOT NULL PRIMARY KEY,
+    name           VARCHAR(255)  NOT NULL,
+    description    TEXT,
+    cuisine        VARCHAR(255)  NOT NULL,
+    meal_type      VARCHAR(255)  NOT NULL,
+    cooking_time   INTEGER       NOT NULL,
+    diet_type      VARCHAR(255),
+    cooking_method VARCHAR(255),
+    difficulty     VARCHAR(255),
+    instructions   TEXT,
+    image_url      VARCHAR(255),
+    rating         NUMERIC(2, 1) NOT NULL,
+    popularity     INTEGER       NOT NULL,
+    rating_sum     BIGINT        NOT NULL DEFAULT 0,
+    rating_count   BIGINT        NOT NULL DEFAULT 0,
+    rating_1_count BIGINT        NOT NULL DEFAULT 0,
+    rating_2_count BIGINT        NOT NULL DEFAULT 0,
+    rating_3_count BIGINT        NOT NULL DEFAULT 0,
+    rating_4_count BIGINT        NOT NULL DEFAULT 0,
+    rating_5_count BIGINT        NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP(6),
+    author_id      UUID          NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE recipe_ingredients (
+    id            UUID             NOT NULL PRIMARY KEY,
+    recipe_id     UUID             NOT NULL REFERENCES recipes (id),
+    ingredient_id UUID             NOT NULL REFERENCES ingredients (id),
+    quantity      DOUBLE PRECISION NOT NULL,
+    unit          VARCHAR(255),
+    notes         VARCHAR(255)
+);
+
+CREATE TABLE user_favorite_recipes (
+    id        UUID NOT NULL PRIMARY KEY,
+    user_id   UUID NOT NULL REFERENCES users (id),
+    recipe_id UUID NOT NULL REFERENCES recipes (id)
+);
+
+CREATE TABLE reviews (
+    id         UUID         NOT NULL PRIMARY KEY,
+    user_id    UUID         NOT NULL REFERENCES users (id),
+    recipe_id  UUID         NOT NULL REFERENCES recipes (id),
+    rating     INTEGER      NOT NULL,
+    comment    TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE shopping_lists (
+    id         UUID         NOT NULL PRIMARY KEY,
+    user_id    UUID         NOT NULL REFERENCES users (id),
+    status     VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE shopping_list_ingredients (
+    shopping_list_id UUID NOT NULL REFERENCES shopping_lists (id),
+    ingredient_id    UUID NOT NULL REFERENCES ingredients (id),
+    PRIMARY KEY (shopping_list_id, ingredient_id)
+);
@@ -0,0 +1,29 @@
+-- Indexes for the feed, search, detail and favorites queries
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Popular and top-rated feeds, and their sort orders in the advanced search
+CREATE INDEX idx_recipes_popularity ON recipes (popularity);
+CREATE INDEX idx_recipes_rating ON recipes (rating);
+-- "My recipes" and the author's newest-first listing
+CREATE INDEX idx_recipes_author_created ON recipes (author_id, created_at);
+-- Substring search on lower(name) LIKE '%term%', which a B-tree cannot serve
+CREATE INDEX idx_recipes_name_trgm ON recipes USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_ingredients_name_trgm ON ingredients USING gin (lower(name) gin_trgm_ops);
+
+-- Ingredient filters and the ingredient index rebuild; recipe_id comes along so the join needs no heap access
+CREATE INDEX idx_recipe_ingredients_ingredient_recipe ON recipe_ingredients (ingredient_id, recipe_id);
+-- Detail view loads ingredient lines by recipe
+CREATE INDEX idx_recipe_ingredients_recipe ON recipe_ingredients (recipe_id);
+
+-- Reviews of a recipe, newest first, and the rating reconciliation subqueries
+CREATE INDEX idx_reviews_recipe_created ON reviews (recipe_id, created_at);
+
+-- A recipe can be favorited once per user; also serves the favorites page and existence checks
+-- Databases adopted from ddl-auto=update may hold duplicate rows from concurrent requests
+DELETE FROM user_favorite_recipes a
+    USING user_favorite_recipes b
+    WHERE a.user_id = b.user_id AND a.recipe_id = b.recipe_id AND a.id > b.id;
+CREATE UNIQUE INDEX uk_user_favorite_recipes_user_recipe ON user_favorite_recipes (user_id, recipe_id);
+
+CREATE INDEX idx_shopping_lists_user_created ON shopping_lists (user_id, created_at);
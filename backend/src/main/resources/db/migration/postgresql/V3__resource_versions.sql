@@ -0,0 +1,13 @@
+-- Version columns behind the ETag / Last-Modified headers of the public read endpoints
+
+ALTER TABLE recipes ADD COLUMN updated_at TIMESTAMP(6);
+ALTER TABLE recipes ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+UPDATE recipes SET updated_at = COALESCE(created_at, LOCALTIMESTAMP);
+
+CREATE TABLE catalog_versions (
+    name       VARCHAR(255) NOT NULL PRIMARY KEY,
+    version    BIGINT       NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO catalog_versions (name, version, updated_at) VALUES ('ingredients', 1, LOCALTIMESTAMP);
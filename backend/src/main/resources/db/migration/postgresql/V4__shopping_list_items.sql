@@ -0,0 +1,11 @@
+-- Quantity-bearing shopping list lines, filled when a list is built from recipes
+
+CREATE TABLE shopping_list_items (
+    id               UUID             NOT NULL PRIMARY KEY,
+    shopping_list_id UUID             NOT NULL REFERENCES shopping_lists (id),
+    ingredient_id    UUID             NOT NULL REFERENCES ingredients (id),
+    quantity         DOUBLE PRECISION NOT NULL,
+    unit             VARCHAR(255)
+);
+
+CREATE INDEX idx_shopping_list_items_list ON shopping_list_items (shopping_list_id);
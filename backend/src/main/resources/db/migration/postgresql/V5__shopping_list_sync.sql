@@ -0,0 +1,20 @@
+-- Delta sync for shopping lists: a version per list, checked-off ingredients and the change log clients replay
+
+ALTER TABLE shopping_lists ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE shopping_list_checked_ingredients (
+    shopping_list_id UUID NOT NULL REFERENCES shopping_lists (id),
+    ingredient_id    UUID NOT NULL,
+    PRIMARY KEY (shopping_list_id, ingredient_id)
+);
+
+CREATE TABLE shopping_list_changes (
+    id               UUID         NOT NULL PRIMARY KEY,
+    shopping_list_id UUID         NOT NULL REFERENCES shopping_lists (id),
+    version          BIGINT       NOT NULL,
+    operation        VARCHAR(255) NOT NULL,
+    ingredient_id    UUID         NOT NULL,
+    changed_at       TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_shopping_list_changes_list_version ON shopping_list_changes (shopping_list_id, version);
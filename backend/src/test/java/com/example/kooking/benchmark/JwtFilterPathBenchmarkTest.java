@@ -0,0 +1,83 @@
+package com.example.kooking.benchmark;
+
+import com.example.kooking.config.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the token handling done by the JWT filter on every request: the previous path (decode the
+ * key and parse the token twice, once to validate and once for the subject), a single parse with a
+ * reused parser, and the verified-token cache.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class JwtFilterPathBenchmarkTest {
+    private static final String SECRET = "9df8505bb4eb7833d0f07cebec765d065344850a4548a5f8c3a9ffea5c01e6bd";
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    @Test
+    void compareFilterPaths() {
+        JwtService parseOnce = new JwtService(SECRET, false, Duration.ofSeconds(30), 10_000);
+        JwtService cached = new JwtService(SECRET, true, Duration.ofSeconds(30), 10_000);
+        String token = parseOnce.generateToken("benchmark@example.com");
+
+        Function<String, String> previous = JwtFilterPathBenchmarkTest::previousFilterPath;
+        Function<String, String> single = t -> parseOnce.verify(t).map(Claims::getSubject).orElse(null);
+        Function<String, String> cachedPath = t -> cached.verify(t).map(Claims::getSubject).orElse(null);
+
+        assertEquals("benchmark@example.com", previous.apply(token));
+        assertEquals("benchmark@example.com", single.apply(token));
+        assertEquals("benchmark@example.com", cachedPath.apply(token));
+
+        System.out.printf("%-12s %12s%n", "path", "avg ns/req");
+        System.out.printf("%-12s %12.0f%n", "previous", measure(previous, token));
+        System.out.printf("%-12s %12.0f%n", "parse-once", measure(single, token));
+        System.out.printf("%-12s %12.0f%n", "cached", measure(cachedPath, token));
+    }
+
+    // What JwtAuthFilter used to do: validateToken and extractSubject, each rebuilding the key and parser
+    private static String previousFilterPath(String token) {
+        Claims validated = parse(token);
+        if (validated.getExpiration().getTime() <= System.currentTimeMillis() || validated.getSubject() == null) {
+            return null;
+        }
+        return parse(token).getSubject();
+    }
+
+    private static Claims parse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static double measure(Function<String, String> path, String token) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += path.apply(token).length();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += path.apply(token).length();
+        }
+        long elapsed = System.nanoTime() - started;
+        if (sink == 42) {
+            System.out.println();
+        }
+        return (double) elapsed / MEASURED_ROUNDS;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.kooking.benchmark;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.*;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.User;
+import com.example.kooking.repository.RecipeRepository;
+import com.example.kooking.repository.UserRepository;
+import com.example.kooking.utils.RecipeMapper;
+import com.example.kooking.utils.RecipeSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares loading list pages as {@link Recipe} entities mapped through {@link RecipeMapper}
+ * against selecting the card columns straight into {@link RecipeCardDto}.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:card-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.springframework.security=INFO"
+})
+class RecipeCardProjectionBenchmarkTest {
+    private static final int RECIPES = 2_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeMapper recipeMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        User author = userRepository.save(User.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("benchmark@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+
+        String instructions = "Stir gently and season to taste. ".repeat(120);
+        List<Recipe> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            recipes.add(Recipe.builder()
+                    .name("Recipe " + i)
+                    .description("A fairly long description for recipe " + i + ". ".repeat(20))
+                    .cuisine(CuisineType.values()[i % CuisineType.values().length])
+                    .mealType(MealType.values()[i % MealType.values().length])
+                    .cookingTime(10 + i % 90)
+                    .dietType(DietType.values()[i % DietType.values().length])
+                    .cookingMethod(CookingMethod.values()[i % CookingMethod.values().length])
+                    .difficulty(DifficultyLevel.values()[i % DifficultyLevel.values().length])
+                    .instructions(instructions)
+                    .imageUrl("http://example.com/" + i + ".jpg")
+                    .author(author)
+                    .rating(BigDecimal.valueOf(i % 50, 1))
+                    .popularity(i)
+                    .ingredients(new HashSet<>())
+                    .favoritedByUsers(new HashSet<>())
+                    .build());
+        }
+        recipeRepository.saveAll(recipes);
+    }
+
+    @Test
+    void compareEntityMappingWithCardProjection() {
+        Specification<Recipe> spec = RecipeSpecification.nameContains("recipe");
+        Pageable pageable = PageRequest.of(3, 50, Sort.by(Sort.Direction.DESC, "popularity"));
+
+        Supplier<Page<RecipeCardDto>> entities = () -> transactionTemplate.execute(status ->
+                recipeRepository.findAll(spec, pageable).map(recipeMapper::recipeToRecipeCardDto));
+        Supplier<Page<RecipeCardDto>> projection = () -> transactionTemplate.execute(status ->
+                recipeRepository.findCards(spec, pageable));
+
+        assertEquals(entities.get().getContent(), projection.get().getContent());
+
+        Result entityResult = measure(entities);
+        Result projectionResult = measure(projection);
+
+        System.out.printf("%-12s %12s %14s%n", "plan", "avg us/page", "avg KB/page");
+        System.out.printf("%-12s %12.1f %14.1f%n", "entities", entityResult.micros(), entityResult.kilobytes());
+        System.out.printf("%-12s %12.1f %14.1f%n", "projection", projectionResult.micros(), projectionResult.kilobytes());
+    }
+
+    private Result measure(Supplier<Page<RecipeCardDto>> plan) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            plan.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            plan.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Result(elapsed / 1_000.0 / MEASURED_ROUNDS, allocated / 1_024.0 / MEASURED_ROUNDS);
+    }
+
+    private record Result(double micros, double kilobytes) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.kooking.benchmark;
+
+import com.example.kooking.dto.RecipeImportResultDto;
+import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.model.User;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.RecipeImportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the NDJSON import throughput on the embedded H2 database. The target is 10k recipes per minute.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.springframework.security=INFO"
+})
+class RecipeImportBenchmarkTest {
+    private static final int RECIPES = 10_000;
+    private static final int INGREDIENTS = 200;
+    private static final int LINES_PER_RECIPE = 8;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UUID> ingredientIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        userRepository.save(User.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("import-benchmark@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+
+        List<Ingredient> ingredients = new ArrayList<>(INGREDIENTS);
+        for (int i = 0; i < INGREDIENTS; i++) {
+            ingredients.add(Ingredient.builder()
+                    .name("Ingredient " + i)
+                    .category(IngredientCategory.values()[i % IngredientCategory.values().length])
+                    .build());
+        }
+        ingredientRepository.saveAll(ingredients).forEach(ingredient -> ingredientIds.add(ingredient.getId()));
+    }
+
+    @Test
+    void importTenThousandRecipes() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < RECIPES; i++) {
+            ndjson.append("{\"name\":\"Imported ").append(i)
+                    .append("\",\"description\":\"Bulk imported recipe\",\"cuisine\":\"ITALIAN\",\"mealType\":\"DINNER\"")
+                    .append(",\"cookingTime\":").append(10 + i % 90)
+                    .append(",\"instructions\":\"Mix and cook.\",\"ingredients\":[");
+            for (int line = 0; line < LINES_PER_RECIPE; line++) {
+                if (line > 0) {
+                    ndjson.append(',');
+                }
+                ndjson.append("{\"ingredientId\":\"").append(ingredientIds.get((i + line * 7) % INGREDIENTS))
+                        .append("\",\"quantity\":1.5,\"unit\":\"g\"}");
+            }
+            ndjson.append("]}\n");
+        }
+
+        long started = System.nanoTime();
+        RecipeImportResultDto result = recipeImportService.importRecipes(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), "import-benchmark@example.com");
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        assertEquals(RECIPES, result.getImported(), () -> "errors: " + result.getErrors());
+        System.out.printf("imported %d recipes in %.2f s (%.0f recipes/minute)%n", RECIPES, seconds, RECIPES / seconds * 60);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.kooking.benchmark;
+
+import com.example.kooking.KookingApplication;
+import com.example.kooking.enums.*;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.RecipeIngredient;
+import com.example.kooking.model.User;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.repository.RecipeRepository;
+import com.example.kooking.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the backend twice, once on platform Tomcat threads and once with the {@code virtual-threads} profile,
+ * and drives the advanced search and the recipe detail endpoints with many concurrent clients.
+ * Prints throughput, latency percentiles and, for the virtual-thread run, the pinning recorded through JFR.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+    private static final int RECIPES = 2_000;
+    private static final int INGREDIENTS = 100;
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.addAll(run(false));
+        report.addAll(run(true));
+
+        System.out.printf("%-9s %-16s %10s %9s %9s %9s %7s%n", "threads", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        report.forEach(System.out::println);
+    }
+
+    private List<String> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(KookingApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.org.springframework.security=INFO",
+                        "recipes.ratings.reconcile-on-startup=false");
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            UUID recipeId = seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String base = "http://localhost:" + port + "/api/recipes";
+
+            Map<String, URI> endpoints = new LinkedHashMap<>();
+            endpoints.put("advanced-search", URI.create(base + "/advanced-search?search=recipe&cuisines=ITALIAN,FRENCH&maxCookingTime=60&sortBy=popularity"));
+            endpoints.put("recipe-detail", URI.create(base + "/" + recipeId));
+
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, URI> endpoint : endpoints.entrySet()) {
+                load(endpoint.getValue(), WARMUP_REQUESTS);
+                Stats stats = load(endpoint.getValue(), MEASURED_REQUESTS);
+                lines.add(String.format("%-9s %-16s %10.0f %9.1f %9.1f %9.1f %7d", mode, endpoint.getKey(),
+                        stats.throughput(), stats.percentile(0.50), stats.percentile(0.99), stats.percentile(1.0), stats.errors()));
+            }
+
+            if (virtualThreads) {
+                Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+                lines.add(pinned == null
+                        ? "virtual   pinning monitor not active"
+                        : String.format("virtual   pinned events: %d, total pinned: %.1f ms", pinned.count(),
+                        pinned.totalTime(java.util.concurrent.TimeUnit.MILLISECONDS)));
+            }
+            return lines;
+        }
+    }
+
+    private Stats load(URI uri, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(clients.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Stats(latencies, requests / (elapsed / 1_000_000_000.0), errors.get());
+    }
+
+    private UUID seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        IngredientRepository ingredientRepository = context.getBean(IngredientRepository.class);
+        RecipeRepository recipeRepository = context.getBean(RecipeRepository.class);
+
+        User author = userRepository.save(User.builder()
+                .firstName("Load")
+                .lastName("Test")
+                .email("load-test@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) {
+            ingredients.add(Ingredient.builder().name("Ingredient " + i).build());
+        }
+        ingredients = ingredientRepository.saveAll(ingredients);
+
+        List<Recipe> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            Recipe recipe = Recipe.builder()
+                    .name("Recipe " + i)
+                    .description("Load test recipe " + i)
+                    .cuisine(CuisineType.values()[i % CuisineType.values().length])
+                    .mealType(MealType.values()[i % MealType.values().length])
+                    .cookingTime(10 + i % 90)
+                    .difficulty(DifficultyLevel.values()[i % DifficultyLevel.values().length])
+                    .instructions("Stir and serve.")
+                    .author(author)
+                    .rating(BigDecimal.valueOf(i % 50, 1))
+                    .popularity(i)
+                    .ingredients(new HashSet<>())
+                    .favoritedByUsers(new HashSet<>())
+                    .build();
+            for (int line = 0; line < 6; line++) {
+                recipe.getIngredients().add(RecipeIngredient.builder()
+                        .recipe(recipe)
+                        .ingredient(ingredients.get((i + line * 13) % INGREDIENTS))
+                        .quantity(1.0)
+                        .unit("g")
+                        .build());
+            }
+            recipes.add(recipe);
+        }
+        List<Recipe> saved = recipeRepository.saveAll(recipes);
+        assertEquals(RECIPES, saved.size());
+        return saved.getFirst().getId();
+    }
+
+    private record Stats(long[] sortedLatencies, double throughput, int errors) {
+        double percentile(double p) {
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCountCacheTest {
+
+    private final AtomicInteger counts = new AtomicInteger();
+    private final LongSupplier counter = () -> {
+        counts.incrementAndGet();
+        return 42;
+    };
+
+    private MutableClock clock;
+    private PageCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new PageCountCache(new SimpleMeterRegistry(), 2, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void get_CountsOnceAndMarksCachedTotalsInexact() {
+        PageCountCache.Count first = cache.get("advanced|pasta", counter);
+        PageCountCache.Count second = cache.get("advanced|pasta", counter);
+
+        assertEquals(new PageCountCache.Count(42, true), first);
+        assertEquals(new PageCountCache.Count(42, false), second);
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void get_RecountsAfterTtl() {
+        cache.get("advanced|pasta", counter);
+        clock.advance(Duration.ofSeconds(31));
+
+        assertTrue(cache.get("advanced|pasta", counter).exact());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.get("a", counter);
+        cache.get("b", counter);
+        cache.get("a", counter);
+        cache.get("c", counter);
+
+        assertEquals(2, cache.size());
+        cache.get("a", counter);
+        assertEquals(3, counts.get());
+        cache.get("b", counter);
+        assertEquals(4, counts.get());
+    }
+
+    @Test
+    void onRecipeChanged_ClearsEveryTotal() {
+        cache.get("a", counter);
+        cache.get("b", counter);
+
+        cache.onRecipeChanged(RecipeChangedEvent.created(UUID.randomUUID(), Set.of()));
+
+        assertEquals(0, cache.size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
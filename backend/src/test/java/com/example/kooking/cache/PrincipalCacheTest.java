@@ -0,0 +1,114 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.event.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("hash").roles("USER").build();
+    };
+
+    private MutableClock clock;
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new PrincipalCache(new SimpleMeterRegistry(), 2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_ServesRepeatedLookupsFromCache() {
+        UserDetails first = cache.get("a@example.com", loader);
+        UserDetails second = cache.get("a@example.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ReloadsAfterTtl() {
+        cache.get("a@example.com", loader);
+        clock.advance(Duration.ofMinutes(6));
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+        cache.get("a@example.com", loader);
+        cache.get("c@example.com", loader);
+
+        assertEquals(2, cache.size());
+        cache.get("a@example.com", loader);
+        assertEquals(3, loads.get());
+        cache.get("b@example.com", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void onUserChanged_InvalidatesEntry() {
+        cache.get("a@example.com", loader);
+        cache.onUserChanged(new UserChangedEvent("a@example.com"));
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_DoesNotCachePrincipalLoadedDuringInvalidation() {
+        cache.get("a@example.com", username -> {
+            cache.invalidate(username);
+            return loader.apply(username);
+        });
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
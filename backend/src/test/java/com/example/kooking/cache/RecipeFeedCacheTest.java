@@ -0,0 +1,172 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.RecipeFeed;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeFeedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecipeFeedCache feedCache;
+    private AtomicInteger loads;
+    private Supplier<List<RecipeCardDto>> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        feedCache = new RecipeFeedCache(meterRegistry);
+        loads = new AtomicInteger();
+        loader = () -> List.of(RecipeCardDto.builder()
+                .id(UUID.randomUUID())
+                .name("Recipe")
+                .popularity(loads.incrementAndGet())
+                .build());
+    }
+
+    @Test
+    void get_SecondLookupIsAHit() {
+        RecipeFeedCache.Snapshot first = feedCache.get(RecipeFeed.TRENDING, "all", loader);
+        RecipeFeedCache.Snapshot second = feedCache.get(RecipeFeed.TRENDING, "all", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, counter("trending", "hit"));
+        assertEquals(1.0, counter("trending", "miss"));
+    }
+
+    @Test
+    void getPersonalized_IsNotRecomputedByTheDirtyTick() {
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=ITALIAN@LUNCH", loader);
+        feedCache.get(RecipeFeed.TRENDING, "all", loader);
+
+        feedCache.onEngagement(RecipeEngagementEvent.favorited(UUID.randomUUID(), UUID.randomUUID()));
+        feedCache.refreshIfDirty();
+
+        // Only the shared pool is reloaded
+        assertEquals(3, loads.get());
+
+        feedCache.refresh();
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=ITALIAN@LUNCH", loader);
+
+        // The periodic refresh drops personalized variants; they reload on demand
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void getPersonalized_DoesNotCacheVariantsBeyondTheCap() {
+        ReflectionTestUtils.setField(feedCache, "maxPersonalizedVariants", 1);
+
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=ITALIAN@LUNCH", loader);
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=GREEK@LUNCH", loader);
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=GREEK@LUNCH", loader);
+        feedCache.getPersonalized(RecipeFeed.RECOMMENDED, "c=ITALIAN@LUNCH", loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_ConcurrentMissesLoadOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<RecipeCardDto>> slowLoader = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RecipeFeedCache.Snapshot> first = executor.submit(() -> feedCache.get(RecipeFeed.TRENDING, "all", slowLoader));
+            Future<RecipeFeedCache.Snapshot> second = executor.submit(() -> feedCache.get(RecipeFeed.TRENDING, "all", slowLoader));
+            while (counter("trending", "miss") < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_FailedLoadIsRetried() {
+        Supplier<List<RecipeCardDto>> failing = () -> {
+            throw new IllegalStateException("database unavailable");
+        };
+
+        assertThrows(IllegalStateException.class, () -> feedCache.get(RecipeFeed.TRENDING, "all", failing));
+        feedCache.get(RecipeFeed.TRENDING, "all", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_VariantsAreCachedSeparately() {
+        feedCache.get(RecipeFeed.RECOMMENDED, "BREAKFAST", loader);
+        feedCache.get(RecipeFeed.RECOMMENDED, "DINNER", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void refreshIfDirty_RecomputesOnlyAfterEngagement() {
+        RecipeFeedCache.Snapshot before = feedCache.get(RecipeFeed.TRENDING, "all", loader);
+
+        feedCache.refreshIfDirty();
+        assertEquals(1, loads.get());
+
+        feedCache.onEngagement(RecipeEngagementEvent.favorited(UUID.randomUUID(), UUID.randomUUID()));
+        feedCache.onEngagement(RecipeEngagementEvent.reviewed(UUID.randomUUID(), UUID.randomUUID()));
+        feedCache.refreshIfDirty();
+
+        RecipeFeedCache.Snapshot after = feedCache.get(RecipeFeed.TRENDING, "all", loader);
+        assertEquals(2, loads.get());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void onRecipeDeleted_EvictsImmediately() {
+        feedCache.get(RecipeFeed.SEASONAL, "WINTER", loader);
+
+        feedCache.onRecipeChanged(RecipeChangedEvent.deleted(UUID.randomUUID()));
+        feedCache.get(RecipeFeed.SEASONAL, "WINTER", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void refresh_DropsVariantsNotRequestedSinceLastRun() {
+        feedCache.get(RecipeFeed.RECOMMENDED, "BREAKFAST", loader);
+
+        feedCache.refresh();
+        assertEquals(2, loads.get());
+
+        feedCache.refresh();
+        assertEquals(2, loads.get());
+    }
+
+    private double counter(String feed, String result) {
+        return meterRegistry.get("recipes.feed.cache").tag("feed", feed).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.kooking.cache;
+
+import com.example.kooking.repository.RecipeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipePopularityCounterTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID recipeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adjust_Unbuffered_UpdatesImmediately() {
+        RecipePopularityCounter counter = new RecipePopularityCounter(recipeRepository, transactionTemplate, false);
+
+        counter.adjust(recipeId, 1);
+
+        verify(recipeRepository).adjustPopularity(recipeId, 1);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void flush_Buffered_WritesNetDeltaOncePerRecipe() {
+        RecipePopularityCounter counter = new RecipePopularityCounter(recipeRepository, transactionTemplate, true);
+
+        counter.adjust(recipeId, 1);
+        counter.adjust(recipeId, 1);
+        counter.adjust(recipeId, 1);
+        counter.adjust(recipeId, -1);
+        verifyNoInteractions(recipeRepository);
+
+        counter.flush();
+        counter.flush();
+
+        verify(recipeRepository, times(1)).adjustPopularity(recipeId, 2);
+    }
+
+    @Test
+    void flush_Failure_KeepsDeltasForNextFlush() {
+        RecipePopularityCounter counter = new RecipePopularityCounter(recipeRepository, transactionTemplate, true);
+        when(recipeRepository.adjustPopularity(recipeId, 1))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+
+        counter.adjust(recipeId, 1);
+        counter.flush();
+        counter.flush();
+
+        verify(recipeRepository, times(2)).adjustPopularity(recipeId, 1);
+    }
+
+    @Test
+    void adjust_Buffered_OnlyQueuesCommittedDeltas() {
+        RecipePopularityCounter counter = new RecipePopularityCounter(recipeRepository, transactionTemplate, true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.adjust(recipeId, 1);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        counter.flush();
+        verifyNoInteractions(recipeRepository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.adjust(recipeId, 1);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        counter.flush();
+        verify(recipeRepository, times(1)).adjustPopularity(recipeId, 1);
+    }
+
+    private void completeTransaction(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.kooking.config;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private static final String SECRET = "9df8505bb4eb7833d0f07cebec765d065344850a4548a5f8c3a9ffea5c01e6bd";
+
+    private final JwtService jwtService = new JwtService(SECRET, false, Duration.ofSeconds(30), 100);
+
+    @Test
+    void verify_ReturnsClaimsOfValidToken() {
+        String token = jwtService.generateToken("user@example.com");
+
+        Optional<Claims> claims = jwtService.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("user@example.com", claims.get().getSubject());
+        assertTrue(claims.get().getExpiration().after(claims.get().getIssuedAt()));
+    }
+
+    @Test
+    void verify_RejectsTamperedOrForeignTokens() {
+        String token = jwtService.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        JwtService otherKey = new JwtService("c".repeat(64), false, Duration.ofSeconds(30), 100);
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertTrue(jwtService.verify(otherKey.generateToken("user@example.com")).isEmpty());
+        assertTrue(jwtService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void verify_WithCache_ReturnsCachedClaimsForSameToken() {
+        JwtService cached = new JwtService(SECRET, true, Duration.ofSeconds(30), 100);
+        String token = cached.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        Claims first = cached.verify(token).orElseThrow();
+        Claims second = cached.verify(token).orElseThrow();
+        Claims other = cached.verify(cached.generateToken("other@example.com")).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("other@example.com", other.getSubject());
+        assertTrue(cached.verify(tampered).isEmpty());
+    }
+
+    @Test
+    void constructor_RejectsShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new JwtService("c2hvcnQ=", false, Duration.ofSeconds(30), 100));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.kooking.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(5, 60, 2, 1, now::get);
+    }
+
+    @Test
+    void tryAcquire_LimitsAttemptsPerAccount() {
+        assertTrue(throttle.tryAcquire("10.0.0.1", "user@example.com"));
+        assertTrue(throttle.tryAcquire("10.0.0.2", "USER@example.com"));
+        assertFalse(throttle.tryAcquire("10.0.0.3", "user@example.com"));
+
+        assertTrue(throttle.tryAcquire("10.0.0.3", "other@example.com"));
+    }
+
+    @Test
+    void tryAcquire_LimitsAttemptsPerIp() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(throttle.tryAcquire("10.0.0.1", "user" + i + "@example.com"));
+        }
+        assertFalse(throttle.tryAcquire("10.0.0.1", "fresh@example.com"));
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        throttle.tryAcquire("10.0.0.1", "user@example.com");
+        throttle.tryAcquire("10.0.0.1", "user@example.com");
+        assertFalse(throttle.tryAcquire("10.0.0.1", "user@example.com"));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertTrue(throttle.tryAcquire("10.0.0.1", "user@example.com"));
+        assertFalse(throttle.tryAcquire("10.0.0.1", "user@example.com"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import com.example.kooking.repository.FavoriteRecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoFavoriteIndexTest {
+
+    @Mock
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+
+    @InjectMocks
+    private CoFavoriteIndex index;
+
+    private final UUID pasta = UUID.randomUUID();
+    private final UUID pizza = UUID.randomUUID();
+    private final UUID salad = UUID.randomUUID();
+    private final UUID soup = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    private record Link(UUID getUserId, UUID getRecipeId) implements FavoriteRecipeRepository.FavoriteLink {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(favoriteRecipeRepository.findAllFavoriteLinks()).thenReturn(List.of(
+                new Link(alice, pasta), new Link(alice, pizza), new Link(alice, salad),
+                new Link(bob, pasta), new Link(bob, pizza),
+                new Link(carol, salad), new Link(carol, soup)));
+        index.rebuild();
+    }
+
+    @Test
+    void findAlsoLiked_RanksByCosineSimilarity() {
+        assertTrue(index.isReady());
+        // pizza shares both of pasta's fans; salad shares one of its two fans with pasta
+        assertEquals(List.of(pizza, salad), index.findAlsoLiked(pasta, 10));
+        assertEquals(List.of(pizza), index.findAlsoLiked(pasta, 1));
+        assertEquals(List.of(soup), index.findAlsoLiked(salad, 1));
+        assertEquals(Set.of(soup, pasta, pizza), Set.copyOf(index.findAlsoLiked(salad, 10)));
+        assertTrue(index.findAlsoLiked(UUID.randomUUID(), 10).isEmpty());
+    }
+
+    @Test
+    void onEngagement_UpdatesIncrementallyWithoutRescanning() {
+        index.onEngagement(RecipeEngagementEvent.favorited(soup, bob));
+
+        assertEquals(Set.of(pasta, pizza, salad), Set.copyOf(index.findAlsoLiked(soup, 10)));
+
+        index.onEngagement(RecipeEngagementEvent.unfavorited(soup, bob));
+        index.onEngagement(RecipeEngagementEvent.unfavorited(salad, carol));
+
+        assertEquals(Set.of(pasta, pizza), Set.copyOf(index.findAlsoLiked(salad, 10)));
+        assertTrue(index.findAlsoLiked(soup, 10).isEmpty());
+        verify(favoriteRecipeRepository, times(1)).findAllFavoriteLinks();
+    }
+
+    @Test
+    void onEngagement_IgnoresRepeatedFavoritesAndReviews() {
+        index.onEngagement(RecipeEngagementEvent.favorited(pizza, alice));
+        index.onEngagement(RecipeEngagementEvent.reviewed(soup, alice));
+
+        assertEquals(List.of(pizza, salad), index.findAlsoLiked(pasta, 10));
+    }
+
+    @Test
+    void onRecipeChanged_DeletedRecipeIsNoLongerSuggested() {
+        index.onRecipeChanged(RecipeChangedEvent.deleted(pizza));
+
+        assertEquals(List.of(salad), index.findAlsoLiked(pasta, 10));
+        assertTrue(index.findAlsoLiked(pizza, 10).isEmpty());
+
+        index.onEngagement(RecipeEngagementEvent.favorited(soup, alice));
+        assertEquals(Set.of(salad, soup), Set.copyOf(index.findAlsoLiked(pasta, 10)));
+    }
+
+    @Test
+    void rebuild_ReplaysEventsCommittedWhileReadingSnapshot() {
+        // Arrange: the snapshot misses bob's new favorite and still contains the deleted pizza
+        when(favoriteRecipeRepository.findAllFavoriteLinks()).thenAnswer(invocation -> {
+            index.onEngagement(RecipeEngagementEvent.favorited(soup, bob));
+            index.onRecipeChanged(RecipeChangedEvent.deleted(pizza));
+            return List.of(
+                    new Link(alice, pasta), new Link(alice, pizza), new Link(alice, salad),
+                    new Link(bob, pasta), new Link(bob, pizza),
+                    new Link(carol, salad), new Link(carol, soup));
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(Set.of(pasta, salad), Set.copyOf(index.findAlsoLiked(soup, 10)));
+        assertTrue(index.findAlsoLiked(pizza, 10).isEmpty());
+        assertFalse(index.findAlsoLiked(pasta, 10).contains(pizza));
+    }
+
+    @Test
+    void rebuild_FailedSnapshotKeepsCurrentGraph() {
+        // Arrange
+        when(favoriteRecipeRepository.findAllFavoriteLinks()).thenThrow(new IllegalStateException("db down"));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> index.rebuild());
+        index.onEngagement(RecipeEngagementEvent.favorited(soup, bob));
+
+        // Assert
+        assertEquals(Set.of(pasta, pizza, salad), Set.copyOf(index.findAlsoLiked(soup, 10)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.kooking.index;
+
+import com.example.kooking.dto.IngredientBriefDto;
+import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientSuggestIndexTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @InjectMocks
+    private IngredientSuggestIndex index;
+
+    private final IngredientBriefDto blackPepper = new IngredientBriefDto(UUID.randomUUID(), "Black Pepper", IngredientCategory.SPICE);
+    private final IngredientBriefDto bellPepper = new IngredientBriefDto(UUID.randomUUID(), "Bell Pepper", IngredientCategory.VEGETABLE);
+    private final IngredientBriefDto butter = new IngredientBriefDto(UUID.randomUUID(), "Butter", IngredientCategory.DAIRY);
+    private final IngredientBriefDto creme = new IngredientBriefDto(UUID.randomUUID(), "Crème fraîche", IngredientCategory.DAIRY);
+
+    private record Usage(UUID getIngredientId, long getRecipeCount) implements RecipeIngredientRepository.IngredientUsage {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(ingredientRepository.findAllBriefs()).thenReturn(new ArrayList<>(List.of(blackPepper, bellPepper, butter, creme)));
+        when(recipeIngredientRepository.countRecipesPerIngredient()).thenReturn(List.of(
+                new Usage(bellPepper.getId(), 12), new Usage(butter.getId(), 30), new Usage(blackPepper.getId(), 3)));
+        index.rebuild();
+    }
+
+    @Test
+    void suggest_MatchesAnyWordPrefixByUsage() {
+        assertTrue(index.isReady());
+        assertEquals(List.of(butter, bellPepper, blackPepper), index.suggest("b", null, 10));
+        assertEquals(List.of(bellPepper, blackPepper), index.suggest("pep", null, 10));
+        assertEquals(List.of(blackPepper), index.suggest("Black  pe", null, 10));
+        assertTrue(index.suggest("pepx", null, 10).isEmpty());
+    }
+
+    @Test
+    void suggest_MatchesCategoriesAndAccentFreeInput() {
+        assertEquals(List.of(butter, creme), index.suggest("dair", null, 10));
+        assertEquals(List.of(creme), index.suggest("creme fr", null, 10));
+    }
+
+    @Test
+    void suggest_FiltersByCategoryAndLimit() {
+        assertEquals(List.of(blackPepper), index.suggest("pep", IngredientCategory.SPICE, 10));
+        assertEquals(List.of(butter), index.suggest("b", null, 1));
+    }
+
+    @Test
+    void suggest_FindsCategoryMatchesRankedBelowTheTopSuggestions() {
+        List<IngredientBriefDto> ingredients = new ArrayList<>();
+        List<RecipeIngredientRepository.IngredientUsage> usage = new ArrayList<>();
+        for (int i = 0; i < IngredientSuggestIndex.MAX_SUGGESTIONS + 5; i++) {
+            IngredientBriefDto cheese = new IngredientBriefDto(UUID.randomUUID(), "Brie " + i, IngredientCategory.DAIRY);
+            ingredients.add(cheese);
+            usage.add(new Usage(cheese.getId(), 100 + i));
+        }
+        IngredientBriefDto basil = new IngredientBriefDto(UUID.randomUUID(), "Basil", IngredientCategory.SPICE);
+        ingredients.add(basil);
+        when(ingredientRepository.findAllBriefs()).thenReturn(ingredients);
+        when(recipeIngredientRepository.countRecipesPerIngredient()).thenReturn(usage);
+        index.rebuild();
+
+        assertEquals(IngredientSuggestIndex.MAX_SUGGESTIONS, index.suggest("b", null, 50).size());
+        assertFalse(index.suggest("b", null, 50).contains(basil));
+        assertEquals(List.of(basil), index.suggest("b", IngredientCategory.SPICE, 10));
+    }
+
+    @Test
+    void onIngredientChanged_SwapsInRebuiltTrie() {
+        IngredientBriefDto basil = new IngredientBriefDto(UUID.randomUUID(), "Basil", IngredientCategory.SPICE);
+        when(ingredientRepository.findAllBriefs()).thenReturn(List.of(basil, butter));
+
+        index.onIngredientChanged(IngredientChangedEvent.created(basil.getId()));
+        index.onIngredientChanged(IngredientChangedEvent.renamed(butter.getId()));
+
+        // Changes are applied by the next tick, with one rebuild for the whole burst
+        assertEquals(List.of(butter, bellPepper, blackPepper), index.suggest("b", null, 10));
+
+        index.rebuildIfStale();
+        index.rebuildIfStale();
+
+        assertEquals(List.of(butter, basil), index.suggest("b", null, 10));
+        verify(ingredientRepository, times(2)).findAllBriefs();
+    }
+
+    @Test
+    void onIngredientChanged_IgnoresSubstituteChanges() {
+        index.onIngredientChanged(IngredientChangedEvent.substitutesChanged(butter.getId()));
+        index.rebuildIfStale();
+
+        verify(ingredientRepository, times(1)).findAllBriefs();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeIngredientIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @InjectMocks
+    private RecipeIngredientIndex index;
+
+    private final UUID pasta = UUID.randomUUID();
+    private final UUID salad = UUID.randomUUID();
+    private final UUID soup = UUID.randomUUID();
+    private final UUID tomato = UUID.randomUUID();
+    private final UUID garlic = UUID.randomUUID();
+    private final UUID cheese = UUID.randomUUID();
+
+    private record Link(UUID getRecipeId, UUID getIngredientId) implements RecipeIngredientRepository.IngredientLink {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(recipeRepository.findAllIds()).thenReturn(List.of(pasta, salad, soup));
+        when(recipeIngredientRepository.findAllIngredientLinks()).thenReturn(List.of(
+                new Link(pasta, tomato), new Link(pasta, garlic), new Link(pasta, cheese),
+                new Link(salad, tomato), new Link(salad, cheese),
+                new Link(soup, tomato), new Link(soup, garlic)));
+        index.rebuild();
+    }
+
+    @Test
+    void findRecipesWithAll_IntersectsIncludesAndSubtractsExcludes() {
+        assertTrue(index.isReady());
+        assertEquals(Set.of(pasta, soup), Set.copyOf(index.findRecipesWithAll(List.of(tomato, garlic), null)));
+        assertEquals(List.of(soup), index.findRecipesWithAll(List.of(tomato, garlic), List.of(cheese)));
+        assertTrue(index.findRecipesWithAll(List.of(tomato, UUID.randomUUID()), null).isEmpty());
+    }
+
+    @Test
+    void findRecipesWithAll_ExcludeOnlyStartsFromAllRecipes() {
+        assertEquals(List.of(salad), index.findRecipesWithAll(List.of(), List.of(garlic)));
+    }
+
+    @Test
+    void countRecipesWithAll_MatchesFindCardinality() {
+        assertEquals(3, index.recipeCount());
+        assertEquals(2, index.countRecipesWithAll(List.of(tomato, garlic), null));
+        assertEquals(1, index.countRecipesWithAll(List.of(), List.of(garlic)));
+        assertEquals(0, index.countRecipesWithAll(List.of(tomato, UUID.randomUUID()), null));
+    }
+
+    @Test
+    void findRecipesWithAny_UnionsPostings() {
+        assertEquals(Set.of(pasta, salad), Set.copyOf(index.findRecipesWithAny(List.of(cheese))));
+    }
+
+    @Test
+    void onRecipeChanged_KeepsPostingsInSync() {
+        UUID stew = UUID.randomUUID();
+        index.onRecipeChanged(RecipeChangedEvent.created(stew, Set.of(garlic)));
+        index.onRecipeChanged(RecipeChangedEvent.updated(pasta, Set.of(tomato)));
+        index.onRecipeChanged(RecipeChangedEvent.deleted(soup));
+
+        assertEquals(Set.of(stew), Set.copyOf(index.findRecipesWithAll(List.of(garlic), null)));
+        assertEquals(Set.of(pasta, salad), Set.copyOf(index.findRecipesWithAll(List.of(tomato), null)));
+        assertEquals(Set.of(pasta, stew), Set.copyOf(index.findRecipesWithAll(List.of(), List.of(cheese))));
+    }
+
+    @Test
+    void rebuild_ReplaysChangesCommittedWhileReadingSnapshot() {
+        UUID stew = UUID.randomUUID();
+        when(recipeRepository.findAllIds()).thenAnswer(invocation -> {
+            // Committed after the snapshot below was taken
+            index.onRecipeChanged(RecipeChangedEvent.created(stew, Set.of(garlic)));
+            index.onRecipeChanged(RecipeChangedEvent.deleted(soup));
+            return List.of(pasta, salad, soup);
+        });
+
+        index.rebuild();
+
+        assertEquals(Set.of(pasta, stew), Set.copyOf(index.findRecipesWithAll(List.of(garlic), null)));
+        assertEquals(3, index.recipeCount());
+    }
+
+    @Test
+    void onRecipeChanged_ReusesOrdinalsOfDeletedRecipes() {
+        UUID stew = UUID.randomUUID();
+        index.onRecipeChanged(RecipeChangedEvent.deleted(soup));
+        index.onRecipeChanged(RecipeChangedEvent.created(stew, Set.of(cheese)));
+
+        assertEquals(3, index.recipeCount());
+        assertEquals(Set.of(pasta, salad, stew), Set.copyOf(index.findRecipesWithAll(List.of(cheese), null)));
+        assertEquals(List.of(pasta), index.findRecipesWithAll(List.of(garlic), null));
+        assertEquals(List.of(stew), index.scorePantry(Set.of(cheese), 1.0).stream()
+                .map(RecipeIngredientIndex.PantryMatch::recipeId)
+                .toList());
+    }
+
+    @Test
+    void scorePantry_RanksByCoverageAndAppliesThreshold() {
+        List<RecipeIngredientIndex.PantryMatch> matches = index.scorePantry(Set.of(tomato, cheese), 0.0);
+
+        assertEquals(List.of(salad, pasta, soup), matches.stream().map(RecipeIngredientIndex.PantryMatch::recipeId).toList());
+        assertEquals(2, matches.get(1).matched());
+        assertEquals(3, matches.get(1).total());
+        assertEquals(List.of(salad, pasta), index.scorePantry(Set.of(tomato, cheese), 0.6).stream()
+                .map(RecipeIngredientIndex.PantryMatch::recipeId)
+                .toList());
+        assertTrue(index.scorePantry(Set.of(UUID.randomUUID()), 0.0).isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.kooking.index;
+
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeTextIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @InjectMocks
+    private RecipeTextIndex index;
+
+    private final UUID pasta = UUID.randomUUID();
+    private final UUID salad = UUID.randomUUID();
+    private final UUID soup = UUID.randomUUID();
+
+    private record Text(UUID getId, String getName, String getDescription) implements RecipeRepository.RecipeText {
+    }
+
+    private record Name(UUID getRecipeId, String getName) implements RecipeIngredientRepository.IngredientName {
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(recipeRepository.findAllTexts()).thenReturn(List.of(
+                new Text(pasta, "Tomato Pasta", "Quick weeknight pasta with garlic"),
+                new Text(salad, "Crème Salad", "Fresh and crunchy"),
+                new Text(soup, "Winter Soup", "Slow cooked with tomatoes")));
+        when(recipeIngredientRepository.findAllIngredientNames()).thenReturn(List.of(
+                new Name(pasta, "Tomato"), new Name(pasta, "Garlic"),
+                new Name(salad, "Cucumber"), new Name(salad, "Tomato"),
+                new Name(soup, "Potato")));
+        index.rebuild();
+    }
+
+    @Test
+    void search_RanksNameAboveIngredientAboveDescription() {
+        assertTrue(index.isReady());
+        assertEquals(List.of(pasta, salad, soup), ids(index.search("tomato", 10)));
+    }
+
+    @Test
+    void search_RequiresEveryWord() {
+        assertEquals(List.of(pasta), ids(index.search("tomato garlic", 10)));
+        assertTrue(index.search("tomato chocolate", 10).isEmpty());
+    }
+
+    @Test
+    void search_ToleratesTyposPrefixesAndAccents() {
+        assertEquals(List.of(pasta), ids(index.search("pastta", 10)));
+        assertEquals(List.of(salad), ids(index.search("cucu", 10)));
+        assertEquals(List.of(salad), ids(index.search("creme", 10)));
+        assertTrue(index.search("pzzz", 10).isEmpty());
+    }
+
+    @Test
+    void search_RespectsLimit() {
+        assertEquals(List.of(pasta), ids(index.search("tomato", 1)));
+    }
+
+    @Test
+    void onRecipeChanged_KeepsIndexInSync() {
+        UUID stew = UUID.randomUUID();
+        when(recipeRepository.findTextsByIds(anyCollection())).thenReturn(List.of(new Text(stew, "Bean Stew", null)));
+        when(recipeIngredientRepository.findIngredientNamesByRecipeIds(anyCollection())).thenReturn(List.of(new Name(stew, "Garlic")));
+
+        index.onRecipeChanged(RecipeChangedEvent.created(stew, Set.of()));
+        index.onRecipeChanged(RecipeChangedEvent.updated(stew, Set.of()));
+        index.onRecipeChanged(RecipeChangedEvent.deleted(pasta));
+
+        // Deletes apply at once, other changes on the next tick
+        assertTrue(index.search("pasta", 10).isEmpty());
+        assertTrue(index.search("stew", 10).isEmpty());
+
+        index.reindexPending();
+
+        assertEquals(List.of(stew), ids(index.search("garlic", 10)));
+        assertTrue(index.search("pasta", 10).isEmpty());
+        // Every queued recipe is read back in one batch
+        verify(recipeRepository, times(1)).findTextsByIds(anyCollection());
+    }
+
+    @Test
+    void onIngredientChanged_ReindexesRecipesUsingIt() {
+        UUID potato = UUID.randomUUID();
+        when(recipeIngredientRepository.findRecipeIdsByIngredientId(potato)).thenReturn(List.of(soup));
+        when(recipeRepository.findTextsByIds(List.of(soup))).thenReturn(List.of(new Text(soup, "Winter Soup", null)));
+        when(recipeIngredientRepository.findIngredientNamesByRecipeIds(List.of(soup))).thenReturn(List.of(new Name(soup, "Sweet Potato")));
+
+        index.onIngredientChanged(IngredientChangedEvent.renamed(potato));
+        index.reindexPending();
+
+        assertEquals(List.of(soup), ids(index.search("sweet", 10)));
+    }
+
+    @Test
+    void onIngredientChanged_IgnoresChangesThatKeepTheName() {
+        UUID potato = UUID.randomUUID();
+
+        index.onIngredientChanged(IngredientChangedEvent.updated(potato));
+        index.onIngredientChanged(IngredientChangedEvent.substitutesChanged(potato));
+        index.reindexPending();
+
+        verify(recipeIngredientRepository, never()).findRecipeIdsByIngredientId(any());
+        verify(recipeRepository, never()).findTextsByIds(any());
+    }
+
+    @Test
+    void editDistance_CountsTranspositionsAsOneEdit() {
+        assertEquals(1, RecipeTextIndex.editDistance("tomatoe", "tomato", 2));
+        assertEquals(1, RecipeTextIndex.editDistance("garilc", "garlic", 2));
+        assertEquals(3, RecipeTextIndex.editDistance("soup", "salad", 2));
+    }
+
+    private static List<UUID> ids(List<RecipeTextIndex.Hit> hits) {
+        return hits.stream().map(RecipeTextIndex.Hit::recipeId).toList();
+    }
+}
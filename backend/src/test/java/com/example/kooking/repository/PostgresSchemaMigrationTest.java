@@ -0,0 +1,135 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.enums.CuisineType;
+import com.example.kooking.enums.MealType;
+import com.example.kooking.model.FavoriteRecipe;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the Flyway migrations to an embedded PostgreSQL and validates the JPA mappings against them,
+ * so a mapping change without a matching migration fails here rather than in production.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Ppostgres test}.
+ */
+@Tag("postgres")
+@ActiveProfiles("postgres")
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "logging.level.org.springframework.security=INFO",
+        "recipes.ratings.reconcile-on-startup=false"
+})
+class PostgresSchemaMigrationTest {
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private FavoriteRecipeRepository favoriteRecipeRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrations_CreateHotQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'public'", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_recipes_popularity",
+                "idx_recipes_rating",
+                "idx_recipes_author_created",
+                "idx_recipes_name_trgm",
+                "idx_recipe_ingredients_ingredient_recipe",
+                "idx_reviews_recipe_created",
+                "uk_user_favorite_recipes_user_recipe")), indexes::toString);
+    }
+
+    @Test
+    void nameSearch_UsesTrigramIndex() {
+        List<String> plan = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // The table is tiny, so keep the planner from preferring a sequential scan
+                statement.execute("SET enable_seqscan = off");
+                try (ResultSet rows = statement.executeQuery("EXPLAIN SELECT id FROM recipes WHERE lower(name) LIKE '%pasta%'")) {
+                    List<String> lines = new ArrayList<>();
+                    while (rows.next()) {
+                        lines.add(rows.getString(1));
+                    }
+                    statement.execute("RESET enable_seqscan");
+                    return lines;
+                }
+            }
+        });
+
+        assertTrue(String.join("\n", plan).contains("idx_recipes_name_trgm"), () -> String.join("\n", plan));
+    }
+
+    @Test
+    void favorites_RejectDuplicateUserRecipePairs() {
+        User user = userRepository.save(User.builder()
+                .firstName("Schema")
+                .lastName("Test")
+                .email("schema-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+        Recipe recipe = recipeRepository.save(Recipe.builder()
+                .name("Pasta " + UUID.randomUUID())
+                .cuisine(CuisineType.ITALIAN)
+                .mealType(MealType.DINNER)
+                .cookingTime(20)
+                .author(user)
+                .build());
+        favoriteRecipeRepository.saveAndFlush(FavoriteRecipe.builder().user(user).recipe(recipe).build());
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                favoriteRecipeRepository.saveAndFlush(FavoriteRecipe.builder().user(user).recipe(recipe).build()));
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.CuisineType;
+import com.example.kooking.enums.MealType;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paging over card queries whose total comes from a cached or estimated count that may be wrong.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-card-paging;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.springframework.security=INFO"
+})
+class RecipeCardPagingTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String prefix;
+
+    @BeforeEach
+    void seed() {
+        User author = userRepository.save(User.builder()
+                .firstName("Paging")
+                .lastName("Author")
+                .email("paging-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+        prefix = "Paged " + UUID.randomUUID() + " ";
+        recipeRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> Recipe.builder()
+                        .name(prefix + i)
+                        .cuisine(CuisineType.BRITISH)
+                        .mealType(MealType.DINNER)
+                        .cookingTime(30)
+                        .instructions("Cook.")
+                        .author(author)
+                        .ingredients(new HashSet<>())
+                        .favoritedByUsers(new HashSet<>())
+                        .build())
+                .toList());
+    }
+
+    @Test
+    void findCards_TooLowTotal_StillReportsNextPage() {
+        Page<RecipeCardDto> page = recipeRepository.findCards(named(), PageRequest.of(1, 2, Sort.by("name")), () -> 1);
+
+        assertEquals(2, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+        assertFalse(page.isLast());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void findCards_TooHighTotal_EndsAtLastRow() {
+        Page<RecipeCardDto> last = recipeRepository.findCards(named(), PageRequest.of(2, 2, Sort.by("name")), () -> 100);
+        Page<RecipeCardDto> past = recipeRepository.findCards(named(), PageRequest.of(4, 2, Sort.by("name")), () -> 100);
+
+        assertEquals(1, last.getNumberOfElements());
+        assertTrue(last.isLast());
+        assertEquals(5, last.getTotalElements());
+        assertTrue(past.getContent().isEmpty());
+        assertFalse(past.hasNext());
+    }
+
+    @Test
+    void findCards_FullPageWithMoreRows_UsesSuppliedTotal() {
+        Page<RecipeCardDto> page = recipeRepository.findCards(named(), PageRequest.of(0, 2, Sort.by("name")), () -> 40);
+
+        assertTrue(page.hasNext());
+        assertEquals(40, page.getTotalElements());
+    }
+
+    private Specification<Recipe> named() {
+        return (root, query, cb) -> cb.like(root.get("name"), prefix + "%");
+    }
+}
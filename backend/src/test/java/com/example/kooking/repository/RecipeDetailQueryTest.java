@@ -0,0 +1,104 @@
+package com.example.kooking.repository;
+
+import com.example.kooking.dto.RecipeDetailDto;
+import com.example.kooking.dto.RecipeIngredientDto;
+import com.example.kooking.enums.CuisineType;
+import com.example.kooking.enums.MealType;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.model.Recipe;
+import com.example.kooking.model.RecipeIngredient;
+import com.example.kooking.model.User;
+import com.example.kooking.service.RecipeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the statement count of the recipe detail view. Runs outside a transaction, so any lazy
+ * association the mapper touches would fail instead of silently issuing another query.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-detail;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.springframework.security=INFO"
+})
+class RecipeDetailQueryTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID recipeId;
+
+    @BeforeEach
+    void seed() {
+        User author = userRepository.save(User.builder()
+                .firstName("Detail")
+                .lastName("Author")
+                .email("detail-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .roles(Set.of("USER"))
+                .build());
+        List<Ingredient> ingredients = ingredientRepository.saveAll(List.of(
+                Ingredient.builder().name("Flour " + UUID.randomUUID()).build(),
+                Ingredient.builder().name("Butter " + UUID.randomUUID()).build(),
+                Ingredient.builder().name("Sugar " + UUID.randomUUID()).build()));
+
+        Recipe recipe = Recipe.builder()
+                .name("Shortbread")
+                .cuisine(CuisineType.BRITISH)
+                .mealType(MealType.DESSERT)
+                .cookingTime(30)
+                .instructions("Rub, press, bake.")
+                .author(author)
+                .ingredients(new HashSet<>())
+                .favoritedByUsers(new HashSet<>())
+                .build();
+        for (Ingredient ingredient : ingredients) {
+            recipe.getIngredients().add(RecipeIngredient.builder()
+                    .recipe(recipe)
+                    .ingredient(ingredient)
+                    .quantity(100.0)
+                    .unit("g")
+                    .build());
+        }
+        recipeId = recipeRepository.save(recipe).getId();
+    }
+
+    @Test
+    void getRecipeById_LoadsDetailInAtMostTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        RecipeDetailDto detail = recipeService.getRecipeById(recipeId);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                () -> "expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+        assertEquals(3, detail.getIngredients().size());
+        assertTrue(detail.getIngredients().stream().map(RecipeIngredientDto::getIngredientName).allMatch(name -> name != null));
+        assertEquals("Detail", detail.getAuthor().getFirstName());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.config.JwtService;
+import com.example.kooking.config.LoginThrottle;
+import com.example.kooking.config.PasswordVerifier;
 import com.example.kooking.dto.LoginDto;
 import com.example.kooking.dto.RegisterDto;
 import com.example.kooking.dto.UserProfileDto;
@@ -15,15 +17,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,10 +46,13 @@ class AuthServiceImplTest {
     private UserPreferencesRepository userPreferencesRepository;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
+
+    @Mock
+    private LoginThrottle loginThrottle;
 
     @Mock
     private JwtService jwtService;
@@ -173,50 +179,102 @@ class AuthServiceImplTest {
     @Test
     void loginUser_Success() {
         // Arrange
+        user.setPasswordHash("hash");
+        when(loginThrottle.tryAcquire("127.0.0.1", "test@example.com")).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordVerifier.matches("password123", "hash")).thenReturn(CompletableFuture.completedFuture(true));
         when(jwtService.generateToken(anyString())).thenReturn("jwt-token");
 
         // Act
-        String token = authService.loginUser(loginDto);
+        String token = authService.loginUser(loginDto, "127.0.0.1").join();
 
         // Assert
         assertNotNull(token);
         assertEquals("jwt-token", token);
 
-        verify(userRepository).findByEmail(loginDto.getEmail());
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword()));
+        verify(userRepository, times(1)).findByEmail(loginDto.getEmail());
+        verify(passwordVerifier).matches("password123", "hash");
+        verify(userRepository, never()).updatePasswordHash(any(), any());
         verify(jwtService).generateToken(loginDto.getEmail());
     }
 
+    @Test
+    void loginUser_WeakerHash_IsUpgraded() {
+        // Arrange
+        user.setPasswordHash("weak-hash");
+        when(loginThrottle.tryAcquire(anyString(), anyString())).thenReturn(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordVerifier.matches("password123", "weak-hash")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordVerifier.needsRehash("weak-hash")).thenReturn(true);
+        when(passwordVerifier.encode("password123")).thenReturn("strong-hash");
+        when(jwtService.generateToken(anyString())).thenReturn("jwt-token");
+
+        // Act
+        authService.loginUser(loginDto, "127.0.0.1").join();
+
+        // Assert
+        verify(userRepository).updatePasswordHash(TEST_UUID, "strong-hash");
+    }
+
     @Test
     void loginUser_UserNotFound() {
         // Arrange
+        when(loginThrottle.tryAcquire(anyString(), anyString())).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authService.loginUser(loginDto));
+                () -> authService.loginUser(loginDto, "127.0.0.1"));
 
         assertEquals("400 BAD_REQUEST \"User not found!\"", exception.getMessage());
         verify(userRepository).findByEmail(loginDto.getEmail());
-        verifyNoInteractions(authenticationManager, jwtService);
+        verifyNoInteractions(passwordVerifier, jwtService);
     }
 
     @Test
     void loginUser_InvalidCredentials() {
         // Arrange
+        user.setPasswordHash("hash");
+        when(loginThrottle.tryAcquire(anyString(), anyString())).thenReturn(true);
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        doThrow(new BadCredentialsException("Bad credentials"))
-                .when(authenticationManager).authenticate(any());
+        when(passwordVerifier.matches("password123", "hash")).thenReturn(CompletableFuture.completedFuture(false));
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
-                () -> authService.loginUser(loginDto));
+        CompletionException completion = assertThrows(CompletionException.class,
+                () -> authService.loginUser(loginDto, "127.0.0.1").join());
 
+        ResponseStatusException exception = assertInstanceOf(ResponseStatusException.class, completion.getCause());
         assertEquals("401 UNAUTHORIZED \"Invalid login credentials!\"", exception.getMessage());
         verify(userRepository).findByEmail(loginDto.getEmail());
-        verify(authenticationManager).authenticate(any());
         verifyNoInteractions(jwtService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loginUser_Throttled() {
+        // Arrange
+        when(loginThrottle.tryAcquire("127.0.0.1", "test@example.com")).thenReturn(false);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.loginUser(loginDto, "127.0.0.1"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        verifyNoInteractions(userRepository, passwordVerifier, jwtService);
+    }
+
+    @Test
+    void loginUser_HashingPoolSaturated() {
+        // Arrange
+        user.setPasswordHash("hash");
+        when(loginThrottle.tryAcquire(anyString(), anyString())).thenReturn(true);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(passwordVerifier.matches(anyString(), anyString())).thenThrow(new RejectedExecutionException("saturated"));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.loginUser(loginDto, "127.0.0.1"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        verifyNoInteractions(jwtService);
+    }
+}
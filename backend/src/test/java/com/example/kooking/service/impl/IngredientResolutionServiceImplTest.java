@@ -0,0 +1,88 @@
+package com.example.kooking.service.impl;
+
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.service.IngredientResolutionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientResolutionServiceImplTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @InjectMocks
+    private IngredientResolutionServiceImpl ingredientResolutionService;
+
+    private Ingredient salt;
+    private Ingredient sugar;
+
+    @BeforeEach
+    void setUp() {
+        salt = new Ingredient();
+        salt.setId(UUID.randomUUID());
+        salt.setName("Salt");
+
+        sugar = new Ingredient();
+        sugar.setId(UUID.randomUUID());
+        sugar.setName("Sugar");
+    }
+
+    @Test
+    void resolve_LoadsAllIdsInOneQueryAndServesRepeatsFromCache() {
+        // Arrange
+        when(ingredientRepository.findAllById(anyCollection())).thenReturn(List.of(salt, sugar));
+
+        // Act
+        IngredientResolutionService.Resolution first = ingredientResolutionService.resolve(List.of(salt.getId(), sugar.getId()));
+        IngredientResolutionService.Resolution second = ingredientResolutionService.resolve(List.of(salt.getId(), sugar.getId()));
+
+        // Assert
+        assertTrue(first.isComplete());
+        assertTrue(second.isComplete());
+        assertEquals("Salt", second.get(salt.getId()).getName());
+        assertEquals("Sugar", second.get(sugar.getId()).getName());
+        verify(ingredientRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void resolve_ReportsMissingIds() {
+        // Arrange
+        UUID missingId = UUID.randomUUID();
+        when(ingredientRepository.findAllById(anyCollection())).thenReturn(List.of(salt));
+
+        // Act
+        IngredientResolutionService.Resolution result = ingredientResolutionService.resolve(List.of(salt.getId(), missingId));
+
+        // Assert
+        assertFalse(result.isComplete());
+        assertEquals(Set.of(missingId), result.missing());
+        assertEquals(1, result.ingredients().size());
+    }
+
+    @Test
+    void onIngredientChanged_EvictsCachedIngredient() {
+        // Arrange
+        when(ingredientRepository.findAllById(anyCollection())).thenReturn(List.of(salt));
+        ingredientResolutionService.resolve(List.of(salt.getId()));
+
+        // Act
+        ingredientResolutionService.onIngredientChanged(IngredientChangedEvent.updated(salt.getId()));
+        ingredientResolutionService.resolve(List.of(salt.getId()));
+
+        // Assert
+        verify(ingredientRepository, times(2)).findAllById(anyCollection());
+    }
+}
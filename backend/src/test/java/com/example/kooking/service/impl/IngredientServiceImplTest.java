@@ -1,9 +1,13 @@
 package com.example.kooking.service.impl;
 
+import com.example.kooking.cache.CatalogVersionTracker;
 import com.example.kooking.dto.CreateIngredientDto;
+import com.example.kooking.dto.IngredientBriefDto;
 import com.example.kooking.dto.IngredientDto;
 import com.example.kooking.dto.UpdateIngredientDto;
 import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.event.IngredientChangedEvent;
+import com.example.kooking.index.IngredientSuggestIndex;
 import com.example.kooking.model.Ingredient;
 import com.example.kooking.repository.IngredientRepository;
 import com.example.kooking.utils.IngredientMapper;
@@ -13,12 +17,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 
@@ -35,6 +42,15 @@ class IngredientServiceImplTest {
     @Mock
     private IngredientMapper ingredientMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IngredientSuggestIndex ingredientSuggestIndex;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
     @InjectMocks
     private IngredientServiceImpl ingredientServiceImpl;
 
@@ -158,6 +174,32 @@ class IngredientServiceImplTest {
         assertEquals(IngredientCategory.values().length, result.size());
     }
 
+    @Test
+    void suggestIngredients_ClampsLimitAndServesFromIndex() {
+        // Arrange
+        IngredientBriefDto salt = new IngredientBriefDto(id, "Salt", IngredientCategory.SPICE);
+        when(ingredientSuggestIndex.isReady()).thenReturn(true);
+        when(ingredientSuggestIndex.suggest("sa", null, IngredientSuggestIndex.MAX_SUGGESTIONS)).thenReturn(List.of(salt));
+
+        // Act
+        List<IngredientBriefDto> result = ingredientServiceImpl.suggestIngredients("sa", null, 500);
+
+        // Assert
+        assertEquals(List.of(salt), result);
+        verifyNoInteractions(ingredientRepository);
+    }
+
+    @Test
+    void suggestIngredients_IndexNotReady_ThrowsServiceUnavailable() {
+        // Arrange
+        when(ingredientSuggestIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> ingredientServiceImpl.suggestIngredients("sa", null, 10));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+    }
+
     @Test
     void getIngredientSubstitutes_Success() {
         // Arrange
@@ -237,6 +279,7 @@ class IngredientServiceImplTest {
         verify(ingredientMapper).updateIngredientFromDto(updateIngredientDto, ingredient);
         verify(ingredientRepository).save(ingredient);
         verify(ingredientMapper).ingredientToIngredientDto(ingredient);
+        verify(eventPublisher).publishEvent(IngredientChangedEvent.renamed(id));
     }
 
     @Test
@@ -265,6 +308,7 @@ class IngredientServiceImplTest {
         // Assert
         verify(ingredientRepository).findById(id);
         verify(ingredientRepository).delete(ingredient);
+        verify(eventPublisher).publishEvent(IngredientChangedEvent.deleted(id));
     }
 
     @Test
@@ -295,7 +339,8 @@ class IngredientServiceImplTest {
         verify(ingredientMapper).ingredientToIngredientDto(ingredient);
 
         assertTrue(ingredient.getSubstitutes().contains(substitute));
-        assertTrue(substitute.getSubstituteFor().contains(ingredient));
+        assertTrue(substitute.getSubstituteFor().contains(ingredient));        verify(eventPublisher).publishEvent(IngredientChangedEvent.substitutesChanged(id));
+        verify(eventPublisher).publishEvent(IngredientChangedEvent.substitutesChanged(substituteId));
     }
 
     @Test
@@ -0,0 +1,165 @@
+package com.example.kooking.service.impl;
+
+import com.example.kooking.dto.RecipeImportResultDto;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.model.Ingredient;
+import com.example.kooking.model.User;
+import com.example.kooking.repository.RecipeRepository;
+import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.IngredientResolutionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeImportServiceImplTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private IngredientResolutionService ingredientResolutionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private RecipeImportServiceImpl recipeImportService;
+
+    private Ingredient ingredient;
+
+    @BeforeEach
+    void setUp() {
+        recipeImportService = new RecipeImportServiceImpl(recipeRepository, userRepository, ingredientResolutionService,
+                eventPublisher, transactionTemplate, entityManager, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(recipeImportService, "batchSize", 2);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        ingredient = new Ingredient();
+        ingredient.setId(UUID.randomUUID());
+        ingredient.setName("Salt");
+
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(ingredientResolutionService.resolve(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            Map<UUID, Ingredient> found = new HashMap<>();
+            Set<UUID> missing = new HashSet<>();
+            for (UUID id : ids) {
+                if (id.equals(ingredient.getId())) {
+                    found.put(id, ingredient);
+                } else {
+                    missing.add(id);
+                }
+            }
+            return new IngredientResolutionService.Resolution(found, missing);
+        });
+    }
+
+    @Test
+    void importRecipes_CommitsOneTransactionPerBatch() {
+        // Act
+        RecipeImportResultDto result = recipeImportService.importRecipes(ndjson(
+                recipe("Soup", ingredient.getId()),
+                recipe("Stew", ingredient.getId()),
+                "",
+                recipe("Salad", ingredient.getId())), "user@example.com");
+
+        // Assert
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(ingredientResolutionService, times(2)).resolve(anyCollection());
+        verify(recipeRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(RecipeChangedEvent.class));
+    }
+
+    @Test
+    void importRecipes_ReportsBadLinesAndImportsTheRest() {
+        // Arrange
+        UUID unknownIngredient = UUID.randomUUID();
+
+        // Act
+        RecipeImportResultDto result = recipeImportService.importRecipes(ndjson(
+                "{not json",
+                "{\"name\":\"\",\"cuisine\":\"ITALIAN\",\"mealType\":\"DINNER\",\"cookingTime\":10,\"instructions\":\"Cook\"}",
+                recipe("Mystery", unknownIngredient),
+                recipe("Soup", ingredient.getId())), "user@example.com");
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream().map(RecipeImportResultDto.LineError::getLine).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals("Recipe name is required", result.getErrors().get(1).getMessage());
+        assertEquals("Ingredient not found with id: " + unknownIngredient, result.getErrors().get(2).getMessage());
+    }
+
+    @Test
+    void importRecipes_BatchFailure_RetriesLinesIndividually() {
+        // Arrange
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<?> recipes = invocation.getArgument(0);
+            if (recipes.size() > 1) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return recipes;
+        });
+
+        // Act
+        RecipeImportResultDto result = recipeImportService.importRecipes(ndjson(
+                recipe("Soup", ingredient.getId()),
+                recipe("Stew", ingredient.getId())), "user@example.com");
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getFailed());
+        verify(recipeRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).clear();
+    }
+
+    private static String recipe(String name, UUID ingredientId) {
+        return "{\"name\":\"" + name + "\",\"cuisine\":\"ITALIAN\",\"mealType\":\"DINNER\",\"cookingTime\":20,"
+                + "\"instructions\":\"Cook\",\"ingredients\":[{\"ingredientId\":\"" + ingredientId + "\",\"quantity\":1.0}]}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,28 +1,50 @@
 package com.example.kooking.service.impl;
 
+import com.example.kooking.cache.CatalogVersionTracker;
+import com.example.kooking.cache.PageCountCache;
+import com.example.kooking.cache.PreferenceProfileCache;
+import com.example.kooking.cache.RecipeFeedCache;
+import com.example.kooking.cache.RecipePopularityCounter;
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.*;
+import com.example.kooking.event.RecipeChangedEvent;
+import com.example.kooking.event.RecipeEngagementEvent;
+import com.example.kooking.index.CoFavoriteIndex;
+import com.example.kooking.index.RecipeIngredientIndex;
+import com.example.kooking.index.RecipeTextIndex;
 import com.example.kooking.model.*;
 import com.example.kooking.repository.FavoriteRecipeRepository;
 import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.service.IngredientResolutionService;
 import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.utils.KeysetCursor;
 import com.example.kooking.utils.RecipeMapper;
 import com.example.kooking.utils.RecipeUtility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.function.LongSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,9 +68,39 @@ class RecipeServiceImplTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private IngredientResolutionService ingredientResolutionService;
+
     @Mock
     private RecipeUtility recipeUtility;
 
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Mock
+    private RecipeTextIndex recipeTextIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RecipePopularityCounter recipePopularityCounter;
+
+    @Spy
+    private RecipeFeedCache recipeFeedCache = new RecipeFeedCache(new SimpleMeterRegistry());
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Spy
+    private PageCountCache pageCountCache = new PageCountCache(new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+
+    @Spy
+    private PreferenceProfileCache preferenceProfileCache = new PreferenceProfileCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    @Mock
+    private CoFavoriteIndex coFavoriteIndex;
+
     @InjectMocks
     private RecipeServiceImpl recipeService;
 
@@ -183,10 +235,9 @@ class RecipeServiceImplTest {
     void getRecipes_WithoutSearch_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
 
-        when(recipeRepository.findAll(pageable)).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(isNull(), eq(pageable))).thenReturn(cardPage);
 
         // Act
         Page<RecipeCardDto> result = recipeService.getRecipes(0, 10, null, "name", Sort.Direction.ASC);
@@ -196,18 +247,18 @@ class RecipeServiceImplTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(recipeCardDto, result.getContent().getFirst());
 
-        verify(recipeRepository).findAll(pageable);
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(isNull(), eq(pageable));
+        verifyNoInteractions(recipeMapper);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void getRecipes_WithSearch_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
 
-        when(recipeRepository.findByNameContainingIgnoreCase("test", pageable)).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), eq(pageable))).thenReturn(cardPage);
 
         // Act
         Page<RecipeCardDto> result = recipeService.getRecipes(0, 10, "test", "name", Sort.Direction.ASC);
@@ -217,8 +268,183 @@ class RecipeServiceImplTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(recipeCardDto, result.getContent().getFirst());
 
-        verify(recipeRepository).findByNameContainingIgnoreCase("test", pageable);
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(any(Specification.class), eq(pageable));
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecipes_TextMode_PagesHitsInRelevanceOrder() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        RecipeCardDto otherCard = new RecipeCardDto();
+        otherCard.setId(otherId);
+
+        when(recipeTextIndex.isReady()).thenReturn(true);
+        when(recipeTextIndex.search(eq("tomato"), anyInt())).thenReturn(List.of(
+                new RecipeTextIndex.Hit(otherId, 2.0), new RecipeTextIndex.Hit(recipeId, 1.0)));
+        when(recipeRepository.findCards(any(Specification.class), eq(Sort.unsorted()), eq(2)))
+                .thenReturn(List.of(recipeCardDto, otherCard));
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.getRecipes(0, 10, "tomato", "name", Sort.Direction.ASC, RecipeSearchMode.TEXT);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertTrue(((CountedPage<RecipeCardDto>) result).isTotalExact());
+        assertEquals(List.of(otherId, recipeId), result.getContent().stream().map(RecipeCardDto::getId).toList());
+        verify(recipeRepository, never()).findCards(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecipes_TextMode_CappedHitsReportInexactTotal() {
+        // Arrange
+        ReflectionTestUtils.setField(recipeService, "maxTextHits", 2);
+        UUID otherId = UUID.randomUUID();
+
+        when(recipeTextIndex.isReady()).thenReturn(true);
+        when(recipeTextIndex.search("tomato", 2)).thenReturn(List.of(
+                new RecipeTextIndex.Hit(otherId, 2.0), new RecipeTextIndex.Hit(recipeId, 1.0)));
+        when(recipeRepository.findCards(any(Specification.class), eq(Sort.unsorted()), eq(1))).thenReturn(List.of(recipeCardDto));
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.getRecipes(1, 1, "tomato", "name", Sort.Direction.ASC, RecipeSearchMode.TEXT);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertFalse(((CountedPage<RecipeCardDto>) result).isTotalExact());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecipes_DefaultsToSortedLikeSearch() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "rating"));
+        when(recipeRepository.findCards(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(recipeCardDto)));
+
+        // Act
+        recipeService.getRecipes(0, 10, "tomato", "rating", Sort.Direction.DESC);
+
+        // Assert
+        verify(recipeRepository).findCards(any(Specification.class), eq(pageable));
+        verifyNoInteractions(recipeTextIndex);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_TextMode_KeepsOnlyHitsMatchingFilters() {
+        // Arrange
+        UUID filteredOutId = UUID.randomUUID();
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setSearch("tomato");
+        criteria.setCuisines(Collections.singletonList(CuisineType.ITALIAN));
+        ReflectionTestUtils.setField(recipeService, "defaultSearchMode", RecipeSearchMode.TEXT);
+
+        when(recipeTextIndex.isReady()).thenReturn(true);
+        when(recipeTextIndex.search(eq("tomato"), anyInt())).thenReturn(List.of(
+                new RecipeTextIndex.Hit(filteredOutId, 2.0), new RecipeTextIndex.Hit(recipeId, 1.0)));
+        when(recipeRepository.findIds(any(Specification.class))).thenReturn(List.of(recipeId));
+        when(recipeRepository.findCards(any(Specification.class), eq(Sort.unsorted()), eq(1))).thenReturn(List.of(recipeCardDto));
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc");
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(recipeCardDto, result.getContent().getFirst());
+        assertNull(criteria.getSearchMode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecipesAfter_FetchesOneExtraRowForNextCursor() {
+        // Arrange
+        RecipeCardDto nextCard = new RecipeCardDto();
+        nextCard.setId(UUID.randomUUID());
+        nextCard.setName("Zucchini Bread");
+        String cursor = new KeysetCursor("name", Sort.Direction.ASC, "Apple Pie", UUID.randomUUID()).encode();
+
+        when(recipeRepository.findCards(any(Specification.class), eq(KeysetCursor.sort("name", Sort.Direction.ASC)), eq(2)))
+                .thenReturn(List.of(recipeCardDto, nextCard));
+
+        // Act
+        CursorPageResponse<RecipeCardDto> result = recipeService.getRecipesAfter(cursor, 1, null, "name", Sort.Direction.ASC, false);
+
+        // Assert
+        assertEquals(List.of(recipeCardDto), result.getContent());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalElements());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor(), "name", Sort.Direction.ASC, String.class);
+        assertEquals("Test Recipe", next.key());
+        assertEquals(recipeId, next.id());
+        verify(recipeRepository, never()).countCards(any());
+    }
+
+    @Test
+    void getRecipesAfter_UnsupportedSort_ThrowsBadRequest() {
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> recipeService.getRecipesAfter(null, 10, null, "difficulty", Sort.Direction.ASC, true));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_CachedCountStrategy_CountsSameFiltersOnce() {
+        // Arrange
+        ReflectionTestUtils.setField(recipeService, "countStrategy", CountStrategy.CACHED);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "name"));
+        when(recipeRepository.findCards(any(Specification.class), eq(pageable), any(LongSupplier.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(recipeCardDto), pageable,
+                        invocation.<LongSupplier>getArgument(2).getAsLong()));
+        when(recipeRepository.countCards(any(Specification.class))).thenReturn(7L);
+
+        AdvancedRecipeFilterCriteria first = new AdvancedRecipeFilterCriteria();
+        first.setCuisines(List.of(CuisineType.ITALIAN, CuisineType.FRENCH));
+        AdvancedRecipeFilterCriteria reordered = new AdvancedRecipeFilterCriteria();
+        reordered.setCuisines(List.of(CuisineType.FRENCH, CuisineType.ITALIAN));
+
+        // Act
+        PageResponse<RecipeCardDto> counted = PageResponse.from(recipeService.advancedSearch(0, 1, first, "name", "asc"));
+        PageResponse<RecipeCardDto> cached = PageResponse.from(recipeService.advancedSearch(0, 1, reordered, "name", "asc"));
+
+        // Assert
+        assertEquals(7, counted.getTotalElements());
+        assertTrue(counted.isTotalExact());
+        assertEquals(7, cached.getTotalElements());
+        assertFalse(cached.isTotalExact());
+        verify(recipeRepository, times(1)).countCards(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_EstimatedCountStrategy_ScalesIndexCardinalityByAttributeShare() {
+        // Arrange
+        ReflectionTestUtils.setField(recipeService, "countStrategy", CountStrategy.ESTIMATED);
+        UUID ingredientId = UUID.randomUUID();
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setIncludeIngredients(List.of(ingredientId));
+        criteria.setCuisines(List.of(CuisineType.ITALIAN));
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.findRecipesWithAll(any(), any())).thenReturn(List.of(recipeId));
+        when(recipeIngredientIndex.countRecipesWithAll(List.of(ingredientId), null)).thenReturn(40);
+        when(recipeIngredientIndex.recipeCount()).thenReturn(1000);
+        when(recipeRepository.countCards(any(Specification.class))).thenReturn(250L);
+        when(recipeRepository.findCards(any(Specification.class), eq(pageable), any(LongSupplier.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(recipeCardDto), pageable,
+                        invocation.<LongSupplier>getArgument(2).getAsLong()));
+
+        // Act
+        PageResponse<RecipeCardDto> result = PageResponse.from(recipeService.advancedSearch(0, 1, criteria, "name", "asc"));
+
+        // Assert
+        assertEquals(10, result.getTotalElements());
+        assertFalse(result.isTotalExact());
     }
 
     @Test
@@ -229,10 +455,9 @@ class RecipeServiceImplTest {
         criteria.setCuisines(Collections.singletonList(CuisineType.ITALIAN));
 
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
 
-        when(recipeRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
 
         // Act
         Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc");
@@ -242,8 +467,184 @@ class RecipeServiceImplTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(recipeCardDto, result.getContent().getFirst());
 
-        verify(recipeRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_WithIngredientFilters_UsesIngredientIndex() {
+        // Arrange
+        UUID includedId = UUID.randomUUID();
+        UUID excludedId = UUID.randomUUID();
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setIncludeIngredients(List.of(includedId));
+        criteria.setExcludeIngredients(List.of(excludedId));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.findRecipesWithAll(List.of(includedId), List.of(excludedId))).thenReturn(List.of(recipeId));
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc");
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(recipeIngredientIndex).findRecipesWithAll(List.of(includedId), List.of(excludedId));
+        verify(recipeRepository).findCards(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void advancedSearch_NoIndexedMatches_ReturnsEmptyPageWithoutQuery() {
+        // Arrange
+        UUID includedId = UUID.randomUUID();
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setIncludeIngredients(List.of(includedId));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.findRecipesWithAll(List.of(includedId), null)).thenReturn(List.of());
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc");
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(recipeRepository, recipeMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_GroupByPlan_DoesNotUseIngredientIndex() {
+        // Arrange
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setIncludeIngredients(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
+
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc", AdvancedSearchPlan.GROUP_BY);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(recipeIngredientIndex);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_ExcludeOnly_UsesAntiJoinInsteadOfIdList() {
+        // Arrange
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setExcludeIngredients(List.of(UUID.randomUUID()));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc", AdvancedSearchPlan.INGREDIENT_INDEX);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(recipeIngredientIndex, never()).findRecipesWithAny(any());
+        verify(recipeIngredientIndex, never()).findRecipesWithAll(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_TooManyIndexCandidates_FallsBackToGroupedQuery() {
+        // Arrange
+        UUID includedId = UUID.randomUUID();
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setIncludeIngredients(List.of(includedId));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
+        ReflectionTestUtils.setField(recipeService, "maxIndexCandidates", 1);
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.findRecipesWithAll(List.of(includedId), null)).thenReturn(List.of(recipeId, UUID.randomUUID()));
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc", AdvancedSearchPlan.INGREDIENT_INDEX);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(recipeRepository).findCards(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advancedSearch_IndexNotReady_FallsBackToQuery() {
+        // Arrange
+        AdvancedRecipeFilterCriteria criteria = new AdvancedRecipeFilterCriteria();
+        criteria.setExcludeIngredients(List.of(UUID.randomUUID()));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
+
+        when(recipeIngredientIndex.isReady()).thenReturn(false);
+        when(recipeRepository.findCards(any(Specification.class), any(Pageable.class))).thenReturn(cardPage);
+
+        // Act
+        Page<RecipeCardDto> result = recipeService.advancedSearch(0, 10, criteria, "name", "asc", AdvancedSearchPlan.INGREDIENT_INDEX);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(recipeIngredientIndex, never()).findRecipesWithAny(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchByPantry_WithSubstitutes_RanksIndexedMatches() {
+        // Arrange
+        UUID pantryItem = UUID.randomUUID();
+        UUID substitutable = UUID.randomUUID();
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(ingredientRepository.findIdsSubstitutableBy(Set.of(pantryItem))).thenReturn(List.of(substitutable));
+        when(recipeIngredientIndex.scorePantry(Set.of(pantryItem, substitutable), 0.5))
+                .thenReturn(List.of(new RecipeIngredientIndex.PantryMatch(recipeId, 2, 3)));
+        when(recipeRepository.findCards(any(Specification.class), eq(Sort.unsorted()), eq(1))).thenReturn(List.of(recipeCardDto));
+
+        // Act
+        Page<PantryMatchDto> result = recipeService.searchByPantry(Set.of(pantryItem), true, 0.5, 0, 10);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        PantryMatchDto match = result.getContent().getFirst();
+        assertEquals(recipeCardDto, match.getRecipe());
+        assertEquals(2, match.getMatchedIngredients());
+        assertEquals(3, match.getTotalIngredients());
+        assertEquals(2.0 / 3, match.getCoverage(), 1e-9);
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    void searchByPantry_PageBeyondMatches_SkipsRecipeLookup() {
+        // Arrange
+        UUID pantryItem = UUID.randomUUID();
+
+        when(recipeIngredientIndex.isReady()).thenReturn(true);
+        when(recipeIngredientIndex.scorePantry(Set.of(pantryItem), 0.0))
+                .thenReturn(List.of(new RecipeIngredientIndex.PantryMatch(recipeId, 1, 1)));
+
+        // Act
+        Page<PantryMatchDto> result = recipeService.searchByPantry(Set.of(pantryItem), false, 0.0, 1, 10);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(recipeRepository, ingredientRepository);
+    }
+
+    @Test
+    void searchByPantry_IndexNotReady_ThrowsServiceUnavailable() {
+        // Arrange
+        when(recipeIngredientIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> recipeService.searchByPantry(Set.of(UUID.randomUUID()), false, 0.0, 0, 10));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
     }
 
     @Test
@@ -257,11 +658,12 @@ class RecipeServiceImplTest {
         recipeService.favoriteRecipe(recipeId, "user@example.com");
 
         // Assert
-        assertEquals(11, recipe.getPopularity()); // Popularity increased by 1
         verify(userRepository).findByEmail("user@example.com");
         verify(recipeRepository).findById(recipeId);
         verify(favoriteRecipeRepository).existsByUserAndRecipe(user, recipe);
         verify(favoriteRecipeRepository).save(any(FavoriteRecipe.class));
+        verify(recipePopularityCounter).adjust(recipeId, 1);
+        verify(eventPublisher).publishEvent(RecipeEngagementEvent.favorited(recipeId, user.getId()));
     }
 
     @Test
@@ -276,6 +678,7 @@ class RecipeServiceImplTest {
                 () -> recipeService.favoriteRecipe(recipeId, "user@example.com"));
 
         assertEquals("Recipe is already in favorites", exception.getMessage());
+        verifyNoInteractions(recipePopularityCounter);
         verify(userRepository).findByEmail("user@example.com");
         verify(recipeRepository).findById(recipeId);
         verify(favoriteRecipeRepository).existsByUserAndRecipe(user, recipe);
@@ -298,12 +701,12 @@ class RecipeServiceImplTest {
         recipeService.unfavoriteRecipe(recipeId, "user@example.com");
 
         // Assert
-        assertEquals(9, recipe.getPopularity()); // Popularity decreased by 1
         verify(userRepository).findByEmail("user@example.com");
         verify(recipeRepository).findById(recipeId);
         verify(favoriteRecipeRepository).findByUserAndRecipe(user, recipe);
         verify(favoriteRecipeRepository).delete(favoriteRecipe);
-        verify(recipeRepository).save(recipe);
+        verify(recipePopularityCounter).adjust(recipeId, -1);
+        verify(recipeRepository, never()).save(any(Recipe.class));
     }
 
     @Test
@@ -327,11 +730,9 @@ class RecipeServiceImplTest {
     @Test
     void getTrendingRecipes_Success() {
         // Arrange
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "popularity"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Sort byPopularity = Sort.by(Sort.Direction.DESC, "popularity");
 
-        when(recipeRepository.findAll(topTwenty)).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(null, byPopularity, 20)).thenReturn(List.of(recipeCardDto));
 
         // Act
         List<RecipeCardDto> result = recipeService.getTrendingRecipes();
@@ -341,8 +742,24 @@ class RecipeServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(recipeCardDto, result.getFirst());
 
-        verify(recipeRepository).findAll(topTwenty);
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(null, byPopularity, 20);
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    void getTrendingRecipes_SecondCallServedFromFeedCache() {
+        // Arrange
+        Sort byPopularity = Sort.by(Sort.Direction.DESC, "popularity");
+        when(recipeRepository.findCards(null, byPopularity, 20)).thenReturn(List.of(recipeCardDto));
+
+        // Act
+        RecipeFeedCache.Snapshot first = recipeService.getFeed(RecipeFeed.TRENDING);
+        RecipeFeedCache.Snapshot second = recipeService.getFeed(RecipeFeed.TRENDING);
+
+        // Assert
+        assertSame(first, second);
+        assertNotNull(first.etag());
+        verify(recipeRepository, times(1)).findCards(null, byPopularity, 20);
     }
 
     @Test
@@ -351,13 +768,11 @@ class RecipeServiceImplTest {
         // Arrange
         Season currentSeason = Season.SUMMER;
         List<CuisineType> seasonalCuisines = List.of(CuisineType.ITALIAN, CuisineType.MEDITERRANEAN);
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "popularity"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Sort byPopularity = Sort.by(Sort.Direction.DESC, "popularity");
 
         when(recipeUtility.getCurrentSeason()).thenReturn(currentSeason);
         when(recipeUtility.getSeasonalCuisines(currentSeason)).thenReturn(seasonalCuisines);
-        when(recipeRepository.findAll(any(Specification.class), eq(topTwenty))).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), eq(byPopularity), eq(20))).thenReturn(List.of(recipeCardDto));
 
         // Act
         List<RecipeCardDto> result = recipeService.getSeasonalRecipes();
@@ -369,8 +784,8 @@ class RecipeServiceImplTest {
 
         verify(recipeUtility).getCurrentSeason();
         verify(recipeUtility).getSeasonalCuisines(currentSeason);
-        verify(recipeRepository).findAll(any(Specification.class), eq(topTwenty));
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(any(Specification.class), eq(byPopularity), eq(20));
+        verifyNoInteractions(recipeMapper);
     }
 
     @Test
@@ -378,16 +793,14 @@ class RecipeServiceImplTest {
     void getRecommendedRecipes_EnoughRecipesForMealType() {
         // Arrange
         MealType currentMealType = MealType.DINNER;
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "rating"));
-        List<Recipe> recipes = new ArrayList<>();
+        Sort byRating = Sort.by(Sort.Direction.DESC, "rating");
+        List<RecipeCardDto> cards = new ArrayList<>();
         for (int i = 0; i < 20; i++) {
-            recipes.add(recipe);
+            cards.add(recipeCardDto);
         }
-        Page<Recipe> recipePage = new PageImpl<>(recipes);
 
         when(recipeUtility.getCurrentMealType()).thenReturn(currentMealType);
-        when(recipeRepository.findAll(any(Specification.class), eq(topTwenty))).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(any(Recipe.class))).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), eq(byRating), eq(20))).thenReturn(cards);
 
         // Act
         List<RecipeCardDto> result = recipeService.getRecommendedRecipes();
@@ -397,8 +810,8 @@ class RecipeServiceImplTest {
         assertEquals(20, result.size());
 
         verify(recipeUtility).getCurrentMealType();
-        verify(recipeRepository).findAll(any(Specification.class), eq(topTwenty));
-        verify(recipeMapper, times(20)).recipeToRecipeCardDto(any(Recipe.class));
+        verify(recipeRepository).findCards(any(Specification.class), eq(byRating), eq(20));
+        verifyNoInteractions(recipeMapper);
     }
 
     @Test
@@ -406,26 +819,22 @@ class RecipeServiceImplTest {
     void getRecommendedRecipes_NotEnoughRecipesForMealType() {
         // Arrange
         MealType currentMealType = MealType.DINNER;
-        Pageable topTwenty = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "rating"));
-        Pageable remaining = PageRequest.of(0, 15, Sort.by(Sort.Direction.DESC, "popularity"));
+        Sort byRating = Sort.by(Sort.Direction.DESC, "rating");
+        Sort byPopularity = Sort.by(Sort.Direction.DESC, "popularity");
 
-        List<Recipe> mealTypeRecipes = new ArrayList<>();
+        List<RecipeCardDto> mealTypeCards = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
-            mealTypeRecipes.add(recipe);
+            mealTypeCards.add(recipeCardDto);
         }
 
-        List<Recipe> additionalRecipes = new ArrayList<>();
+        List<RecipeCardDto> additionalCards = new ArrayList<>();
         for (int i = 0; i < 15; i++) {
-            additionalRecipes.add(recipe);
+            additionalCards.add(recipeCardDto);
         }
 
-        Page<Recipe> mealTypePage = new PageImpl<>(mealTypeRecipes);
-        Page<Recipe> additionalPage = new PageImpl<>(additionalRecipes);
-
         when(recipeUtility.getCurrentMealType()).thenReturn(currentMealType);
-        when(recipeRepository.findAll(any(Specification.class), eq(topTwenty))).thenReturn(mealTypePage);
-        when(recipeRepository.findAll(any(Specification.class), eq(remaining))).thenReturn(additionalPage);
-        when(recipeMapper.recipeToRecipeCardDto(any(Recipe.class))).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), eq(byRating), eq(20))).thenReturn(mealTypeCards);
+        when(recipeRepository.findCards(any(Specification.class), eq(byPopularity), eq(15))).thenReturn(additionalCards);
 
         // Act
         List<RecipeCardDto> result = recipeService.getRecommendedRecipes();
@@ -435,15 +844,123 @@ class RecipeServiceImplTest {
         assertEquals(20, result.size());
 
         verify(recipeUtility).getCurrentMealType();
-        verify(recipeRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
-        verify(recipeMapper, times(20)).recipeToRecipeCardDto(any(Recipe.class));
+        verify(recipeRepository, times(2)).findCards(any(Specification.class), any(Sort.class), anyInt());
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecommendedFeed_RanksCandidatesByPreferenceScore() {
+        // Arrange
+        user.setUserPreferences(UserPreferences.builder()
+                .preferredCuisine(Set.of(CuisineType.ITALIAN))
+                .preferredMealTypes(Set.of(MealType.DINNER))
+                .build());
+        RecipeCardDto wellRated = RecipeCardDto.builder().id(UUID.randomUUID()).cuisine(CuisineType.MEXICAN)
+                .mealType(MealType.DINNER).rating(BigDecimal.valueOf(5.0)).popularity(100).build();
+        RecipeCardDto preferred = RecipeCardDto.builder().id(UUID.randomUUID()).cuisine(CuisineType.ITALIAN)
+                .mealType(MealType.DINNER).rating(BigDecimal.valueOf(3.0)).popularity(1).build();
+        RecipeCardDto popular = RecipeCardDto.builder().id(UUID.randomUUID()).build();
+        Sort byRating = Sort.by(Sort.Direction.DESC, "rating").and(Sort.by(Sort.Direction.DESC, "popularity"));
+        Sort byPopularity = Sort.by(Sort.Direction.DESC, "popularity");
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(recipeUtility.getCurrentMealType()).thenReturn(MealType.DINNER);
+        when(recipeRepository.findCards(any(Specification.class), eq(byRating), eq(200))).thenReturn(List.of(wellRated, preferred));
+        when(recipeRepository.findCards(any(Specification.class), eq(byPopularity), eq(18))).thenReturn(List.of(popular));
+
+        // Act
+        RecipeFeedCache.Snapshot result = recipeService.getRecommendedFeed("user@example.com");
+
+        // Assert
+        assertEquals(List.of(preferred, wellRated, popular), result.recipes());
+        verifyNoInteractions(recipeMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecommendedFeed_SharesCandidatePoolAcrossUsersWithSamePreferences() {
+        // Arrange
+        User other = new User();
+        other.setEmail("other@example.com");
+        user.setUserPreferences(UserPreferences.builder().preferredCuisine(Set.of(CuisineType.ITALIAN, CuisineType.GREEK)).build());
+        other.setUserPreferences(UserPreferences.builder().preferredCuisine(Set.of(CuisineType.GREEK, CuisineType.ITALIAN)).build());
+        List<RecipeCardDto> cards = Collections.nCopies(20, recipeCardDto);
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("other@example.com")).thenReturn(Optional.of(other));
+        when(recipeUtility.getCurrentMealType()).thenReturn(MealType.DINNER);
+        when(recipeRepository.findCards(any(Specification.class), any(Sort.class), eq(200))).thenReturn(cards);
+
+        // Act
+        recipeService.getRecommendedFeed("user@example.com");
+        recipeService.getRecommendedFeed("other@example.com");
+        recipeService.getRecommendedFeed("user@example.com");
+
+        // Assert
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+        verify(userRepository, times(1)).findByEmail("other@example.com");
+        verify(recipeRepository, times(1)).findCards(any(Specification.class), any(Sort.class), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecommendedFeed_WithoutPreferences_ServesGenericFeed() {
+        // Arrange
+        Sort byRating = Sort.by(Sort.Direction.DESC, "rating");
+        List<RecipeCardDto> cards = Collections.nCopies(20, recipeCardDto);
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(recipeUtility.getCurrentMealType()).thenReturn(MealType.DINNER);
+        when(recipeRepository.findCards(any(Specification.class), eq(byRating), eq(20))).thenReturn(cards);
+
+        // Act
+        RecipeFeedCache.Snapshot signedIn = recipeService.getRecommendedFeed("user@example.com");
+        RecipeFeedCache.Snapshot anonymous = recipeService.getRecommendedFeed(null);
+
+        // Assert
+        assertEquals(20, signedIn.recipes().size());
+        assertSame(signedIn, anonymous);
+        verify(recipeRepository, times(1)).findCards(any(Specification.class), any(Sort.class), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAlsoLikedRecipes_KeepsIndexOrder() {
+        // Arrange
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        RecipeCardDto first = RecipeCardDto.builder().id(firstId).build();
+        RecipeCardDto second = RecipeCardDto.builder().id(secondId).build();
+
+        when(coFavoriteIndex.findAlsoLiked(recipeId, 10)).thenReturn(List.of(firstId, secondId));
+        when(recipeRepository.findCards(any(Specification.class), eq(Sort.unsorted()), eq(2))).thenReturn(List.of(second, first));
+
+        // Act
+        List<RecipeCardDto> result = recipeService.getAlsoLikedRecipes(recipeId, 10);
+
+        // Assert
+        assertEquals(List.of(first, second), result);
+        verify(recipeRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getAlsoLikedRecipes_UnknownRecipe_ThrowsNotFound() {
+        // Arrange
+        when(coFavoriteIndex.findAlsoLiked(recipeId, 10)).thenReturn(List.of());
+        when(recipeRepository.existsById(recipeId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> recipeService.getAlsoLikedRecipes(recipeId, 10));
     }
 
     @Test
     void getRecipeById_Success() {
         // Arrange
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
-        when(recipeMapper.recipeToRecipeDetailDto(recipe)).thenReturn(recipeDetailDto);
+        UserProfileDto author = recipeDetailDto.getAuthor();
+        when(recipeRepository.findDetailById(recipeId)).thenReturn(Optional.of(recipe));
+        when(recipeRepository.findAuthorProfile(recipeId)).thenReturn(Optional.of(author));
+        when(recipeMapper.recipeToRecipeDetailDto(recipe, author)).thenReturn(recipeDetailDto);
 
         // Act
         RecipeDetailDto result = recipeService.getRecipeById(recipeId);
@@ -452,29 +969,32 @@ class RecipeServiceImplTest {
         assertNotNull(result);
         assertEquals(recipeDetailDto, result);
 
-        verify(recipeRepository).findById(recipeId);
-        verify(recipeMapper).recipeToRecipeDetailDto(recipe);
+        verify(recipeRepository).findDetailById(recipeId);
+        verify(recipeRepository).findAuthorProfile(recipeId);
+        verify(recipeMapper).recipeToRecipeDetailDto(recipe, author);
     }
 
     @Test
     void getRecipeById_NotFound() {
         // Arrange
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+        when(recipeRepository.findDetailById(recipeId)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> recipeService.getRecipeById(recipeId));
 
         assertEquals("Recipe not found with id: " + recipeId, exception.getMessage());
-        verify(recipeRepository).findById(recipeId);
+        verify(recipeRepository).findDetailById(recipeId);
         verifyNoInteractions(recipeMapper);
     }
 
     @Test
     void getRecipeBrief_Success() {
         // Arrange
+        UserProfileDto author = recipeDetailDto.getAuthor();
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
-        when(recipeMapper.recipeToRecipeBriefDto(recipe)).thenReturn(recipeBriefDto);
+        when(recipeRepository.findAuthorProfile(recipeId)).thenReturn(Optional.of(author));
+        when(recipeMapper.recipeToRecipeBriefDto(recipe, author)).thenReturn(recipeBriefDto);
 
         // Act
         RecipeBriefDto result = recipeService.getRecipeBrief(recipeId);
@@ -484,7 +1004,38 @@ class RecipeServiceImplTest {
         assertEquals(recipeBriefDto, result);
 
         verify(recipeRepository).findById(recipeId);
-        verify(recipeMapper).recipeToRecipeBriefDto(recipe);
+        verify(recipeMapper).recipeToRecipeBriefDto(recipe, author);
+    }
+
+    @Test
+    void getRecipeVersion_CombinesRecipeRevisionAndIngredientCatalog() {
+        // Arrange
+        LocalDateTime recipeUpdatedAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        LocalDateTime catalogUpdatedAt = recipeUpdatedAt.plusHours(2);
+        RecipeRepository.RecipeRevision revision = mock(RecipeRepository.RecipeRevision.class);
+        when(revision.getRevision()).thenReturn(7L);
+        when(revision.getUpdatedAt()).thenReturn(recipeUpdatedAt);
+        when(recipeRepository.findRevisionById(recipeId)).thenReturn(Optional.of(revision));
+        when(catalogVersionTracker.ingredients())
+                .thenReturn(new CatalogVersion(CatalogVersion.INGREDIENTS, 3, catalogUpdatedAt));
+
+        // Act
+        ResourceVersion result = recipeService.getRecipeVersion(recipeId);
+
+        // Assert
+        assertEquals("W/\"recipe-7-3\"", result.etag());
+        assertEquals(catalogUpdatedAt.atZone(ZoneId.systemDefault()).toInstant(), result.lastModified());
+        verify(recipeRepository, never()).findDetailById(any());
+    }
+
+    @Test
+    void getRecipeVersion_NotFound() {
+        // Arrange
+        when(recipeRepository.findRevisionById(recipeId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> recipeService.getRecipeVersion(recipeId));
+        verifyNoInteractions(catalogVersionTracker);
     }
 
     @Test
@@ -498,6 +1049,7 @@ class RecipeServiceImplTest {
         // Assert
         verify(recipeRepository).findById(recipeId);
         verify(recipeRepository).delete(recipe);
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.deleted(recipeId));
     }
 
     @Test
@@ -505,7 +1057,8 @@ class RecipeServiceImplTest {
         // Arrange
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(ingredientRepository.findById(any(UUID.class))).thenReturn(Optional.of(ingredient));
+        when(ingredientResolutionService.resolve(Set.of(ingredient.getId())))
+                .thenReturn(new IngredientResolutionService.Resolution(Map.of(ingredient.getId(), ingredient), Set.of()));
         when(recipeRepository.save(recipe)).thenReturn(recipe);
         when(recipeMapper.recipeToRecipeDetailDto(recipe)).thenReturn(recipeDetailDto);
         when(favoriteRecipeRepository.existsByUserAndRecipe(user, recipe)).thenReturn(true);
@@ -520,8 +1073,9 @@ class RecipeServiceImplTest {
 
         verify(recipeRepository).findById(recipeId);
         verify(userRepository).findByEmail("user@example.com");
-        verify(ingredientRepository).findById(any(UUID.class));
+        verify(ingredientResolutionService).resolve(Set.of(ingredient.getId()));
         verify(recipeRepository).save(recipe);
+        verify(recipeRepository).touch(recipeId);
         verify(recipeMapper).recipeToRecipeDetailDto(recipe);
         verify(favoriteRecipeRepository).existsByUserAndRecipe(user, recipe);
     }
@@ -543,14 +1097,15 @@ class RecipeServiceImplTest {
         assertEquals("You are not authorized to update this recipe", exception.getMessage());
         verify(recipeRepository).findById(recipeId);
         verify(userRepository).findByEmail("different@example.com");
-        verifyNoMoreInteractions(recipeRepository, ingredientRepository, recipeMapper, favoriteRecipeRepository);
+        verifyNoMoreInteractions(recipeRepository, ingredientResolutionService, recipeMapper, favoriteRecipeRepository);
     }
 
     @Test
     void createRecipe_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(ingredientRepository.findById(any(UUID.class))).thenReturn(Optional.of(ingredient));
+        when(ingredientResolutionService.resolve(Set.of(ingredient.getId())))
+                .thenReturn(new IngredientResolutionService.Resolution(Map.of(ingredient.getId(), ingredient), Set.of()));
         when(recipeRepository.save(any(Recipe.class))).thenReturn(recipe);
         when(recipeMapper.recipeToRecipeDetailDto(recipe)).thenReturn(recipeDetailDto);
 
@@ -563,9 +1118,10 @@ class RecipeServiceImplTest {
         assertFalse(result.isFavorite());
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(ingredientRepository).findById(any(UUID.class));
+        verify(ingredientResolutionService).resolve(Set.of(ingredient.getId()));
         verify(recipeRepository).save(any(Recipe.class));
         verify(recipeMapper).recipeToRecipeDetailDto(recipe);
+        verify(eventPublisher).publishEvent(any(RecipeChangedEvent.class));
     }
 
     @Test
@@ -573,11 +1129,10 @@ class RecipeServiceImplTest {
     void getUserRecipes_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Recipe> recipePage = new PageImpl<>(List.of(recipe));
+        Page<RecipeCardDto> cardPage = new PageImpl<>(List.of(recipeCardDto));
 
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(recipeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(recipePage);
-        when(recipeMapper.recipeToRecipeCardDto(recipe)).thenReturn(recipeCardDto);
+        when(recipeRepository.findCards(any(Specification.class), eq(pageable))).thenReturn(cardPage);
 
         // Act
         Page<RecipeCardDto> result = recipeService.getUserRecipes(0, 10, "test", "italian", "dinner", "newest", "user@example.com");
@@ -588,8 +1143,8 @@ class RecipeServiceImplTest {
         assertEquals(recipeCardDto, result.getContent().getFirst());
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(recipeRepository).findAll(any(Specification.class), eq(pageable));
-        verify(recipeMapper).recipeToRecipeCardDto(recipe);
+        verify(recipeRepository).findCards(any(Specification.class), eq(pageable));
+        verifyNoInteractions(recipeMapper);
     }
 
     @Test
@@ -1,12 +1,14 @@
 package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
+import com.example.kooking.event.RecipeEngagementEvent;
 import com.example.kooking.model.Recipe;
 import com.example.kooking.model.Review;
 import com.example.kooking.model.User;
 import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.ReviewRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.utils.KeysetCursor;
 import com.example.kooking.utils.ReviewMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,23 +16,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +52,9 @@ class ReviewServiceImplTest {
     @Mock
     private ReviewMapper reviewMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -147,6 +154,32 @@ class ReviewServiceImplTest {
         verify(reviewMapper).reviewToReviewDto(review);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRecipeReviewsAfter_MapsPageAndEncodesNextCursor() {
+        // Arrange
+        Review older = new Review();
+        older.setId(UUID.randomUUID());
+        older.setCreatedAt(review.getCreatedAt().minusDays(1));
+
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
+        when(reviewRepository.findBy(any(Specification.class), any())).thenReturn(List.of(review, older));
+        when(reviewMapper.reviewToReviewDto(review)).thenReturn(reviewDto);
+
+        // Act
+        CursorPageResponse<ReviewDto> result = reviewService.getRecipeReviewsAfter(recipeId, null, 1, false);
+
+        // Assert
+        assertEquals(List.of(reviewDto), result.getContent());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalElements());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor(), "createdAt", Sort.Direction.DESC, LocalDateTime.class);
+        assertEquals(review.getCreatedAt(), next.key());
+        assertEquals(reviewId, next.id());
+        verify(reviewMapper, never()).reviewToReviewDto(same(older));
+        verify(reviewRepository, never()).count(any(Specification.class));
+    }
+
     @Test
     void getRecipeReviews_RecipeNotFound() {
         // Arrange
@@ -170,7 +203,6 @@ class ReviewServiceImplTest {
         when(reviewMapper.createReviewDtoToReview(createReviewDto)).thenReturn(review);
         when(reviewRepository.save(review)).thenReturn(review);
         when(reviewMapper.reviewToReviewDto(review)).thenReturn(reviewDto);
-        when(reviewRepository.calculateAverageRatingByRecipe(recipeId)).thenReturn(5.0);
 
         // Act
         ReviewDto result = reviewService.createReview(recipeId, createReviewDto, "user@example.com");
@@ -185,11 +217,10 @@ class ReviewServiceImplTest {
         verify(reviewMapper).createReviewDtoToReview(createReviewDto);
         verify(reviewRepository).save(review);
         verify(reviewMapper).reviewToReviewDto(review);
-        verify(reviewRepository).calculateAverageRatingByRecipe(recipeId);
-        verify(recipeRepository).save(recipe);
-
-        assertEquals(BigDecimal.valueOf(5.0).setScale(1, RoundingMode.HALF_UP), recipe.getRating());
-
+        verify(recipeRepository).recordRatingChange(recipeId, 5, 0);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+        verify(reviewRepository, never()).calculateAverageRatingByRecipe(any());
+        verify(eventPublisher).publishEvent(RecipeEngagementEvent.reviewed(recipeId, user.getId()));
     }
 
     @Test
@@ -217,7 +248,10 @@ class ReviewServiceImplTest {
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
         when(reviewRepository.save(review)).thenReturn(review);
         when(reviewMapper.reviewToReviewDto(review)).thenReturn(reviewDto);
-        when(reviewRepository.calculateAverageRatingByRecipe(recipeId)).thenReturn(4.0);
+        doAnswer(invocation -> {
+            review.setRating(updateReviewDto.getRating());
+            return null;
+        }).when(reviewMapper).updateReviewFromDto(updateReviewDto, review);
 
         // Act
         ReviewDto result = reviewService.updateReview(reviewId, updateReviewDto, "user@example.com");
@@ -231,10 +265,24 @@ class ReviewServiceImplTest {
         verify(reviewMapper).updateReviewFromDto(updateReviewDto, review);
         verify(reviewRepository).save(review);
         verify(reviewMapper).reviewToReviewDto(review);
-        verify(reviewRepository).calculateAverageRatingByRecipe(recipeId);
-        verify(recipeRepository).save(recipe);
+        verify(recipeRepository).recordRatingChange(recipeId, 4, 5);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+    }
+
+    @Test
+    void updateReview_SameRating_LeavesAggregatesAlone() {
+        // Arrange
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+        when(reviewRepository.save(review)).thenReturn(review);
+        when(reviewMapper.reviewToReviewDto(review)).thenReturn(reviewDto);
+
+        // Act
+        reviewService.updateReview(reviewId, updateReviewDto, "user@example.com");
 
-        assertEquals(BigDecimal.valueOf(4.0).setScale(1, RoundingMode.HALF_UP), recipe.getRating());
+        // Assert
+        verify(recipeRepository, never()).recordRatingChange(any(), anyInt(), anyInt());
+        verify(recipeRepository).touch(review.getRecipe().getId());
     }
 
     @Test
@@ -262,7 +310,6 @@ class ReviewServiceImplTest {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
-        when(reviewRepository.calculateAverageRatingByRecipe(recipeId)).thenReturn(null);
 
         // Act
         reviewService.deleteReview(reviewId, "user@example.com");
@@ -271,10 +318,8 @@ class ReviewServiceImplTest {
         verify(userRepository).findByEmail("user@example.com");
         verify(reviewRepository).findById(reviewId);
         verify(reviewRepository).delete(review);
-        verify(reviewRepository).calculateAverageRatingByRecipe(recipeId);
-        verify(recipeRepository).save(recipe);
-
-        assertEquals(BigDecimal.ZERO, recipe.getRating());
+        verify(recipeRepository).recordRatingChange(recipeId, 0, 5);
+        verify(recipeRepository, never()).save(any(Recipe.class));
     }
 
     @Test
@@ -321,31 +366,14 @@ class ReviewServiceImplTest {
     }
 
     @Test
-    void updateRecipeRating_WithReviews() {
-        // Arrange
-        when(reviewRepository.calculateAverageRatingByRecipe(recipeId)).thenReturn(4.7);
-
-        // Act
-        reviewService.updateRecipeRating(recipe);
-
-        // Assert
-        assertEquals(BigDecimal.valueOf(4.7).setScale(1, RoundingMode.HALF_UP), recipe.getRating());
-        verify(reviewRepository).calculateAverageRatingByRecipe(recipeId);
-        verify(recipeRepository).save(recipe);
-    }
-
-    @Test
-    void updateRecipeRating_NoReviews() {
-        // Arrange
-        when(reviewRepository.calculateAverageRatingByRecipe(recipeId)).thenReturn(null);
-
+    void updateRecipeRating_ReconcilesAggregatesFromReviews() {
         // Act
         reviewService.updateRecipeRating(recipe);
 
         // Assert
-        assertEquals(BigDecimal.ZERO, recipe.getRating());
-        verify(reviewRepository).calculateAverageRatingByRecipe(recipeId);
-        verify(recipeRepository).save(recipe);
+        verify(recipeRepository).reconcileRatingAggregates(recipeId);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+        verifyNoInteractions(reviewRepository);
     }
 
     @Test
@@ -2,20 +2,29 @@ package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.IngredientCategory;
+import com.example.kooking.enums.ShoppingListOperation;
 import com.example.kooking.enums.ShoppingStatus;
 import com.example.kooking.model.Ingredient;
 import com.example.kooking.model.ShoppingList;
 import com.example.kooking.model.User;
-import com.example.kooking.repository.IngredientRepository;
+import com.example.kooking.model.ShoppingListChange;
+import com.example.kooking.model.ShoppingListItem;
+import com.example.kooking.repository.RecipeIngredientRepository;
+import com.example.kooking.repository.ShoppingListChangeRepository;
 import com.example.kooking.repository.ShoppingListRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.service.IngredientResolutionService;
 import com.example.kooking.utils.ShoppingListMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.server.ResponseStatusException;
@@ -33,11 +42,17 @@ class ShoppingListServiceImplTest {
     @Mock
     private ShoppingListRepository shoppingListRepository;
 
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Mock
+    private ShoppingListChangeRepository shoppingListChangeRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private IngredientRepository ingredientRepository;
+    private IngredientResolutionService ingredientResolutionService;
 
     @Mock
     private ShoppingListMapper shoppingListMapper;
@@ -155,7 +170,7 @@ class ShoppingListServiceImplTest {
     void getShoppingListById_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
+        when(shoppingListRepository.findDetailByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
         // Act
@@ -166,15 +181,32 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
+        verify(shoppingListRepository).findDetailByIdAndUser(shoppingListId, user);
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
     }
 
+    @Test
+    void getUserShoppingListSummaries_Success() {
+        // Arrange
+        Page<ShoppingListSummaryDto> summaries = new PageImpl<>(List.of(
+                new ShoppingListSummaryDto(shoppingListId, ShoppingStatus.ACTIVE, 2, shoppingList.getCreatedAt(), shoppingList.getUpdatedAt())));
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(shoppingListRepository.findSummariesByUser(user, PageRequest.of(1, 20))).thenReturn(summaries);
+
+        // Act
+        Page<ShoppingListSummaryDto> result = shoppingListService.getUserShoppingListSummaries("user@example.com", 1, 20);
+
+        // Assert
+        assertEquals(summaries, result);
+        verify(shoppingListRepository, never()).findByUserOrderByCreatedAtDesc(any());
+        verifyNoInteractions(shoppingListMapper);
+    }
+
     @Test
     void getShoppingListById_NotFound() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.empty());
+        when(shoppingListRepository.findDetailByIdAndUser(shoppingListId, user)).thenReturn(Optional.empty());
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
@@ -184,7 +216,7 @@ class ShoppingListServiceImplTest {
         assertEquals("Shopping list not found with id: " + shoppingListId, exception.getReason());
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
+        verify(shoppingListRepository).findDetailByIdAndUser(shoppingListId, user);
         verifyNoInteractions(shoppingListMapper);
     }
 
@@ -192,8 +224,7 @@ class ShoppingListServiceImplTest {
     void createShoppingList_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(ingredientRepository.findById(ingredientId1)).thenReturn(Optional.of(ingredient1));
-        when(ingredientRepository.findById(ingredientId2)).thenReturn(Optional.of(ingredient2));
+        when(ingredientResolutionService.resolve(Set.of(ingredientId1, ingredientId2))).thenReturn(resolved(ingredient1, ingredient2));
         when(shoppingListRepository.save(any(ShoppingList.class))).thenReturn(shoppingList);
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
@@ -205,19 +236,175 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(ingredientRepository).findById(ingredientId1);
-        verify(ingredientRepository).findById(ingredientId2);
+        verify(ingredientResolutionService).resolve(Set.of(ingredientId1, ingredientId2));
         verify(shoppingListRepository).save(any(ShoppingList.class));
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
     }
 
+    @Test
+    void buildShoppingListFromRecipes_ScalesAndSumsLinesPerIngredientAndUnit() {
+        // Arrange
+        UUID pasta = UUID.randomUUID();
+        UUID soup = UUID.randomUUID();
+        BuildShoppingListDto request = new BuildShoppingListDto(List.of(
+                new RecipeServingsDto(pasta, 2.0),
+                new RecipeServingsDto(soup, 1.0)));
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(recipeIngredientRepository.findIngredientLinesByRecipeIds(Set.of(pasta, soup))).thenReturn(List.of(
+                new Line(pasta, ingredientId1, 400.0, "g"),
+                new Line(soup, ingredientId1, 0.5, "kg"),
+                new Line(soup, ingredientId1, 1.0, "tsp"),
+                new Line(pasta, ingredientId2, 1.0, "pcs"),
+                new Line(soup, ingredientId2, 2.0, null)));
+        when(ingredientResolutionService.resolve(Set.of(ingredientId1, ingredientId2))).thenReturn(resolved(ingredient1, ingredient2));
+        when(shoppingListRepository.save(any(ShoppingList.class))).thenReturn(shoppingList);
+        when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
+
+        // Act
+        ShoppingListDto result = shoppingListService.buildShoppingListFromRecipes(request, "user@example.com");
+
+        // Assert
+        assertEquals(shoppingListDto, result);
+
+        ArgumentCaptor<ShoppingList> saved = ArgumentCaptor.forClass(ShoppingList.class);
+        verify(shoppingListRepository).save(saved.capture());
+        List<ShoppingListItem> items = saved.getValue().getItems();
+        assertEquals(3, items.size());
+        assertItem(items.get(0), ingredient1, 1.3, "kg");
+        assertItem(items.get(1), ingredient1, 4.93, "ml");
+        assertItem(items.get(2), ingredient2, 4.0, null);
+        assertTrue(items.stream().allMatch(item -> item.getShoppingList() == saved.getValue()));
+        assertEquals(Set.of(ingredient1, ingredient2), saved.getValue().getIngredients());
+    }
+
+    @Test
+    void buildShoppingListFromRecipes_UnknownRecipe() {
+        // Arrange
+        UUID pasta = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        BuildShoppingListDto request = new BuildShoppingListDto(List.of(
+                new RecipeServingsDto(pasta, 1.0),
+                new RecipeServingsDto(missing, 1.0)));
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(recipeIngredientRepository.findIngredientLinesByRecipeIds(Set.of(pasta, missing)))
+                .thenReturn(List.of(new Line(pasta, ingredientId1, 100.0, "g")));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shoppingListService.buildShoppingListFromRecipes(request, "user@example.com"));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        assertTrue(exception.getReason().contains(missing.toString()));
+        verify(shoppingListRepository, never()).save(any());
+    }
+
+    @Test
+    void syncShoppingList_AppliesOperationsAsTargetedWrites() {
+        // Arrange
+        ShoppingListSyncDto syncDto = new ShoppingListSyncDto(3, List.of(
+                new ShoppingListOperationDto(ShoppingListOperation.ADD, ingredientId1),
+                new ShoppingListOperationDto(ShoppingListOperation.CHECK, ingredientId2),
+                new ShoppingListOperationDto(ShoppingListOperation.UNCHECK, ingredientId1)));
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(shoppingListRepository.findStateByIdAndUser(shoppingListId, user))
+                .thenReturn(Optional.of(new State(3, ShoppingStatus.ACTIVE)));
+        when(shoppingListRepository.advanceVersion(shoppingListId, 3, 3)).thenReturn(1);
+        when(ingredientResolutionService.resolve(Set.of(ingredientId1))).thenReturn(resolved(ingredient1));
+        when(shoppingListRepository.insertIngredient(shoppingListId, ingredientId1)).thenReturn(1);
+        when(shoppingListRepository.insertCheck(shoppingListId, ingredientId2)).thenReturn(1);
+
+        // Act
+        ShoppingListDeltaDto result = shoppingListService.syncShoppingList(shoppingListId, syncDto, "user@example.com");
+
+        // Assert
+        assertEquals(6, result.getVersion());
+        assertEquals(ShoppingStatus.ACTIVE, result.getStatus());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ShoppingListChange>> logged = ArgumentCaptor.forClass(List.class);
+        verify(shoppingListChangeRepository).saveAll(logged.capture());
+        // The uncheck was a no-op, so only two changes are logged, each at its own version
+        assertEquals(List.of(4L, 5L), logged.getValue().stream().map(ShoppingListChange::getVersion).toList());
+        assertEquals(List.of(ShoppingListOperation.ADD, ShoppingListOperation.CHECK),
+                logged.getValue().stream().map(ShoppingListChange::getOperation).toList());
+        verify(shoppingListRepository, never()).findByIdAndUser(any(), any());
+        verify(shoppingListRepository, never()).save(any());
+    }
+
+    @Test
+    void syncShoppingList_StaleVersion_RejectedBeforeAnyWrite() {
+        // Arrange
+        ShoppingListSyncDto syncDto = new ShoppingListSyncDto(3, List.of(
+                new ShoppingListOperationDto(ShoppingListOperation.REMOVE, ingredientId1)));
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(shoppingListRepository.findStateByIdAndUser(shoppingListId, user))
+                .thenReturn(Optional.of(new State(5, ShoppingStatus.ACTIVE)));
+
+        // Act & Assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> shoppingListService.syncShoppingList(shoppingListId, syncDto, "user@example.com"));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(shoppingListRepository, never()).advanceVersion(any(), anyLong(), anyLong());
+        verify(shoppingListRepository, never()).deleteIngredient(any(), any());
+        verifyNoInteractions(shoppingListChangeRepository);
+    }
+
+    @Test
+    void getShoppingListChanges_ReturnsLogAboveClientVersion() {
+        // Arrange
+        List<ShoppingListChange> changes = List.of(ShoppingListChange.builder()
+                .shoppingListId(shoppingListId)
+                .version(5)
+                .operation(ShoppingListOperation.CHECK)
+                .ingredientId(ingredientId1)
+                .build());
+        List<ShoppingListChangeDto> changeDtos = List.of(new ShoppingListChangeDto(5, ShoppingListOperation.CHECK, ingredientId1, null));
+
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(shoppingListRepository.findStateByIdAndUser(shoppingListId, user))
+                .thenReturn(Optional.of(new State(5, ShoppingStatus.ACTIVE)));
+        when(shoppingListChangeRepository.findByShoppingListIdAndVersionGreaterThanOrderByVersionAsc(shoppingListId, 4))
+                .thenReturn(changes);
+        when(shoppingListMapper.shoppingListChangesToShoppingListChangeDtos(changes)).thenReturn(changeDtos);
+
+        // Act
+        ShoppingListDeltaDto result = shoppingListService.getShoppingListChanges(shoppingListId, 4, "user@example.com");
+
+        // Assert
+        assertEquals(new ShoppingListDeltaDto(shoppingListId, 5, ShoppingStatus.ACTIVE, changeDtos), result);
+    }
+
+    @Test
+    void getShoppingListChanges_UpToDateClient_SkipsChangeLog() {
+        // Arrange
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(shoppingListRepository.findStateByIdAndUser(shoppingListId, user))
+                .thenReturn(Optional.of(new State(5, ShoppingStatus.ACTIVE)));
+
+        // Act
+        ShoppingListDeltaDto result = shoppingListService.getShoppingListChanges(shoppingListId, 5, "user@example.com");
+
+        // Assert
+        assertEquals(5, result.getVersion());
+        verifyNoInteractions(shoppingListChangeRepository);
+    }
+
     @Test
     void updateShoppingList_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
-        when(ingredientRepository.findById(ingredientId1)).thenReturn(Optional.of(ingredient1));
+        shoppingList.setItems(new ArrayList<>(List.of(
+                ShoppingListItem.builder().shoppingList(shoppingList).ingredient(ingredient1).quantity(2.0).unit("kg").build(),
+                ShoppingListItem.builder().shoppingList(shoppingList).ingredient(ingredient2).quantity(1.0).unit("l").build())));
+        when(shoppingListRepository.findForUpdateByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
+        when(ingredientResolutionService.resolve(Set.of(ingredientId1))).thenReturn(resolved(ingredient1));
         when(shoppingListRepository.save(shoppingList)).thenReturn(shoppingList);
+        when(shoppingListRepository.findVersionById(shoppingListId)).thenReturn(4L);
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
         // Act
@@ -228,21 +415,35 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
-        verify(ingredientRepository).findById(ingredientId1);
+        verify(shoppingListRepository).findForUpdateByIdAndUser(shoppingListId, user);
+        verify(ingredientResolutionService).resolve(Set.of(ingredientId1));
         verify(shoppingListRepository).save(shoppingList);
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
 
         assertEquals(ShoppingStatus.COMPLETED, shoppingList.getStatus());
         assertEquals(1, shoppingList.getIngredients().size());
+
+        // Full-list writes still advance the version and log their diff for delta clients
+        verify(shoppingListRepository).incrementVersion(shoppingListId);
+        assertEquals(4L, shoppingList.getVersion());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ShoppingListChange>> logged = ArgumentCaptor.forClass(List.class);
+        verify(shoppingListChangeRepository).saveAll(logged.capture());
+        ShoppingListChange removal = logged.getValue().getFirst();
+        assertEquals(1, logged.getValue().size());
+        assertEquals(4L, removal.getVersion());
+        assertEquals(ShoppingListOperation.REMOVE, removal.getOperation());
+        assertEquals(ingredientId2, removal.getIngredientId());
         assertTrue(shoppingList.getIngredients().contains(ingredient1));
+        // The removed ingredient's quantity goes with it
+        assertEquals(List.of(ingredient1), shoppingList.getItems().stream().map(ShoppingListItem::getIngredient).toList());
     }
 
     @Test
     void updateShoppingListStatus_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
+        when(shoppingListRepository.findForUpdateByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
         when(shoppingListRepository.save(shoppingList)).thenReturn(shoppingList);
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
@@ -254,7 +455,7 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
+        verify(shoppingListRepository).findForUpdateByIdAndUser(shoppingListId, user);
         verify(shoppingListRepository).save(shoppingList);
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
 
@@ -287,8 +488,8 @@ class ShoppingListServiceImplTest {
         Set<UUID> ingredientIdsToAdd = new HashSet<>(Collections.singletonList(newIngredientId));
 
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
-        when(ingredientRepository.findById(newIngredientId)).thenReturn(Optional.of(newIngredient));
+        when(shoppingListRepository.findForUpdateByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
+        when(ingredientResolutionService.resolve(ingredientIdsToAdd)).thenReturn(resolved(newIngredient));
         when(shoppingListRepository.save(shoppingList)).thenReturn(shoppingList);
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
@@ -300,8 +501,8 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
-        verify(ingredientRepository).findById(newIngredientId);
+        verify(shoppingListRepository).findForUpdateByIdAndUser(shoppingListId, user);
+        verify(ingredientResolutionService).resolve(ingredientIdsToAdd);
         verify(shoppingListRepository).save(shoppingList);
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
 
@@ -313,8 +514,8 @@ class ShoppingListServiceImplTest {
     void removeIngredientFromShoppingList_Success() {
         // Arrange
         when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
-        when(shoppingListRepository.findByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
-        when(ingredientRepository.findById(ingredientId1)).thenReturn(Optional.of(ingredient1));
+        when(shoppingListRepository.findForUpdateByIdAndUser(shoppingListId, user)).thenReturn(Optional.of(shoppingList));
+        when(ingredientResolutionService.resolve(Set.of(ingredientId1))).thenReturn(resolved(ingredient1));
         when(shoppingListRepository.save(shoppingList)).thenReturn(shoppingList);
         when(shoppingListMapper.shoppingListToShoppingListDto(shoppingList)).thenReturn(shoppingListDto);
 
@@ -326,8 +527,8 @@ class ShoppingListServiceImplTest {
         assertEquals(shoppingListDto, result);
 
         verify(userRepository).findByEmail("user@example.com");
-        verify(shoppingListRepository).findByIdAndUser(shoppingListId, user);
-        verify(ingredientRepository).findById(ingredientId1);
+        verify(shoppingListRepository).findForUpdateByIdAndUser(shoppingListId, user);
+        verify(ingredientResolutionService).resolve(Set.of(ingredientId1));
         verify(shoppingListRepository).save(shoppingList);
         verify(shoppingListMapper).shoppingListToShoppingListDto(shoppingList);
 
@@ -396,8 +597,7 @@ class ShoppingListServiceImplTest {
         // Arrange
         Set<UUID> ingredientIds = new HashSet<>(Arrays.asList(ingredientId1, ingredientId2));
 
-        when(ingredientRepository.findById(ingredientId1)).thenReturn(Optional.of(ingredient1));
-        when(ingredientRepository.findById(ingredientId2)).thenReturn(Optional.of(ingredient2));
+        when(ingredientResolutionService.resolve(ingredientIds)).thenReturn(resolved(ingredient1, ingredient2));
 
         // Act
         Set<Ingredient> result = shoppingListService.findIngredientsByIds(ingredientIds);
@@ -408,24 +608,74 @@ class ShoppingListServiceImplTest {
         assertTrue(result.contains(ingredient1));
         assertTrue(result.contains(ingredient2));
 
-        verify(ingredientRepository).findById(ingredientId1);
-        verify(ingredientRepository).findById(ingredientId2);
+        verify(ingredientResolutionService).resolve(ingredientIds);
     }
 
     @Test
     void findIngredientsByIds_IngredientNotFound() {
         // Arrange
-        Set<UUID> ingredientIds = new HashSet<>(Arrays.asList(ingredientId1, UUID.randomUUID()));
+        UUID missingId = UUID.randomUUID();
+        Set<UUID> ingredientIds = new HashSet<>(Arrays.asList(ingredientId1, missingId));
 
-        when(ingredientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(ingredientResolutionService.resolve(ingredientIds))
+                .thenReturn(new IngredientResolutionService.Resolution(Map.of(ingredientId1, ingredient1), Set.of(missingId)));
 
         // Act & Assert
         ResponseStatusException exception = assertThrows(ResponseStatusException.class,
                 () -> shoppingListService.findIngredientsByIds(ingredientIds));
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
-        assertTrue(Objects.requireNonNull(exception.getReason()).startsWith("Ingredient not found with id: "));
+        assertEquals("Ingredient not found with id: " + missingId, exception.getReason());
+
+        verify(ingredientResolutionService).resolve(ingredientIds);
+    }
+
+    private static IngredientResolutionService.Resolution resolved(Ingredient... ingredients) {
+        Map<UUID, Ingredient> found = new HashMap<>();
+        for (Ingredient ingredient : ingredients) {
+            found.put(ingredient.getId(), ingredient);
+        }
+        return new IngredientResolutionService.Resolution(found, Set.of());
+    }
+
+    private static void assertItem(ShoppingListItem item, Ingredient ingredient, double quantity, String unit) {
+        assertEquals(ingredient, item.getIngredient());
+        assertEquals(quantity, item.getQuantity(), 1e-9);
+        assertEquals(unit, item.getUnit());
+    }
+
+    private record Line(UUID recipeId, UUID ingredientId, Double quantity, String unit)
+            implements RecipeIngredientRepository.IngredientLine {
+        @Override
+        public UUID getRecipeId() {
+            return recipeId;
+        }
+
+        @Override
+        public UUID getIngredientId() {
+            return ingredientId;
+        }
+
+        @Override
+        public Double getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    private record State(long version, ShoppingStatus status) implements ShoppingListRepository.ListState {
+        @Override
+        public long getVersion() {
+            return version;
+        }
 
-        verify(ingredientRepository, atLeastOnce()).findById(any(UUID.class));
+        @Override
+        public ShoppingStatus getStatus() {
+            return status;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.example.kooking.service.impl;
 
 import com.example.kooking.dto.*;
 import com.example.kooking.enums.*;
+import com.example.kooking.event.UserChangedEvent;
 import com.example.kooking.model.FavoriteRecipe;
 import com.example.kooking.model.Recipe;
 import com.example.kooking.model.User;
@@ -10,6 +11,7 @@ import com.example.kooking.repository.FavoriteRecipeRepository;
 import com.example.kooking.repository.RecipeRepository;
 import com.example.kooking.repository.UserPreferencesRepository;
 import com.example.kooking.repository.UserRepository;
+import com.example.kooking.utils.KeysetCursor;
 import com.example.kooking.utils.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,16 +19,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +54,9 @@ class UserServiceImplTest {
     @Mock
     private FavoriteRecipeRepository favoriteRecipeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -182,6 +192,7 @@ class UserServiceImplTest {
         verify(userRepository).findByEmail("user@example.com");
         verify(userRepository).save(user);
         verify(userMapper).userToUserProfileDto(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("user@example.com"));
     }
 
     @Test
@@ -250,6 +261,7 @@ class UserServiceImplTest {
         verify(userRepository).findByEmail("user@example.com");
         verify(userPreferencesRepository).save(userPreferences);
         verify(userMapper).userPreferencesToDto(userPreferences);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("user@example.com"));
     }
 
     @Test
@@ -303,6 +315,26 @@ class UserServiceImplTest {
         verifyNoInteractions(favoriteRecipeRepository, userMapper);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getUserFavoriteRecipesAfter_LastPage_HasNoCursor() {
+        // Arrange
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(recipeRepository.findCards(any(Specification.class), eq(KeysetCursor.sort("name", Sort.Direction.ASC)), eq(11)))
+                .thenReturn(List.of(recipeCardDto));
+        when(recipeRepository.countCards(any(Specification.class))).thenReturn(1L);
+
+        // Act
+        CursorPageResponse<RecipeCardDto> result = userService.getUserFavoriteRecipesAfter("user@example.com", null, 10, true);
+
+        // Assert
+        assertEquals(List.of(recipeCardDto), result.getContent());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(1L, result.getTotalElements());
+        verifyNoInteractions(favoriteRecipeRepository, userMapper);
+    }
+
     @Test
     void getUserRecipes_Success() {
         // Arrange
@@ -0,0 +1,74 @@
+package com.example.kooking.utils;
+
+import com.example.kooking.dto.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetTest {
+
+    private final Instant lastModified = Instant.parse("2025-03-01T10:00:00.250Z");
+    private final ResourceVersion version = new ResourceVersion("W/\"recipe-7-3\"", lastModified);
+    private final CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    private final AtomicInteger bodyLoads = new AtomicInteger();
+
+    @Test
+    void respond_ReturnsBodyWithValidatorsWhenClientHasNoCopy() {
+        ResponseEntity<String> response = ConditionalGet.respond(new HttpHeaders(), version, cacheControl, this::body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals("W/\"recipe-7-3\"", response.getHeaders().getETag());
+        assertEquals(lastModified.getEpochSecond() * 1000, response.getHeaders().getLastModified());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void respond_SkipsBodyWhenEntityTagMatchesWeakly() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"other\", \"recipe-7-3\"");
+
+        ResponseEntity<String> response = ConditionalGet.respond(headers, version, cacheControl, this::body);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("W/\"recipe-7-3\"", response.getHeaders().getETag());
+        assertEquals(0, bodyLoads.get());
+    }
+
+    @Test
+    void respond_IgnoresIfModifiedSinceWhenEntityTagIsStale() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/\"recipe-6-3\"");
+        headers.setIfModifiedSince(lastModified.plusSeconds(60));
+
+        ResponseEntity<String> response = ConditionalGet.respond(headers, version, cacheControl, this::body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, bodyLoads.get());
+    }
+
+    @Test
+    void respond_ComparesIfModifiedSinceAtSecondPrecision() {
+        HttpHeaders sameSecond = new HttpHeaders();
+        sameSecond.setIfModifiedSince(lastModified.getEpochSecond() * 1000);
+        HttpHeaders earlier = new HttpHeaders();
+        earlier.setIfModifiedSince(lastModified.minusSeconds(1));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, ConditionalGet.respond(sameSecond, version, cacheControl, this::body).getStatusCode());
+        assertEquals(HttpStatus.OK, ConditionalGet.respond(earlier, version, cacheControl, this::body).getStatusCode());
+    }
+
+    private String body() {
+        bodyLoads.incrementAndGet();
+        return "body";
+    }
+}
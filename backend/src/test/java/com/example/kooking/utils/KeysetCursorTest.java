@@ -0,0 +1,67 @@
+package com.example.kooking.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    void encode_RoundTripsEveryKeyType() {
+        assertRoundTrip("name", "Pasta | with pipes", String.class);
+        assertRoundTrip("cookingTime", 45, Integer.class);
+        assertRoundTrip("rating", new BigDecimal("4.25"), BigDecimal.class);
+        assertRoundTrip("createdAt", LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), LocalDateTime.class);
+        assertRoundTrip("name", "", String.class);
+    }
+
+    @Test
+    void encode_RoundTripsNullKey() {
+        assertRoundTrip("createdAt", null, LocalDateTime.class);
+        assertRoundTrip("name", null, String.class);
+    }
+
+    @Test
+    void decode_RejectsCursorFromAnotherSort() {
+        String cursor = new KeysetCursor("name", Sort.Direction.ASC, "Pasta", id).encode();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> KeysetCursor.decode(cursor, "name", Sort.Direction.DESC, String.class));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void decode_RejectsMalformedCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> KeysetCursor.decode("not a cursor!", "rating", Sort.Direction.DESC, BigDecimal.class));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void sort_BreaksTiesById() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "rating").and(Sort.by(Sort.Direction.DESC, "id")),
+                KeysetCursor.sort("rating", Sort.Direction.DESC));
+        assertThrows(ResponseStatusException.class, () -> KeysetCursor.fetchSize(0));
+        assertEquals(11, KeysetCursor.fetchSize(10));
+    }
+
+    private void assertRoundTrip(String property, Comparable<?> key, Class<?> keyType) {
+        String cursor = new KeysetCursor(property, Sort.Direction.ASC, key, id).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor, property, Sort.Direction.ASC, keyType);
+
+        assertEquals(key, decoded.key());
+        assertEquals(id, decoded.id());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.kooking.utils;
+
+import com.example.kooking.dto.RecipeCardDto;
+import com.example.kooking.enums.*;
+import com.example.kooking.model.UserPreferences;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreferenceProfileTest {
+
+    @Test
+    void fingerprint_IgnoresSetOrderAndNoneDiet() {
+        PreferenceProfile first = new PreferenceProfile(Set.of(CuisineType.ITALIAN, CuisineType.GREEK), Set.of(),
+                Set.of(DietType.VEGAN, DietType.NONE), Set.of(), DifficultyLevel.EASY);
+        PreferenceProfile second = new PreferenceProfile(Set.of(CuisineType.GREEK, CuisineType.ITALIAN), null,
+                Set.of(DietType.VEGAN), null, DifficultyLevel.EASY);
+
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertEquals("c=GREEK,ITALIAN;m=;d=VEGAN;k=;l=EASY", first.fingerprint());
+    }
+
+    @Test
+    void of_WithoutPreferences_IsEmpty() {
+        assertSame(PreferenceProfile.NONE, PreferenceProfile.of(null));
+        assertTrue(PreferenceProfile.of(new UserPreferences()).isEmpty());
+        assertTrue(new PreferenceProfile(null, null, Set.of(DietType.NONE), null, null).isEmpty());
+    }
+
+    @Test
+    void allowedDiets_VeganSatisfiesVegetarian() {
+        PreferenceProfile profile = new PreferenceProfile(null, null, Set.of(DietType.VEGETARIAN), null, null);
+
+        assertEquals(Set.of(DietType.VEGETARIAN, DietType.VEGAN), profile.allowedDiets());
+        assertTrue(PreferenceProfile.NONE.allowedDiets().isEmpty());
+    }
+
+    @Test
+    void allowedDiets_RequiresEveryRestriction() {
+        PreferenceProfile vegetarianDairyFree = new PreferenceProfile(null, null,
+                Set.of(DietType.VEGETARIAN, DietType.DAIRY_FREE), null, null);
+        PreferenceProfile ketoPaleo = new PreferenceProfile(null, null, Set.of(DietType.KETO, DietType.PALEO), null, null);
+
+        assertEquals(Set.of(DietType.VEGAN), vegetarianDairyFree.allowedDiets());
+        assertTrue(ketoPaleo.allowedDiets().isEmpty());
+    }
+
+    @Test
+    void score_PreferenceMatchesOutweighRating() {
+        PreferenceProfile profile = new PreferenceProfile(Set.of(CuisineType.ITALIAN), null, null,
+                Set.of(CookingMethod.BAKING), DifficultyLevel.EASY);
+        RecipeCardDto matching = RecipeCardDto.builder().cuisine(CuisineType.ITALIAN).cookingMethod(CookingMethod.BAKING)
+                .difficulty(DifficultyLevel.EASY).rating(BigDecimal.ZERO).popularity(0).build();
+        RecipeCardDto topRated = RecipeCardDto.builder().cuisine(CuisineType.THAI).cookingMethod(CookingMethod.FRYING)
+                .difficulty(DifficultyLevel.HARD).rating(BigDecimal.valueOf(5.0)).popularity(100).build();
+
+        assertEquals(5.0, profile.score(matching, MealType.LUNCH, 100));
+        assertEquals(1.5, profile.score(topRated, MealType.LUNCH, 100));
+    }
+
+    @Test
+    void score_RecipeWithoutOptionalAttributesOnlyScoresQuality() {
+        PreferenceProfile profile = new PreferenceProfile(Set.of(CuisineType.ITALIAN), Set.of(MealType.DINNER), null,
+                Set.of(CookingMethod.BAKING), null);
+        RecipeCardDto bare = RecipeCardDto.builder().rating(BigDecimal.valueOf(5.0)).popularity(100).build();
+
+        assertEquals(1.5, profile.score(bare, MealType.LUNCH, 100));
+    }
+}
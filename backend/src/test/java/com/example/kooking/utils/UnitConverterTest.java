@@ -0,0 +1,36 @@
+package com.example.kooking.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnitConverterTest {
+
+    @Test
+    void toBase_ConvertsMassAndVolumeToOneUnitEach() {
+        assertMeasure(UnitConverter.toBase(1.5, "kg"), 1500, "g");
+        assertMeasure(UnitConverter.toBase(2, " Tbsp. "), 29.5736, "ml");
+        assertMeasure(UnitConverter.toBase(1, "cup"), 236.588, "ml");
+        assertMeasure(UnitConverter.toBase(3, "fl  oz"), 88.7205, "ml");
+    }
+
+    @Test
+    void toBase_KeepsUnknownUnitsApartAndCollapsesCounts() {
+        assertMeasure(UnitConverter.toBase(2, "Pinch"), 2, "pinch");
+        assertMeasure(UnitConverter.toBase(3, "pcs"), 3, null);
+        assertMeasure(UnitConverter.toBase(1, ""), 1, null);
+        assertMeasure(UnitConverter.toBase(1, null), 1, null);
+    }
+
+    @Test
+    void toDisplay_ScalesLargeTotalsAndRounds() {
+        assertMeasure(UnitConverter.toDisplay(new UnitConverter.Measure(1250, "g")), 1.25, "kg");
+        assertMeasure(UnitConverter.toDisplay(new UnitConverter.Measure(4.92892, "ml")), 4.93, "ml");
+        assertMeasure(UnitConverter.toDisplay(new UnitConverter.Measure(2, "pinch")), 2, "pinch");
+    }
+
+    private void assertMeasure(UnitConverter.Measure measure, double quantity, String unit) {
+        assertEquals(quantity, measure.quantity(), 1e-4);
+        assertEquals(unit, measure.unit());
+    }
+}